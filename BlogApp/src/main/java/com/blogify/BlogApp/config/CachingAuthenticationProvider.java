@@ -0,0 +1,51 @@
+package com.blogify.BlogApp.config;
+
+import com.blogify.BlogApp.service.CredentialCache;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+// Wraps the DaoAuthenticationProvider: the user lookup and BCrypt check only run the first time a set of
+// credentials is seen within the cache TTL. Every later request with the same header is answered from CredentialCache.
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+    private final AuthenticationProvider delegate;
+    private final CredentialCache credentialCache;
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, CredentialCache credentialCache) {
+        this.delegate = delegate;
+        this.credentialCache = credentialCache;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String email = authentication.getName();
+        if(email == null || !(authentication.getCredentials() instanceof String password)){
+            return delegate.authenticate(authentication);
+        }
+
+        Authentication cached = credentialCache.get(email, password);
+        if(cached != null){
+            return withDetails(cached, authentication);
+        }
+
+        Authentication result = delegate.authenticate(authentication);
+        if(result != null && result.isAuthenticated()){
+            // Keep a copy without credentials; the password is only ever present as part of the HMAC key.
+            credentialCache.put(email, password, UsernamePasswordAuthenticationToken.authenticated(result.getPrincipal(), null, result.getAuthorities()));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    // A fresh token per request, carrying this request's details (remote address), like the delegate would build.
+    private static Authentication withDetails(Authentication cached, Authentication request){
+        UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.authenticated(cached.getPrincipal(), null, cached.getAuthorities());
+        token.setDetails(request.getDetails());
+        return token;
+    }
+}
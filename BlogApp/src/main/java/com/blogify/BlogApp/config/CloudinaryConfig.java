@@ -3,10 +3,13 @@ package com.blogify.BlogApp.config;
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+// Only needed by CloudinaryImageStore; with images.store=local no Cloudinary credentials are required.
 @Configuration
+@ConditionalOnProperty(name = "images.store", havingValue = "cloudinary", matchIfMissing = true)
 public class CloudinaryConfig {
     @Value("${cloudinary.cloud_name}")
     private String cloudName;
@@ -0,0 +1,41 @@
+package com.blogify.BlogApp.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// comments_seq replaced the identity column that handed out comment ids before. ddl-auto creates the sequence
+// at 1, so on a database that already has comments it is moved up to the highest id in use; the pooled
+// optimizer then takes the next 50 ids after it. The sequence only ever moves forward, so another instance
+// holding a block keeps it. Runs once the schema is updated and before the first comment can be written.
+@Component
+@DependsOn("entityManagerFactory")
+public class CommentIdSequence {
+    private static final Logger log = LoggerFactory.getLogger(CommentIdSequence.class);
+    private static final String ALIGN_SQL = "select setval('comments_seq', m.id) from (select max(id) as id from comments) m " +
+            "where m.id > (select last_value from comments_seq)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CommentIdSequence(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void align(){
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if(!"PostgreSQL".equals(database)){
+            return;
+        }
+        List<Long> moved = jdbcTemplate.queryForList(ALIGN_SQL, Long.class);
+        if(!moved.isEmpty()){
+            log.info("Moved comments_seq up to {}", moved.get(0));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.blogify.BlogApp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Caps the connections handed out by the application DataSource at db.bulkhead.permits (the Hikari pool size
+// by default). With virtual threads every request gets its own thread, so thousands can ask for a connection at
+// once; they wait here, parked in arrival order on a fair semaphore, instead of piling into Hikari's pool wait.
+// A request that gets no permit within db.bulkhead.max-wait-ms fails like a pool timeout does. The permit is
+// returned when the connection is closed, i.e. handed back to the pool.
+@Component
+public class DatabaseBulkhead implements BeanPostProcessor {
+    private final Semaphore permits;
+    private final long maxWaitMs;
+
+    public DatabaseBulkhead(@Value("${db.bulkhead.permits:10}") int permits,
+                            @Value("${db.bulkhead.max-wait-ms:10000}") long maxWaitMs) {
+        this.permits = new Semaphore(permits, true);
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if(bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)){
+            return wrap(dataSource);
+        }
+        return bean;
+    }
+
+    public DataSource wrap(DataSource dataSource){
+        return new BulkheadDataSource(dataSource);
+    }
+
+    public int availablePermits(){
+        return permits.availablePermits();
+    }
+
+    public int waiting(){
+        return permits.getQueueLength();
+    }
+
+    private Connection acquire(DataSource target, String username, String password) throws SQLException {
+        try {
+            if(!permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)){
+                throw new SQLTransientConnectionException("No database permit available within " + maxWaitMs + " ms ("
+                        + permits.getQueueLength() + " waiting)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database permit", e);
+        }
+        try {
+            Connection connection = username == null ? target.getConnection() : target.getConnection(username, password);
+            return guard(connection);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // Releases the permit on the first close only; the pool tolerates repeated closes and so does this.
+    private Connection guard(Connection connection){
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "close":
+                            if(released.compareAndSet(false, true)){
+                                try {
+                                    connection.close();
+                                } finally {
+                                    permits.release();
+                                }
+                            }
+                            return null;
+                        default:
+                            break;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private final class BulkheadDataSource extends DelegatingDataSource {
+        private BulkheadDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return acquire(obtainTargetDataSource(), null, null);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return acquire(obtainTargetDataSource(), username, password);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.blogify.BlogApp.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// Like and unlike rely on uk_likes_user_post: "on conflict do nothing" only skips a duplicate when the
+// constraint exists. ddl-auto cannot add it to a table that already holds duplicate (user_id, post_id) rows;
+// it logs the failure and carries on. So when the constraint is missing, the duplicates are deleted, keeping
+// the oldest row of each pair, like_count is recomputed for their posts, and the constraint is added, all in
+// one transaction with writes to likes held off. A no-op once the constraint exists; runs once the schema is
+// updated and before the first like can be written. A failure stops startup.
+@Component
+@DependsOn("entityManagerFactory")
+public class LikeUniqueness {
+    private static final Logger log = LoggerFactory.getLogger(LikeUniqueness.class);
+    private static final String EXISTS_SQL = "select count(*) from pg_constraint where conname = 'uk_likes_user_post'";
+    private static final String LOCK_SQL = "lock table likes in share row exclusive mode";
+    private static final String DEDUPE_SQL = "delete from likes a using likes b " +
+            "where a.user_id = b.user_id and a.post_id = b.post_id and a.id > b.id returning a.post_id";
+    private static final String RECOUNT_SQL = "update posts set like_count = (select count(*) from likes where likes.post_id = posts.id) " +
+            "where id = any(?)";
+    private static final String ADD_CONSTRAINT_SQL = "alter table likes add constraint uk_likes_user_post unique (user_id, post_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public LikeUniqueness(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    public void enforce(){
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if(!"PostgreSQL".equals(database) || constraintExists()){
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute(LOCK_SQL);
+            // Another instance starting at the same time may have done it meanwhile.
+            if(constraintExists()){
+                return;
+            }
+            List<Long> postIds = jdbcTemplate.queryForList(DEDUPE_SQL, Long.class);
+            if(!postIds.isEmpty()){
+                Long[] distinct = postIds.stream().distinct().toArray(Long[]::new);
+                jdbcTemplate.update(RECOUNT_SQL, (Object) distinct);
+                log.warn("Deleted {} duplicate likes on {} posts", postIds.size(), distinct.length);
+            }
+            jdbcTemplate.execute(ADD_CONSTRAINT_SQL);
+            log.info("Added uk_likes_user_post to likes");
+        });
+    }
+
+    private boolean constraintExists(){
+        Long count = jdbcTemplate.queryForObject(EXISTS_SQL, Long.class);
+        return count != null && count > 0;
+    }
+}
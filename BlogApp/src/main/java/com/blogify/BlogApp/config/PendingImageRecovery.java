@@ -0,0 +1,35 @@
+package com.blogify.BlogApp.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Uploads queued when the application stopped are gone with it, and their rows would stay PENDING for good.
+// On start, before any upload can be submitted, such rows are marked FAILED; they keep the previous image, as
+// any failed upload does. An upload of another instance that is still running sets its row READY when it
+// finishes, so marking it FAILED meanwhile only shows until then.
+@Component
+@DependsOn("entityManagerFactory")
+public class PendingImageRecovery {
+    private static final Logger log = LoggerFactory.getLogger(PendingImageRecovery.class);
+    private static final String POSTS_SQL = "update posts set image_status = 'FAILED' where image_status = 'PENDING'";
+    private static final String USERS_SQL = "update users set profile_image_status = 'FAILED' where profile_image_status = 'PENDING'";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PendingImageRecovery(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void recover(){
+        int posts = jdbcTemplate.update(POSTS_SQL);
+        int users = jdbcTemplate.update(USERS_SQL);
+        if(posts + users > 0){
+            log.info("Marked images of {} posts and {} users FAILED after their uploads were dropped", posts, users);
+        }
+    }
+}
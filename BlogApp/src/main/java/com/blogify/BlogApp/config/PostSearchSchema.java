@@ -0,0 +1,46 @@
+package com.blogify.BlogApp.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Full-text search schema that ddl-auto cannot express: a stored generated tsvector over title (weight A)
+// and content (weight B), and a GIN index on it. PostgreSQL keeps the column current on every insert and
+// update, so no application code writes it and queries never re-parse post text. Both statements are no-ops
+// once applied. They run once the schema is updated and before the web server starts, so search never sees a
+// missing column: the first start after the upgrade waits while adding the column rewrites posts under an
+// exclusive lock, then while the index is built without blocking writes.
+@Component
+@DependsOn("entityManagerFactory")
+@ConditionalOnProperty(name = "search.engine", havingValue = "postgres", matchIfMissing = true)
+public class PostSearchSchema {
+    private static final Logger log = LoggerFactory.getLogger(PostSearchSchema.class);
+    private static final String ADD_COLUMN_SQL =
+            "alter table posts add column if not exists search_vector tsvector generated always as (" +
+            "setweight(to_tsvector('english', coalesce(title, '')), 'A') || " +
+            "setweight(to_tsvector('english', coalesce(content, '')), 'B')) stored";
+    private static final String CREATE_INDEX_SQL =
+            "create index concurrently if not exists idx_posts_search_vector on posts using gin (search_vector)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PostSearchSchema(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void apply(){
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if(!"PostgreSQL".equals(database)){
+            log.info("Skipping full-text search schema on {}", database);
+            return;
+        }
+        jdbcTemplate.execute(ADD_COLUMN_SQL);
+        jdbcTemplate.execute(CREATE_INDEX_SQL);
+    }
+}
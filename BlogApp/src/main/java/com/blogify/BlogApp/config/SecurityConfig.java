@@ -1,5 +1,6 @@
 package com.blogify.BlogApp.config;
 
+import com.blogify.BlogApp.service.CredentialCache;
 import com.blogify.BlogApp.service.CustomUserDetailsService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -13,6 +14,8 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -24,11 +27,13 @@ import java.util.List;
 @EnableWebSecurity
 public class SecurityConfig {
     private final CustomUserDetailsService customUserDetailsService;
+    private final CredentialCache credentialCache;
     @Value("${frontend.url}")
     private String clientBaseUrl;
 
-    public SecurityConfig(CustomUserDetailsService customUserDetailsService){
+    public SecurityConfig(CustomUserDetailsService customUserDetailsService, CredentialCache credentialCache){
         this.customUserDetailsService=customUserDetailsService;
+        this.credentialCache=credentialCache;
     }
 
     @Bean
@@ -39,19 +44,45 @@ public class SecurityConfig {
                 .authorizeHttpRequests(authorize->authorize
                         .requestMatchers("/api/users/register").permitAll()
                         .requestMatchers("/api/users/login").permitAll()
+                        .requestMatchers("/api/auth/token", "/api/auth/refresh", "/api/auth/revoke").permitAll()
                         .requestMatchers("/api/users/all").hasRole("ADMIN")
+                        .requestMatchers("/api/users/count").hasRole("ADMIN")
                         .requestMatchers("/api/users/{id}").hasAnyRole("ADMIN","USER")
+                        .requestMatchers("/api/posts/cache/stats").hasRole("ADMIN")
                         .requestMatchers("/api/posts").permitAll()
+                        .requestMatchers("/api/posts/feed").permitAll()
+                        .requestMatchers("/api/posts/search").permitAll()
+                        .requestMatchers("/api/posts/trending").permitAll()
                         .requestMatchers("/api/posts/{id}").permitAll()
                         .requestMatchers("/api/posts/{id}/comments").permitAll()
+                        .requestMatchers("/api/posts/{id}/comments/count").permitAll()
+                        .requestMatchers("/api/posts/{id}/comments/stream").permitAll()
+                        .requestMatchers("/api/posts/{id}/comments/threads").permitAll()
+                        .requestMatchers("/api/posts/{id}/comments/{commentId}/thread").permitAll()
                         .requestMatchers("/api/posts/{id}/like").permitAll()
+                        .requestMatchers("/api/posts/{id}/events").permitAll()
+                        .requestMatchers("/api/posts/likes").permitAll()
+                        .requestMatchers(org.springframework.http.HttpMethod.GET, "/images/**").permitAll()
                         .requestMatchers(org.springframework.http.HttpMethod.OPTIONS, "/**").permitAll()
                         .anyRequest().authenticated())
                 .httpBasic(Customizer.withDefaults())
+                // Bearer tokens from /api/auth/token are checked against the signing key alone: no user lookup, no BCrypt.
+                .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.jwtAuthenticationConverter(tokenAuthenticationConverter())))
                 .sessionManagement(session->session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
         return http.build();
     }
 
+    // Roles are stored with their ROLE_ prefix and the principal name is the email, same as with HTTP Basic.
+    private JwtAuthenticationConverter tokenAuthenticationConverter(){
+        JwtGrantedAuthoritiesConverter authorities = new JwtGrantedAuthoritiesConverter();
+        authorities.setAuthoritiesClaimName("roles");
+        authorities.setAuthorityPrefix("");
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(authorities);
+        converter.setPrincipalClaimName("email");
+        return converter;
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder(){
         return new BCryptPasswordEncoder();
@@ -62,7 +93,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
         authenticationProvider.setUserDetailsService(customUserDetailsService);
         authenticationProvider.setPasswordEncoder(passwordEncoder());
-        return authenticationProvider;
+        // Stateless HTTP Basic re-authenticates every request; skip the lookup and BCrypt for credentials already verified.
+        return new CachingAuthenticationProvider(authenticationProvider, credentialCache);
     }
 
     @Bean
@@ -0,0 +1,66 @@
+package com.blogify.BlogApp.config;
+
+import com.blogify.BlogApp.service.TokenDenylist;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.Base64;
+
+// HS256 tokens signed and checked in-process with auth.token.secret (base64, at least 32 bytes).
+// The JwtDecoder bean is what SecurityConfig's resource server uses, so it only accepts access tokens.
+@Configuration
+public class TokenConfig {
+    public static final String TOKEN_USE = "token_use";
+    public static final String ACCESS = "access";
+    public static final String REFRESH = "refresh";
+
+    @Bean
+    public SecretKey tokenSigningKey(@Value("${auth.token.secret}") String secret){
+        byte[] key = Base64.getDecoder().decode(secret);
+        if(key.length < 32){
+            throw new IllegalStateException("auth.token.secret must be at least 256 bits (32 bytes, base64 encoded)");
+        }
+        return new SecretKeySpec(key, "HmacSHA256");
+    }
+
+    @Bean
+    public JwtEncoder jwtEncoder(SecretKey tokenSigningKey){
+        return new NimbusJwtEncoder(new ImmutableSecret<>(tokenSigningKey));
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder(SecretKey tokenSigningKey, TokenDenylist tokenDenylist){
+        return decoder(tokenSigningKey, ACCESS, tokenDenylist);
+    }
+
+    // Signature, exp/nbf, token type and denylist; nothing here touches the database.
+    public static JwtDecoder decoder(SecretKey key, String tokenUse, TokenDenylist tokenDenylist){
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(key).macAlgorithm(MacAlgorithm.HS256).build();
+        OAuth2TokenValidator<Jwt> notRevoked = jwt -> {
+            if(!tokenUse.equals(jwt.getClaimAsString(TOKEN_USE))){
+                return OAuth2TokenValidatorResult.failure(new OAuth2Error("invalid_token", "Wrong token type", null));
+            }
+            if(tokenDenylist.isRevoked(jwt.getId(), Long.valueOf(jwt.getSubject()), jwt.getIssuedAt())){
+                return OAuth2TokenValidatorResult.failure(new OAuth2Error("invalid_token", "Token has been revoked", null));
+            }
+            return OAuth2TokenValidatorResult.success();
+        };
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(JwtValidators.createDefault(), notRevoked));
+        return decoder;
+    }
+}
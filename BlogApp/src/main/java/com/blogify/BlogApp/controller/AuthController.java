@@ -0,0 +1,39 @@
+package com.blogify.BlogApp.controller;
+
+import com.blogify.BlogApp.dto.LoginRequest;
+import com.blogify.BlogApp.dto.TokenRequest;
+import com.blogify.BlogApp.dto.TokenResponseDTO;
+import com.blogify.BlogApp.service.TokenService;
+import com.blogify.BlogApp.service.UserService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/auth")
+public class AuthController {
+    private final UserService userService;
+    private final TokenService tokenService;
+
+    public AuthController(UserService userService, TokenService tokenService) {
+        this.userService = userService;
+        this.tokenService = tokenService;
+    }
+
+    // One BCrypt check here; afterwards send "Authorization: Bearer <accessToken>" instead of Basic credentials.
+    @PostMapping("/token")
+    public ResponseEntity<TokenResponseDTO> issueToken(@Valid @RequestBody LoginRequest request){
+        return ResponseEntity.ok(tokenService.issueTokens(userService.login(request.getEmail(), request.getPassword())));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<TokenResponseDTO> refresh(@Valid @RequestBody TokenRequest request){
+        return ResponseEntity.ok(tokenService.refresh(request.getToken()));
+    }
+
+    @PostMapping("/revoke")
+    public ResponseEntity<Void> revoke(@Valid @RequestBody TokenRequest request){
+        tokenService.revoke(request.getToken());
+        return ResponseEntity.noContent().build();
+    }
+}
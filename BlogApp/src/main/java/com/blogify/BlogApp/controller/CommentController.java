@@ -2,11 +2,15 @@ package com.blogify.BlogApp.controller;
 
 import com.blogify.BlogApp.dto.CommentDTO;
 import com.blogify.BlogApp.dto.CreateCommentRequest;
+import com.blogify.BlogApp.dto.CursorPage;
+import com.blogify.BlogApp.dto.TotalCountDTO;
 import com.blogify.BlogApp.service.CommentService;
+import com.blogify.BlogApp.service.CountService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,9 +19,11 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/posts/{postId}/comments")
 public class CommentController {
     private final CommentService commentService;
+    private final CountService countService;
 
-    public CommentController(CommentService commentService) {
+    public CommentController(CommentService commentService, CountService countService) {
         this.commentService = commentService;
+        this.countService = countService;
     }
 
     @PostMapping
@@ -30,4 +36,33 @@ public class CommentController {
         Pageable pageable = PageRequest.of(page,size, Sort.by("createdAt").descending());
         return ResponseEntity.ok(commentService.getCommentsByPost(postId,pageable));
     }
+
+    @GetMapping(params = "slice=true")
+    public ResponseEntity<Slice<CommentDTO>> getCommentsSlice(@PathVariable Long postId,@RequestParam(defaultValue = "0") int page,@RequestParam(defaultValue = "10") int size){
+        Pageable pageable = PageRequest.of(page,size, Sort.by("createdAt").descending());
+        return ResponseEntity.ok(commentService.getCommentsByPostSlice(postId,pageable));
+    }
+
+    // Newest first, seeking past the last comment seen: every page costs the same however deep the thread.
+    @GetMapping("/stream")
+    public ResponseEntity<CursorPage<CommentDTO>> getCommentStream(@PathVariable Long postId,@RequestParam(required = false) String cursor,@RequestParam(defaultValue = "10") int size){
+        return ResponseEntity.ok(commentService.getCommentStream(postId,cursor,size));
+    }
+
+    // One comment with every reply under it, nested.
+    @GetMapping("/{commentId}/thread")
+    public ResponseEntity<CommentDTO> getThread(@PathVariable Long postId,@PathVariable Long commentId){
+        return ResponseEntity.ok(commentService.getThread(postId,commentId));
+    }
+
+    // Top-level comments newest first, each with its first few replies nested under it.
+    @GetMapping("/threads")
+    public ResponseEntity<CursorPage<CommentDTO>> getThreads(@PathVariable Long postId,@RequestParam(required = false) String cursor,@RequestParam(defaultValue = "10") int size,@RequestParam(defaultValue = "3") int replies){
+        return ResponseEntity.ok(commentService.getThreads(postId,cursor,size,replies));
+    }
+
+    @GetMapping("/count")
+    public ResponseEntity<TotalCountDTO> countComments(@PathVariable Long postId){
+        return ResponseEntity.ok(countService.countCommentsByPost(postId));
+    }
 }
@@ -0,0 +1,47 @@
+package com.blogify.BlogApp.controller;
+
+import com.blogify.BlogApp.dto.CursorPage;
+import com.blogify.BlogApp.dto.PostDTO;
+import com.blogify.BlogApp.dto.TotalCountDTO;
+import com.blogify.BlogApp.service.FollowService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/users")
+public class FollowController {
+    private final FollowService followService;
+
+    public FollowController(FollowService followService) {
+        this.followService = followService;
+    }
+
+    @PostMapping("/{userId}/follow")
+    public ResponseEntity<Void> follow(@PathVariable Long userId, @RequestParam Long followerId){
+        followService.follow(followerId, userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{userId}/follow")
+    public ResponseEntity<Void> unfollow(@PathVariable Long userId, @RequestParam Long followerId){
+        followService.unfollow(followerId, userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/{userId}/followers/count")
+    public ResponseEntity<TotalCountDTO> countFollowers(@PathVariable Long userId){
+        return ResponseEntity.ok(new TotalCountDTO(followService.countFollowers(userId), LocalDateTime.now()));
+    }
+
+    // Posts by the people userId follows and their own, newest first.
+    @GetMapping("/{userId}/timeline")
+    public ResponseEntity<CursorPage<PostDTO>> getHomeTimeline(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "6") int size
+    ){
+        return ResponseEntity.ok(followService.getHomeTimeline(userId,cursor,size));
+    }
+}
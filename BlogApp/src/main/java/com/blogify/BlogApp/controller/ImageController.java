@@ -0,0 +1,154 @@
+package com.blogify.BlogApp.controller;
+
+import com.blogify.BlogApp.exception.ResourceNotFoundException;
+import com.blogify.BlogApp.service.ImageFormat;
+import com.blogify.BlogApp.service.impl.LocalImageStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Serves LocalImageStore files. Under Tomcat the body is handed to the connector's sendfile, so bytes go from the
+// page cache to the socket without passing through the heap; elsewhere FileChannel.transferTo streams them.
+// Files are content addressed, so the hash is a strong ETag and responses can be cached forever. Only the
+// ImageFormat types are served, with their own content type and nosniff.
+@RestController
+@RequestMapping("/images")
+@ConditionalOnProperty(name = "images.store", havingValue = "local")
+public class ImageController {
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final LocalImageStore localImageStore;
+
+    public ImageController(LocalImageStore localImageStore){
+        this.localImageStore = localImageStore;
+    }
+
+    @GetMapping("/{folder}/{shard}/{file:.+}")
+    public void getImage(@PathVariable String folder, @PathVariable String shard, @PathVariable String file,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path path = localImageStore.resolve(folder + "/" + shard + "/" + file)
+                .orElseThrow(()-> new ResourceNotFoundException("Image not found"));
+        ImageFormat format = ImageFormat.fromExtension(StringUtils.getFilenameExtension(file))
+                .orElseThrow(()-> new ResourceNotFoundException("Image not found"));
+        String etag = "\"" + file.substring(0, file.indexOf('.')) + "\"";
+        long length = Files.size(path);
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(format.mediaType().toString());
+        // Browsers must not second-guess the type and render an image as HTML or script from our origin.
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        if(matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)){
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if(range != null && (ifRange == null || ifRange.equals(etag))){
+            long[] bounds = parseRange(range, length);
+            if(bounds != null && bounds.length == 0){
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            if(bounds != null){
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if("HEAD".equals(request.getMethod()) || count == 0){
+            return;
+        }
+
+        if(Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))){
+            request.setAttribute(SENDFILE_FILENAME, path.toRealPath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)){
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while(remaining > 0){
+                long sent = channel.transferTo(position, remaining, out);
+                if(sent <= 0){
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag){
+        if(ifNoneMatch == null){
+            return false;
+        }
+        for(String candidate : ifNoneMatch.split(",")){
+            String value = candidate.trim();
+            if(value.equals("*") || value.equals(etag) || value.equals("W/" + etag)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // {start, end} inclusive; an empty array when unsatisfiable; null when the header is malformed or asks for
+    // several ranges, in which case the whole file is sent (allowed by RFC 9110).
+    static long[] parseRange(String header, long length){
+        if(!header.startsWith("bytes=") || header.indexOf(',') >= 0){
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if(dash < 0){
+            return null;
+        }
+        try{
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if(first.isEmpty()){
+                // Suffix range: the last N bytes.
+                long suffix = Long.parseLong(last);
+                if(suffix <= 0 || length == 0){
+                    return new long[0];
+                }
+                return new long[]{Math.max(0, length - suffix), length - 1};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            if(start >= length){
+                return new long[0];
+            }
+            return start <= end ? new long[]{start, end} : null;
+        } catch (NumberFormatException e){
+            return null;
+        }
+    }
+}
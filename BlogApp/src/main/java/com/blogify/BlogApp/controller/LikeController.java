@@ -6,25 +6,33 @@ import com.blogify.BlogApp.service.LikeService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
-@RequestMapping("/api/posts/{postId}/like")
+@RequestMapping("/api/posts")
 public class LikeController {
     private final LikeService likeService;
     public LikeController(LikeService likeService){
         this.likeService=likeService;
     }
 
-    @PostMapping
+    @PostMapping("/{postId}/like")
     public ResponseEntity<LikeDTO> like(@PathVariable Long postId, @RequestParam Long userId){
         return ResponseEntity.ok(likeService.likePost(userId,postId));
     }
 
-    @GetMapping
+    @GetMapping("/{postId}/like")
     public ResponseEntity<LikeResponseDTO> getLikeCount(@PathVariable Long postId,@RequestParam(required = false) Long userId){
         return ResponseEntity.ok(likeService.getLikeCount(postId,userId));
     }
 
-    @DeleteMapping
+    // Like status for a whole feed page: GET /api/posts/likes?postIds=1,2,3&userId=7
+    @GetMapping("/likes")
+    public ResponseEntity<List<LikeResponseDTO>> getLikeStatuses(@RequestParam List<Long> postIds,@RequestParam(required = false) Long userId){
+        return ResponseEntity.ok(likeService.getLikeStatuses(postIds,userId));
+    }
+
+    @DeleteMapping("/{postId}/like")
     public ResponseEntity<Void> unlike(@PathVariable Long postId,@RequestParam Long userId){
         likeService.unlikePost(userId,postId);
         return ResponseEntity.noContent().build();
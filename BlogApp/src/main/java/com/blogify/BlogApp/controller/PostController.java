@@ -1,12 +1,18 @@
 package com.blogify.BlogApp.controller;
 
+import com.blogify.BlogApp.dto.CacheStatsDTO;
 import com.blogify.BlogApp.dto.CreatePostRequest;
+import com.blogify.BlogApp.dto.CursorPage;
 import com.blogify.BlogApp.dto.PostDTO;
+import com.blogify.BlogApp.dto.PostSearchHitDTO;
+import com.blogify.BlogApp.dto.TotalCountDTO;
+import com.blogify.BlogApp.service.CountService;
 import com.blogify.BlogApp.service.PostService;
 import com.blogify.BlogApp.service.UserService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -15,15 +21,18 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.security.Principal;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/posts")
 public class PostController {
     private final PostService postService;
     private final UserService userService;
-    public PostController(PostService postService,UserService userService) {
+    private final CountService countService;
+    public PostController(PostService postService,UserService userService,CountService countService) {
         this.postService = postService;
         this.userService= userService;
+        this.countService = countService;
     }
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -45,6 +54,53 @@ public class PostController {
         return ResponseEntity.ok(postService.getAllPosts(pageable));
     }
 
+    // ?slice=true skips the count query; the client reads "last" instead of totalElements.
+    @GetMapping(params = "slice=true")
+    public ResponseEntity<Slice<PostDTO>> getAllPostsSlice(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "6") int size
+    ){
+        Pageable pageable = PageRequest.of(page,size, Sort.by("createdAt").descending());
+        return ResponseEntity.ok(postService.getAllPostsSlice(pageable));
+    }
+
+    @GetMapping("/count")
+    public ResponseEntity<TotalCountDTO> countPosts(){
+        return ResponseEntity.ok(countService.countPosts());
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<List<CacheStatsDTO>> getCacheStats(){
+        return ResponseEntity.ok(postService.getCacheStats());
+    }
+
+    @GetMapping("/feed")
+    public ResponseEntity<CursorPage<PostDTO>> getFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "6") int size
+    ){
+        return ResponseEntity.ok(postService.getFeed(cursor,size));
+    }
+
+    // Ordered by likes and comments, with older ones counting for less; served from memory.
+    @GetMapping("/trending")
+    public ResponseEntity<Slice<PostDTO>> getTrending(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "6") int size
+    ){
+        return ResponseEntity.ok(postService.getTrending(page,size));
+    }
+
+    // q uses web search syntax: words, "quoted phrases", "or" and -excluded words.
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<PostSearchHitDTO>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "6") int size
+    ){
+        return ResponseEntity.ok(postService.searchPosts(q,cursor,size));
+    }
+
     @GetMapping("/{postId}")
     public ResponseEntity<PostDTO> getById(@PathVariable Long postId){
         return ResponseEntity.ok(postService.getPostById(postId));
@@ -56,6 +112,12 @@ public class PostController {
         return ResponseEntity.ok(postService.getMyBlogs(userId,pageable));
     }
 
+    @GetMapping(path = "/my-blogs", params = "slice=true")
+    public ResponseEntity<Slice<PostDTO>> getAllMyBlogsSlice(@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "6") int size,@RequestParam Long userId){
+        Pageable pageable = PageRequest.of(page,size, Sort.by("createdAt").descending());
+        return ResponseEntity.ok(postService.getMyBlogsSlice(userId,pageable));
+    }
+
     @DeleteMapping("/{postId}")
     public ResponseEntity<Void> delete(@PathVariable Long postId){
         postService.deletePost(postId);
@@ -0,0 +1,29 @@
+package com.blogify.BlogApp.controller;
+
+import com.blogify.BlogApp.service.PostEventBus;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/posts")
+public class PostEventController {
+    private final PostEventBus postEventBus;
+
+    public PostEventController(PostEventBus postEventBus) {
+        this.postEventBus = postEventBus;
+    }
+
+    // Server-Sent Events for one post instead of polling: "comment" events carry each new CommentDTO and
+    // "likes" events a LikeDeltaDTO, both sent once the change is committed. An unknown post never sends one.
+    // 503 with Retry-After once events.max-subscribers connections are open.
+    @GetMapping(value = "/{postId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> events(@PathVariable Long postId){
+        return postEventBus.subscribe(postId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "30").build());
+    }
+}
@@ -2,13 +2,16 @@ package com.blogify.BlogApp.controller;
 
 import com.blogify.BlogApp.dto.CreateUpdateProfileRequest;
 import com.blogify.BlogApp.dto.LoginRequest;
+import com.blogify.BlogApp.dto.TotalCountDTO;
 import com.blogify.BlogApp.dto.UserDTO;
 import com.blogify.BlogApp.dto.UserResponseDTO;
+import com.blogify.BlogApp.service.CountService;
 import com.blogify.BlogApp.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -20,9 +23,11 @@ import org.springframework.web.multipart.MultipartFile;
 @RequestMapping("/api/users")
 public class UserController {
     private final UserService userService;
+    private final CountService countService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, CountService countService) {
         this.userService = userService;
+        this.countService = countService;
     }
 
     @PostMapping("/register")
@@ -61,6 +66,20 @@ public class UserController {
         return ResponseEntity.ok(userService.getAllUsers(pageable));
     }
 
+    @GetMapping(path = "/all", params = "slice=true")
+    public ResponseEntity<Slice<UserDTO>> getAllUsersSlice(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size
+    ){
+        Pageable pageable = PageRequest.of(page,size, Sort.by("createdAt").descending());
+        return ResponseEntity.ok(userService.getAllUsersSlice(pageable));
+    }
+
+    @GetMapping("/count")
+    public ResponseEntity<TotalCountDTO> countUsers(){
+        return ResponseEntity.ok(countService.countUsers());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UserDTO> getUserById(@PathVariable Long id){
         return ResponseEntity.ok(userService.getUserById(id));
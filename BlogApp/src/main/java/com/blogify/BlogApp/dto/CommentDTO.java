@@ -1,6 +1,7 @@
 package com.blogify.BlogApp.dto;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class CommentDTO {
     private Long id;
@@ -9,6 +10,9 @@ public class CommentDTO {
     private Long userId;
     private Long postId;
     private String userName;
+    private Long parentId;
+    // Filled in for thread reads only, oldest reply first.
+    private List<CommentDTO> replies;
 
     public String getUserName() {
         return userName;
@@ -21,6 +25,20 @@ public class CommentDTO {
     public CommentDTO() {
     }
 
+    public CommentDTO(Long id, String content, LocalDateTime createdAt, Long userId, Long postId, String userName) {
+        this.id = id;
+        this.content = content;
+        this.createdAt = createdAt;
+        this.userId = userId;
+        this.postId = postId;
+        this.userName = userName;
+    }
+
+    public CommentDTO(Long id, String content, LocalDateTime createdAt, Long userId, Long postId, String userName, Long parentId) {
+        this(id, content, createdAt, userId, postId, userName);
+        this.parentId = parentId;
+    }
+
     public Long getId() {
         return id;
     }
@@ -60,4 +78,20 @@ public class CommentDTO {
     public void setPostId(Long postId) {
         this.postId = postId;
     }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public List<CommentDTO> getReplies() {
+        return replies;
+    }
+
+    public void setReplies(List<CommentDTO> replies) {
+        this.replies = replies;
+    }
 }
@@ -6,6 +6,9 @@ public class CreateCommentRequest {
     @NotBlank
     private String content;
 
+    // The comment being replied to; null for a top-level comment.
+    private Long parentId;
+
     public CreateCommentRequest() {
     }
 
@@ -16,4 +19,12 @@ public class CreateCommentRequest {
     public void setContent(@NotBlank String content) {
         this.content = content;
     }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
 }
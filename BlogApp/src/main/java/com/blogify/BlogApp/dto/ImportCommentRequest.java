@@ -0,0 +1,64 @@
+package com.blogify.BlogApp.dto;
+
+import java.time.LocalDateTime;
+
+// One row of a bulk comment import. parentId must be a comment that already exists on the same post;
+// createdAt defaults to the time of the import.
+public class ImportCommentRequest {
+    private Long userId;
+    private Long postId;
+    private Long parentId;
+    private String content;
+    private LocalDateTime createdAt;
+
+    public ImportCommentRequest() {
+    }
+
+    public ImportCommentRequest(Long userId, Long postId, Long parentId, String content, LocalDateTime createdAt) {
+        this.userId = userId;
+        this.postId = postId;
+        this.parentId = parentId;
+        this.content = content;
+        this.createdAt = createdAt;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public void setPostId(Long postId) {
+        this.postId = postId;
+    }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
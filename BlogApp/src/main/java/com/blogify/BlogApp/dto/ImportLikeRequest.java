@@ -0,0 +1,31 @@
+package com.blogify.BlogApp.dto;
+
+// One row of a bulk like import.
+public class ImportLikeRequest {
+    private Long userId;
+    private Long postId;
+
+    public ImportLikeRequest() {
+    }
+
+    public ImportLikeRequest(Long userId, Long postId) {
+        this.userId = userId;
+        this.postId = postId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public void setPostId(Long postId) {
+        this.postId = postId;
+    }
+}
@@ -0,0 +1,15 @@
+package com.blogify.BlogApp.dto;
+
+// Pushed to post event subscribers on every like (+1) and unlike (-1); clients add it to the count they hold.
+public class LikeDeltaDTO {
+    private Long postId;
+    private long delta;
+
+    public LikeDeltaDTO(Long postId, long delta) {
+        this.postId = postId;
+        this.delta = delta;
+    }
+
+    public Long getPostId() { return postId; }
+    public long getDelta() { return delta; }
+}
@@ -1,18 +1,36 @@
 package com.blogify.BlogApp.dto;
 
+import com.blogify.BlogApp.entity.ImageStatus;
+
 import java.time.LocalDateTime;
+import java.util.Map;
 
 public class PostDTO {
     private Long id;
     private String title;
     private String content;
     private String imgUrl;
+    private ImageStatus imageStatus;
+    // Width descriptor -> URL of a smaller copy of imgUrl, e.g. {"320w": ..., "640w": ...}, for srcset.
+    private Map<String, String> imageVariants;
     private Long userId;
     private LocalDateTime createdAt;
     private String name;
     public PostDTO() {
     }
 
+    public PostDTO(Long id, String title, String content, String imgUrl, ImageStatus imageStatus, Map<String, String> imageVariants, Long userId, LocalDateTime createdAt, String name) {
+        this.id = id;
+        this.title = title;
+        this.content = content;
+        this.imgUrl = imgUrl;
+        this.imageStatus = imageStatus;
+        this.imageVariants = imageVariants;
+        this.userId = userId;
+        this.createdAt = createdAt;
+        this.name = name;
+    }
+
     public String getName() {
         return name;
     }
@@ -53,6 +71,22 @@ public class PostDTO {
         this.imgUrl = imgUrl;
     }
 
+    public ImageStatus getImageStatus() {
+        return imageStatus;
+    }
+
+    public void setImageStatus(ImageStatus imageStatus) {
+        this.imageStatus = imageStatus;
+    }
+
+    public Map<String, String> getImageVariants() {
+        return imageVariants;
+    }
+
+    public void setImageVariants(Map<String, String> imageVariants) {
+        this.imageVariants = imageVariants;
+    }
+
     public Long getUserId() {
         return userId;
     }
@@ -0,0 +1,22 @@
+package com.blogify.BlogApp.dto;
+
+// One search result: the post plus its relevance and highlighted text. titleHighlight and snippet are
+// HTML-escaped with the matched words wrapped in <mark>, so clients can render them as they are.
+public class PostSearchHitDTO {
+    private PostDTO post;
+    private float score;
+    private String titleHighlight;
+    private String snippet;
+
+    public PostSearchHitDTO(PostDTO post, float score, String titleHighlight, String snippet) {
+        this.post = post;
+        this.score = score;
+        this.titleHighlight = titleHighlight;
+        this.snippet = snippet;
+    }
+
+    public PostDTO getPost() { return post; }
+    public float getScore() { return score; }
+    public String getTitleHighlight() { return titleHighlight; }
+    public String getSnippet() { return snippet; }
+}
@@ -0,0 +1,29 @@
+package com.blogify.BlogApp.dto;
+
+import com.blogify.BlogApp.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Position of the last hit a client has seen in a (score desc, id desc) ordered search. The score is the
+// float4 ts_rank_cd value; Float.toString round-trips it exactly, so the next page seeks past the same row.
+public record SearchCursor(float score, Long id) {
+
+    public String encode() {
+        String raw = score + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new BadRequestException("Invalid cursor.");
+            }
+            return new SearchCursor(Float.parseFloat(raw.substring(0, separator)), Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor.");
+        }
+    }
+}
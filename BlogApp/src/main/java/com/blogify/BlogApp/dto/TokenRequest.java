@@ -0,0 +1,19 @@
+package com.blogify.BlogApp.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class TokenRequest {
+    @NotBlank
+    private String token;
+
+    public TokenRequest() {
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+}
@@ -0,0 +1,16 @@
+package com.blogify.BlogApp.dto;
+
+import java.time.LocalDateTime;
+
+public class TotalCountDTO {
+    private long total;
+    private LocalDateTime asOf;
+
+    public TotalCountDTO(long total, LocalDateTime asOf) {
+        this.total = total;
+        this.asOf = asOf;
+    }
+
+    public long getTotal() { return total; }
+    public LocalDateTime getAsOf() { return asOf; }
+}
@@ -28,6 +28,14 @@ public class UserDTO {
     public UserDTO() {
     }
 
+    public UserDTO(Long id, String email, String name, String bio, String profileImage) {
+        this.id = id;
+        this.email = email;
+        this.name = name;
+        this.bio = bio;
+        this.profileImage = profileImage;
+    }
+
     public Long getId() {
         return id;
     }
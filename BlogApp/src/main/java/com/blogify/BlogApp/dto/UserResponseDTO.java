@@ -1,9 +1,11 @@
 package com.blogify.BlogApp.dto;
 
+import com.blogify.BlogApp.entity.ImageStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
 import java.util.Set;
 
 @Data
@@ -15,5 +17,7 @@ public class UserResponseDTO {
     private String name;
     private String bio;
     private String profileImage;
+    private ImageStatus profileImageStatus;
+    private Map<String, String> profileImageVariants;
     private Set<String> roles;
 }
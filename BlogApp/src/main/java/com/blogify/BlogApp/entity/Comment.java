@@ -5,10 +5,18 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_post_created_at_id", columnList = "post_id, createdAt DESC, id DESC"),
+        @Index(name = "idx_comments_post_parent_id", columnList = "post_id, parent_id, id DESC"),
+        @Index(name = "idx_comments_post_path", columnList = "post_id, path")
+})
 public class Comment {
+    // Ids come from a pooled sequence, 50 per nextval, so Hibernate knows them before inserting and can send
+    // inserts as JDBC batches; IDENTITY needs a round trip per row to learn the id. CommentIdSequence moves
+    // the sequence past ids handed out before.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false,columnDefinition = "TEXT")
@@ -16,14 +24,27 @@ public class Comment {
 
     private LocalDateTime createdAt = LocalDateTime.now();
 
-    @ManyToOne
+    // Lazy: listings read comments through CommentRepository projections, and a loaded comment should not drag
+    // in its post's content or its author's roles.
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "post_id")
     private Post post;
 
+    // Null for a top-level comment. A plain column rather than an association: the thread is read through
+    // path, and a foreign key would only get in the way of the cascade from Post.
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    // Materialized path: the ids from the root down to this comment, each as 12 digits (see CommentTree), so
+    // 600 characters hold CommentTree.MAX_DEPTH levels. A subtree is one range of paths, and ordering by path
+    // lists a thread depth first.
+    @Column(name = "path", length = 600)
+    private String path;
+
     public Comment() {
     }
 
@@ -72,4 +93,20 @@ public class Comment {
     public void setPost(Post post) {
         this.post = post;
     }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
 }
@@ -0,0 +1,78 @@
+package com.blogify.BlogApp.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// One stored image (original plus variants) per folder and content hash. refCount is the number of posts and
+// profiles showing it; the files are deleted from the image store only when it drops to zero.
+@Entity
+@Table(name = "image_assets", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_image_assets_folder_hash", columnNames = {"folder", "content_hash"}),
+        @UniqueConstraint(name = "uk_image_assets_url", columnNames = "url")
+})
+public class ImageAsset {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String folder;
+
+    // Hex SHA-256 of the uploaded bytes.
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(nullable = false, length = 1024)
+    private String url;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    private Map<String, String> variants;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public ImageAsset() {
+    }
+
+    public ImageAsset(String folder, String contentHash, String url, Map<String, String> variants) {
+        this.folder = folder;
+        this.contentHash = contentHash;
+        this.url = url;
+        this.variants = variants;
+        this.refCount = 1;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFolder() {
+        return folder;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public Map<String, String> getVariants() {
+        return variants;
+    }
+
+    public int getRefCount() {
+        return refCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,9 @@
+package com.blogify.BlogApp.entity;
+
+// State of the image attached to a post or profile while ImageUploadPipeline works on it.
+// Null means no image was ever uploaded.
+public enum ImageStatus {
+    PENDING,
+    READY,
+    FAILED
+}
@@ -1,14 +1,21 @@
 package com.blogify.BlogApp.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_created_at_id", columnList = "createdAt DESC, id DESC"),
+        @Index(name = "idx_posts_user_id_id", columnList = "user_id, id DESC")
+})
 public class Post {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -21,8 +28,32 @@ public class Post {
     private String content;
 
     private String imgUrl;
+
+    // PENDING while an uploaded image is on its way to Cloudinary; imgUrl still holds the previous image then.
+    @Enumerated(EnumType.STRING)
+    @Column(name = "image_status")
+    private ImageStatus imageStatus;
+
+    // Smaller copies of imgUrl by width descriptor ("320w" -> url); empty when the image is small already.
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "image_variants")
+    private Map<String, String> imageVariants;
+
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // Maintained by LikeCountBuffer (write-behind) and LikeCountReconciler, never through this entity.
+    @ColumnDefault("0")
+    @Column(name = "like_count", nullable = false, insertable = false, updatable = false)
+    private long likeCount;
+
+    // Checkpoints of TrendingRanking: the score as of trending_at. Never written through this entity.
+    @ColumnDefault("0")
+    @Column(name = "trending_score", nullable = false, insertable = false, updatable = false)
+    private double trendingScore;
+
+    @Column(name = "trending_at", insertable = false, updatable = false)
+    private LocalDateTime trendingAt;
+
     @ManyToOne
     @JoinColumn(name = "user_id")
     private User user;
@@ -75,6 +106,22 @@ public class Post {
         this.imgUrl = imgUrl;
     }
 
+    public ImageStatus getImageStatus() {
+        return imageStatus;
+    }
+
+    public void setImageStatus(ImageStatus imageStatus) {
+        this.imageStatus = imageStatus;
+    }
+
+    public Map<String, String> getImageVariants() {
+        return imageVariants;
+    }
+
+    public void setImageVariants(Map<String, String> imageVariants) {
+        this.imageVariants = imageVariants;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -83,6 +130,10 @@ public class Post {
         this.createdAt = createdAt;
     }
 
+    public long getLikeCount() {
+        return likeCount;
+    }
+
     public User getUser() {
         return user;
     }
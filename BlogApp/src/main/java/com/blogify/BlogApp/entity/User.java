@@ -4,22 +4,35 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+// Read on nearly every request (HTTP Basic lookup by email, findById on each write path), written rarely:
+// kept in the second-level cache together with its roles, and resolvable by email through the natural-id cache.
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId(mutable = true)
     @Column(nullable = false,unique = true)
     @Email(message = "email must be valid")
     private String email;
@@ -32,12 +45,21 @@ public class User {
     @Column(name = "profile_image")
     private String profileImage;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "profile_image_status")
+    private ImageStatus profileImageStatus;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "profile_image_variants")
+    private Map<String, String> profileImageVariants;
+
     @NotBlank(message = "password is required")
     @Size(min = 8,message = "password must be at least have 8 characters")// Regex for @Pattern later after testing
     private String password;
 
     @Column(name = "role")
     @ElementCollection(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @CollectionTable(name = "user_roles",joinColumns = @JoinColumn(name = "user_id"))
     private Set<String> roles = new HashSet<>();
 
@@ -138,6 +160,22 @@ public class User {
         this.profileImage = profileImage;
     }
 
+    public ImageStatus getProfileImageStatus() {
+        return profileImageStatus;
+    }
+
+    public void setProfileImageStatus(ImageStatus profileImageStatus) {
+        this.profileImageStatus = profileImageStatus;
+    }
+
+    public Map<String, String> getProfileImageVariants() {
+        return profileImageVariants;
+    }
+
+    public void setProfileImageVariants(Map<String, String> profileImageVariants) {
+        this.profileImageVariants = profileImageVariants;
+    }
+
     public User(Long id, String email, String name, String bio,String profileImage) {
         this.id = id;
         this.email = email;
@@ -1,10 +1,80 @@
 package com.blogify.BlogApp.repository;
 
+import com.blogify.BlogApp.dto.CommentDTO;
 import com.blogify.BlogApp.entity.Comment;
+import com.blogify.BlogApp.service.CommentTree;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface CommentRepository extends JpaRepository<Comment,Long> {
+    // Listings are built straight from the joined row; no Comment, User or Post entity is hydrated.
+    String COMMENT_DTO_SELECT = "select new com.blogify.BlogApp.dto.CommentDTO(c.id, c.content, c.createdAt, u.id, c.post.id, u.name) from Comment c left join c.user u";
+    // The same row with parentId, for threads.
+    String THREAD_DTO_SELECT = "select new com.blogify.BlogApp.dto.CommentDTO(c.id, c.content, c.createdAt, u.id, c.post.id, u.name, c.parentId) from Comment c left join c.user u";
+    // The first :perRoot replies under each root in [from, to), depth first: per root, a range scan of
+    // idx_comments_post_path over its subtree [path, subtreeEnd(path)) that stops after :perRoot rows, however
+    // large the subtree. A root's path is its own segment, so subtreeEnd is its id plus one, zero-padded.
+    // Rows are (id, content, created_at, user_id, post_id, user name, parent_id).
+    String TOP_REPLIES_QUERY = "select r.id, r.content, r.created_at, r.user_id, r.post_id, r.name, r.parent_id " +
+            "from comments rc cross join lateral (" +
+            "select c.id, c.content, c.created_at, c.user_id, c.post_id, u.name, c.parent_id, c.path " +
+            "from comments c left join users u on u.id = c.user_id " +
+            "where c.post_id = :postId and c.path > rc.path " +
+            "and c.path < lpad(cast(rc.id + 1 as varchar), " + CommentTree.SEGMENT_WIDTH + ", '0') " +
+            "order by c.path limit :perRoot) r " +
+            "where rc.post_id = :postId and rc.parent_id is null and rc.path >= :from and rc.path < :to " +
+            "order by r.path";
+
     Page<Comment> findByPostId(Long postId, Pageable pageable);
+    long countByPostId(Long postId);
+
+    @Query(value = COMMENT_DTO_SELECT + " where c.post.id = :postId", countQuery = "select count(c) from Comment c where c.post.id = :postId")
+    Page<CommentDTO> findCommentPageByPostId(@Param("postId") Long postId, Pageable pageable);
+
+    @Query(COMMENT_DTO_SELECT + " where c.post.id = :postId")
+    Slice<CommentDTO> findCommentSliceByPostId(@Param("postId") Long postId, Pageable pageable);
+
+    // Comment stream: seeks on idx_comments_post_created_at_id past the last (createdAt, id) seen. c.post.id is
+    // the post_id column, so the posts table is never joined.
+    @Query(COMMENT_DTO_SELECT + " where c.post.id = :postId order by c.createdAt desc, c.id desc")
+    List<CommentDTO> findCommentStreamFirst(@Param("postId") Long postId, Pageable pageable);
+
+    @Query(COMMENT_DTO_SELECT + " where c.post.id = :postId and (c.createdAt < :createdAt or (c.createdAt = :createdAt and c.id < :id)) order by c.createdAt desc, c.id desc")
+    List<CommentDTO> findCommentStreamAfter(@Param("postId") Long postId, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    // Threads: a comment's path, looked up within its post so a reply cannot attach to another post's thread.
+    @Query("select c.path from Comment c where c.id = :id and c.post.id = :postId")
+    Optional<String> findPathByIdAndPostId(@Param("id") Long id, @Param("postId") Long postId);
+
+    // Rows of (id, post id, path) for a batch of comments, for placing imported replies; unknown ids are absent.
+    @Query("select c.id, c.post.id, c.path from Comment c where c.id in :ids")
+    List<Object[]> findThreadPositions(@Param("ids") Collection<Long> ids);
+
+    // A whole subtree in depth-first order: the comment at path from and every descendant, up to to.
+    @Query(THREAD_DTO_SELECT + " where c.post.id = :postId and c.path >= :from and c.path < :to order by c.path")
+    List<CommentDTO> findSubtree(@Param("postId") Long postId, @Param("from") String from, @Param("to") String to, Pageable pageable);
+
+    // Top-level comments newest first, seeking on idx_comments_post_parent_id.
+    @Query(THREAD_DTO_SELECT + " where c.post.id = :postId and c.parentId is null and c.id < :beforeId order by c.id desc")
+    List<CommentDTO> findRootsBefore(@Param("postId") Long postId, @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Query(value = TOP_REPLIES_QUERY, nativeQuery = true)
+    List<Object[]> findTopReplies(@Param("postId") Long postId, @Param("from") String from, @Param("to") String to, @Param("perRoot") int perRoot);
+
+    // Comments written before paths existed are top-level; run once at startup.
+    @Transactional
+    @Modifying
+    @Query(value = "update comments set path = lpad(cast(id as varchar(20)), " + CommentTree.SEGMENT_WIDTH + ", '0') where path is null", nativeQuery = true)
+    int backfillRootPaths();
 }
@@ -0,0 +1,35 @@
+package com.blogify.BlogApp.repository;
+
+import com.blogify.BlogApp.entity.Follow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface FollowRepository extends JpaRepository<Follow,Long> {
+    long countByFolloweeId(Long followeeId);
+
+    // Single-statement follow/unfollow on raw ids, like LikeRepository: following twice is a no-op and an
+    // unknown user trips the foreign key. Both return the number of rows changed (0 or 1).
+    @Transactional
+    @Modifying
+    @Query(value = "insert into follows (follower_id, followee_id, created_at) values (:followerId, :followeeId, now()) on conflict do nothing", nativeQuery = true)
+    int insertIfAbsent(@Param("followerId") Long followerId, @Param("followeeId") Long followeeId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "delete from follows where follower_id = :followerId and followee_id = :followeeId", nativeQuery = true)
+    int deleteDirect(@Param("followerId") Long followerId, @Param("followeeId") Long followeeId);
+
+    @Query("select f.followee.id from Follow f where f.follower.id = :followerId")
+    List<Long> findFolloweeIds(@Param("followerId") Long followerId);
+
+    @Query("select f.follower.id from Follow f where f.followee.id = :followeeId")
+    List<Long> findFollowerIds(@Param("followeeId") Long followeeId);
+
+    @Query("select f.followee.id from Follow f group by f.followee.id having count(f) > :followers")
+    List<Long> findFolloweeIdsWithMoreFollowersThan(@Param("followers") long followers);
+}
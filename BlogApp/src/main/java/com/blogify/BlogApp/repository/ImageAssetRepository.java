@@ -0,0 +1,34 @@
+package com.blogify.BlogApp.repository;
+
+import com.blogify.BlogApp.entity.ImageAsset;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface ImageAssetRepository extends JpaRepository<ImageAsset, Long> {
+    Optional<ImageAsset> findByFolderAndContentHash(String folder, String contentHash);
+
+    Optional<ImageAsset> findByUrl(String url);
+
+    // Held by ImageAssetRegistry.release while the files of a last reference are deleted.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from ImageAsset a where a.url = :url")
+    Optional<ImageAsset> findLockedByUrl(@Param("url") String url);
+
+    // Reference counts only move through these single statements, so concurrent requests cannot lose an update.
+    @Transactional
+    @Modifying
+    @Query("update ImageAsset a set a.refCount = a.refCount + 1 where a.folder = :folder and a.contentHash = :contentHash")
+    int incrementRefCount(@Param("folder") String folder, @Param("contentHash") String contentHash);
+
+    @Transactional
+    @Modifying
+    @Query("update ImageAsset a set a.refCount = a.refCount - 1 where a.url = :url and a.refCount > 0")
+    int decrementRefCount(@Param("url") String url);
+}
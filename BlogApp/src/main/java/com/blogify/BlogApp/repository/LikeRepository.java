@@ -2,10 +2,34 @@ package com.blogify.BlogApp.repository;
 
 import com.blogify.BlogApp.entity.Like;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface LikeRepository extends JpaRepository<Like,Long> {
     boolean existsByUserIdAndPostId(Long userId,Long postId);
     void deleteByUserIdAndPostId(Long userId,Long postId);
     long countByPostId(Long postId);
-}
 
+    // Single-statement like/unlike on raw ids: nothing is loaded first, and uk_likes_user_post makes a
+    // concurrent duplicate a no-op instead of a second row. Both return the number of rows changed (0 or 1).
+    @Transactional
+    @Modifying
+    @Query(value = "insert into likes (user_id, post_id) values (:userId, :postId) on conflict do nothing", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("postId") Long postId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "delete from likes where user_id = :userId and post_id = :postId", nativeQuery = true)
+    int deleteDirect(@Param("userId") Long userId, @Param("postId") Long postId);
+
+    // Rows of (post id, stored like count, liked by userId) for a batch of posts, answered from the
+    // like_count column and the (user_id, post_id) unique index. Unknown post ids are simply absent.
+    @Query(value = "select p.id, p.like_count, exists(select 1 from likes l where l.post_id = p.id and l.user_id = :userId) " +
+            "from posts p where p.id in (:postIds)", nativeQuery = true)
+    List<Object[]> findLikeStatuses(@Param("postIds") Collection<Long> postIds, @Param("userId") Long userId);
+}
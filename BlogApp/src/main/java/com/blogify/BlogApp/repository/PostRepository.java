@@ -1,11 +1,121 @@
 package com.blogify.BlogApp.repository;
 
 
+import com.blogify.BlogApp.dto.PostDTO;
+import com.blogify.BlogApp.entity.ImageStatus;
 import com.blogify.BlogApp.entity.Post;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public interface PostRepository extends JpaRepository<Post,Long> {
+    // Read paths select the post columns plus author id/name in one joined statement. No Post or User entity
+    // is hydrated, so the EAGER author and its EAGER roles collection are never loaded per row.
+    String POST_DTO_SELECT = "select new com.blogify.BlogApp.dto.PostDTO(p.id, p.title, p.content, p.imgUrl, p.imageStatus, p.imageVariants, u.id, p.createdAt, u.name) from Post p left join p.user u";
+
+    // Full-text search over posts.search_vector (see PostSearchSchema). The inner query finds matches through
+    // the GIN index and ranks them from the stored vector; ts_headline re-parses text, so it only runs on the
+    // page that is returned. Rows are (id, score, title highlight, content snippet).
+    String SEARCH_QUERY = "with q as (select websearch_to_tsquery('english', :query) as query), " +
+            "hits as (select p.id, ts_rank_cd(p.search_vector, q.query) as score from posts p, q where p.search_vector @@ q.query ";
+    String SEARCH_AFTER = "and (ts_rank_cd(p.search_vector, q.query) < :score or " +
+            "(ts_rank_cd(p.search_vector, q.query) = :score and p.id < :id)) ";
+    String SEARCH_PAGE = "order by score desc, p.id desc limit :limit) " +
+            "select h.id, h.score, ts_headline('english', p.title, q.query, :titleOptions), " +
+            "ts_headline('english', coalesce(p.content, ''), q.query, :snippetOptions) " +
+            "from hits h join posts p on p.id = h.id, q order by h.score desc, h.id desc";
+
     Page<Post> findByUserId(Long userId, Pageable pageable);
+
+    @Query(value = POST_DTO_SELECT, countQuery = "select count(p) from Post p")
+    Page<PostDTO> findPostPage(Pageable pageable);
+
+    @Query(value = POST_DTO_SELECT + " where u.id = :userId", countQuery = "select count(p) from Post p where p.user.id = :userId")
+    Page<PostDTO> findPostPageByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(POST_DTO_SELECT + " where p.id = :id")
+    Optional<PostDTO> findPostDTOById(@Param("id") Long id);
+
+    // Stored like count, without buffered deltas. Empty when the post does not exist.
+    @Query("select p.likeCount from Post p where p.id = :id")
+    Optional<Long> findLikeCountById(@Param("id") Long id);
+
+    // Rows of (post id, stored like count) for a batch of posts; unknown ids are simply absent.
+    @Query("select p.id, p.likeCount from Post p where p.id in :ids")
+    List<Object[]> findLikeCountsByIds(@Param("ids") Collection<Long> ids);
+
+    // Which of the given posts exist, for checking a bulk import before writing it.
+    @Query("select p.id from Post p where p.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Image URL of a post being deleted, so its image asset reference can be released.
+    @Query("select p.imgUrl from Post p where p.id = :id")
+    Optional<String> findImgUrlById(@Param("id") Long id);
+
+    // Edits and finished uploads write only their own columns of a post, never a whole loaded copy, so an
+    // upload committing during an edit is not overwritten with the image the edit started from.
+    // Locks the row until the end of the transaction; "" when the post has no image.
+    @Query(value = "select coalesce(img_url, '') from posts where id = :id for update", nativeQuery = true)
+    Optional<String> lockImgUrlById(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("update Post p set p.title = :title, p.content = :content where p.id = :id")
+    int updateText(@Param("id") Long id, @Param("title") String title, @Param("content") String content);
+
+    @Transactional
+    @Modifying
+    @Query("update Post p set p.imgUrl = :imgUrl, p.imageVariants = :imageVariants, p.imageStatus = :imageStatus where p.id = :id")
+    int updateImage(@Param("id") Long id, @Param("imgUrl") String imgUrl, @Param("imageVariants") Map<String, String> imageVariants,
+                    @Param("imageStatus") ImageStatus imageStatus);
+
+    @Transactional
+    @Modifying
+    @Query("update Post p set p.imageStatus = :imageStatus where p.id = :id")
+    int updateImageStatus(@Param("id") Long id, @Param("imageStatus") ImageStatus imageStatus);
+
+    @Query(value = SEARCH_QUERY + SEARCH_PAGE, nativeQuery = true)
+    List<Object[]> searchFirst(@Param("query") String query, @Param("limit") int limit,
+                               @Param("titleOptions") String titleOptions, @Param("snippetOptions") String snippetOptions);
+
+    @Query(value = SEARCH_QUERY + SEARCH_AFTER + SEARCH_PAGE, nativeQuery = true)
+    List<Object[]> searchAfter(@Param("query") String query, @Param("score") float score, @Param("id") Long id, @Param("limit") int limit,
+                               @Param("titleOptions") String titleOptions, @Param("snippetOptions") String snippetOptions);
+
+    // Newest post ids by any of the given authors below beforeId, for home timelines; idx_posts_user_id_id.
+    @Query("select p.id from Post p where p.user.id in :userIds and p.id < :beforeId order by p.id desc")
+    List<Long> findRecentPostIdsByUserIds(@Param("userIds") Collection<Long> userIds, @Param("beforeId") Long beforeId, Pageable pageable);
+
+    // Search hits are ranked by the native query above and then loaded here in one statement.
+    @Query(POST_DTO_SELECT + " where p.id in :ids")
+    List<PostDTO> findPostDTOsByIds(@Param("ids") Collection<Long> ids);
+
+    // (id, title, content) in id order, for building the embedded search index the first time.
+    @Query("select p.id, p.title, p.content from Post p where p.id > :id order by p.id")
+    List<Object[]> findSearchDocumentsAfter(@Param("id") Long id, Pageable pageable);
+
+    // Slice variants fetch size + 1 rows to compute hasNext and never run count(*).
+    @Query(POST_DTO_SELECT)
+    Slice<PostDTO> findPostSlice(Pageable pageable);
+
+    @Query(POST_DTO_SELECT + " where u.id = :userId")
+    Slice<PostDTO> findPostSliceByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Keyset (seek) reads for the feed, served by idx_posts_created_at_id. No count query is issued.
+    @Query(POST_DTO_SELECT + " order by p.createdAt desc, p.id desc")
+    List<PostDTO> findFeedFirst(Pageable pageable);
+
+    @Query(POST_DTO_SELECT + " where p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id) order by p.createdAt desc, p.id desc")
+    List<PostDTO> findFeedAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
 }
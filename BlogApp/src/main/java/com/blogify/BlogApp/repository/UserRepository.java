@@ -1,11 +1,47 @@
 package com.blogify.BlogApp.repository;
 
+import com.blogify.BlogApp.dto.UserDTO;
 import com.blogify.BlogApp.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User,Long> {
-    Optional<User> findByEmail(String email);
+public interface UserRepository extends JpaRepository<User,Long>, UserRepositoryCustom {
+    // Scalar columns only. Roles are an element collection, so they are read for a whole page at once with
+    // findRolesByUserIds rather than through the EAGER mapping on each User.
+    String USER_DTO_SELECT = "select new com.blogify.BlogApp.dto.UserDTO(u.id, u.email, u.name, u.bio, u.profileImage) from User u";
+
     boolean existsByEmail(String email);
+
+    @Query(value = USER_DTO_SELECT, countQuery = "select count(u) from User u")
+    Page<UserDTO> findUserPage(Pageable pageable);
+
+    @Query(USER_DTO_SELECT)
+    Slice<UserDTO> findUserSlice(Pageable pageable);
+
+    @Query(USER_DTO_SELECT + " where u.id = :id")
+    Optional<UserDTO> findUserDTOById(@Param("id") Long id);
+
+    // Which of the given users exist, for checking a bulk import before writing it.
+    @Query("select u.id from User u where u.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Each row is {userId, role}.
+    @Query("select u.id, r from User u join u.roles r where u.id in :ids")
+    List<Object[]> findRolesByUserIds(@Param("ids") Collection<Long> ids);
+
+    // Images of the posts that go with a deleted user, so their asset references can be released.
+    @Query("select p.imgUrl from Post p where p.user.id = :userId and p.imgUrl is not null")
+    List<String> findPostImgUrlsByUserId(@Param("userId") Long userId);
+
+    // Posts that go with a deleted user, so the search index can drop them.
+    @Query("select p.id from Post p where p.user.id = :userId")
+    List<Long> findPostIdsByUserId(@Param("userId") Long userId);
 }
@@ -0,0 +1,10 @@
+package com.blogify.BlogApp.repository;
+
+import com.blogify.BlogApp.entity.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+    // Resolved through the natural-id cache; a warm lookup runs no SQL.
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,22 @@
+package com.blogify.BlogApp.repository;
+
+import com.blogify.BlogApp.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // A derived "where email = ?" query always goes to the database. Loading by natural id checks the
+    // email -> id cache first, then the User and roles regions, so only a cold lookup hits PostgreSQL.
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByEmail(String email) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(email);
+    }
+}
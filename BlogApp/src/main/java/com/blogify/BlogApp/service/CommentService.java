@@ -2,12 +2,22 @@ package com.blogify.BlogApp.service;
 
 import com.blogify.BlogApp.dto.CommentDTO;
 import com.blogify.BlogApp.dto.CreateCommentRequest;
+import com.blogify.BlogApp.dto.CursorPage;
+import com.blogify.BlogApp.dto.ImportCommentRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public interface CommentService {
     CommentDTO addComment(Long userId, Long postId, CreateCommentRequest request);
     Page<CommentDTO> getCommentsByPost(Long postId, Pageable pageable);
+    Slice<CommentDTO> getCommentsByPostSlice(Long postId, Pageable pageable);
+    CursorPage<CommentDTO> getCommentStream(Long postId, String cursor, int size);
+    CommentDTO getThread(Long postId, Long commentId);
+    CursorPage<CommentDTO> getThreads(Long postId, String cursor, int size, int replies);
+    int importComments(List<ImportCommentRequest> comments);
 }
@@ -0,0 +1,60 @@
+package com.blogify.BlogApp.service;
+
+import com.blogify.BlogApp.dto.CommentDTO;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Materialized paths for threaded comments. A comment's path is its ancestors' ids and its own, root first,
+// each zero-padded to SEGMENT_WIDTH digits: "000000000007000000000042" is comment 42 replying to comment 7.
+// Digits only, so every collation sorts paths the same way, and a subtree is the range [path, subtreeEnd(path)).
+public final class CommentTree {
+    public static final int SEGMENT_WIDTH = 12;
+    public static final int MAX_DEPTH = 50;
+
+    private CommentTree() {
+    }
+
+    public static String segment(long id){
+        String digits = Long.toString(id);
+        if(id < 0 || digits.length() > SEGMENT_WIDTH){
+            throw new IllegalArgumentException("Comment id does not fit a path segment: " + id);
+        }
+        return "0".repeat(SEGMENT_WIDTH - digits.length()) + digits;
+    }
+
+    public static String childPath(String parentPath, long id){
+        return parentPath == null ? segment(id) : parentPath + segment(id);
+    }
+
+    public static int depth(String path){
+        return path.length() / SEGMENT_WIDTH;
+    }
+
+    // The first path after every descendant of path: the last segment plus one.
+    public static String subtreeEnd(String path){
+        int last = path.length() - SEGMENT_WIDTH;
+        return path.substring(0, last) + segment(Long.parseLong(path.substring(last)) + 1);
+    }
+
+    // Links rows into trees in one pass, using parentId rather than the path. Rows must come parents first,
+    // as a path-ordered read returns them, so each reply keeps the order it was read in. A row whose parent is
+    // not among the rows becomes a root. Returns the roots in row order.
+    public static List<CommentDTO> assemble(List<CommentDTO> rows){
+        Map<Long, CommentDTO> byId = new HashMap<>(rows.size() * 2);
+        List<CommentDTO> roots = new ArrayList<>();
+        for(CommentDTO row : rows){
+            row.setReplies(new ArrayList<>());
+            byId.put(row.getId(), row);
+            CommentDTO parent = row.getParentId() == null ? null : byId.get(row.getParentId());
+            if(parent == null){
+                roots.add(row);
+            } else {
+                parent.getReplies().add(row);
+            }
+        }
+        return roots;
+    }
+}
@@ -0,0 +1,11 @@
+package com.blogify.BlogApp.service;
+
+import com.blogify.BlogApp.dto.TotalCountDTO;
+import org.springframework.stereotype.Service;
+
+@Service
+public interface CountService {
+    TotalCountDTO countPosts();
+    TotalCountDTO countCommentsByPost(Long postId);
+    TotalCountDTO countUsers();
+}
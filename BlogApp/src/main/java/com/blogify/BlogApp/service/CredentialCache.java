@@ -0,0 +1,67 @@
+package com.blogify.BlogApp.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+// Remembers HTTP Basic credentials that BCrypt already verified, so a client repeating the same header skips
+// the ~80ms hash for up to auth.cache.ttl-seconds. Entries are keyed by HMAC-SHA256(email, password) under a
+// random per-process key: neither the password nor a hash that could be attacked offline is kept in memory.
+// Failed attempts are never cached, so guessing still pays full BCrypt cost.
+@Component
+public class CredentialCache {
+    private static final String HMAC = "HmacSHA256";
+
+    private record Verified(String email, Authentication authentication) {}
+
+    private final SecretKeySpec hmacKey;
+    private final Cache<String, Verified> verified;
+
+    public CredentialCache(@Value("${auth.cache.max-entries:10000}") long maxEntries,
+                           @Value("${auth.cache.ttl-seconds:60}") long ttlSeconds) {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.hmacKey = new SecretKeySpec(secret, HMAC);
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    // The authenticated token from a previous successful check of exactly these credentials, or null.
+    public Authentication get(String email, String password){
+        Verified hit = verified.getIfPresent(key(email, password));
+        return hit == null ? null : hit.authentication();
+    }
+
+    public void put(String email, String password, Authentication authentication){
+        verified.put(key(email, password), new Verified(email, authentication));
+    }
+
+    // Call whenever a user's password, roles or email change, or the user is deleted.
+    public void evict(String email){
+        verified.asMap().values().removeIf(entry -> entry.email().equals(email));
+    }
+
+    private String key(String email, String password){
+        try{
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(hmacKey);
+            // Length-prefixed so ("ab", "c") and ("a", "bc") cannot collide.
+            mac.update((email.length() + ":" + email).getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e){
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
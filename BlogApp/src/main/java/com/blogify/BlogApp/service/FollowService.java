@@ -0,0 +1,13 @@
+package com.blogify.BlogApp.service;
+
+import com.blogify.BlogApp.dto.CursorPage;
+import com.blogify.BlogApp.dto.PostDTO;
+import org.springframework.stereotype.Service;
+
+@Service
+public interface FollowService {
+    void follow(Long followerId, Long followeeId);
+    void unfollow(Long followerId, Long followeeId);
+    long countFollowers(Long userId);
+    CursorPage<PostDTO> getHomeTimeline(Long userId, String cursor, int size);
+}
@@ -0,0 +1,187 @@
+package com.blogify.BlogApp.service;
+
+import com.blogify.BlogApp.repository.FollowRepository;
+import com.blogify.BlogApp.repository.PostRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Precomputed home timelines: per user, the ids of the newest posts by the authors they follow and their own,
+// as a sorted long[] capped at timeline.max-entries. createPost pushes the new id into the timeline of every
+// follower that has one in memory (fan-out on write); a timeline that is not in memory is built from the
+// posts table on its next read. Authors with more than timeline.celebrity-followers followers are not fanned
+// out: their posts are read per request from idx_posts_user_id_id and merged in (fan-out on read).
+// Post ids increase with createdAt, so ordering and paging are by id.
+@Component
+public class HomeTimeline {
+    private static final Logger log = LoggerFactory.getLogger(HomeTimeline.class);
+
+    private final FollowRepository followRepository;
+    private final PostRepository postRepository;
+    private final int maxEntries;
+    private final long celebrityFollowers;
+    // Bounded by user count; an evicted timeline is rebuilt on its next read.
+    private final Cache<Long, Timeline> timelines;
+    private volatile Set<Long> celebrities = Set.of();
+
+    public HomeTimeline(FollowRepository followRepository, PostRepository postRepository,
+                        @Value("${timeline.max-entries:500}") int maxEntries,
+                        @Value("${timeline.max-users:20000}") long maxUsers,
+                        @Value("${timeline.celebrity-followers:10000}") long celebrityFollowers) {
+        this.followRepository = followRepository;
+        this.postRepository = postRepository;
+        this.maxEntries = maxEntries;
+        this.celebrityFollowers = celebrityFollowers;
+        this.timelines = Caffeine.newBuilder().maximumSize(maxUsers).build();
+    }
+
+    // Called once the post is committed. Only timelines in memory are touched. A push to a timeline that is
+    // being built waits for the build and is then applied to it, so the post is there even if the build's query
+    // ran before the commit.
+    public void postCreated(Long authorId, Long postId){
+        push(authorId, postId);
+        if(celebrities.contains(authorId)){
+            return;
+        }
+        for(Long followerId : followRepository.findFollowerIds(authorId)){
+            push(followerId, postId);
+        }
+    }
+
+    // The followee's posts enter or leave the follower's timeline: cheaper to rebuild it on the next read
+    // than to merge or filter in place.
+    public void followsChanged(Long followerId){
+        timelines.invalidate(followerId);
+    }
+
+    // Up to limit post ids below beforeId, newest first. Deleted posts may still be listed; hydration drops them.
+    public List<Long> read(Long userId, long beforeId, int limit){
+        Timeline timeline = timelines.get(userId, this::build);
+        List<Long> ids = timeline.before(beforeId, limit);
+        // Scrolled past what the array kept: the rest comes from the table, like for a celebrity.
+        if(ids.size() < limit && !timeline.complete){
+            long from = ids.isEmpty() ? beforeId : ids.get(ids.size() - 1);
+            ids.addAll(postRepository.findRecentPostIdsByUserIds(timeline.fannedOutAuthors, from, PageRequest.of(0, limit - ids.size())));
+        }
+        if(timeline.celebrityAuthors.isEmpty()){
+            return ids;
+        }
+        TreeSet<Long> merged = new TreeSet<>(Collections.reverseOrder());
+        merged.addAll(ids);
+        merged.addAll(postRepository.findRecentPostIdsByUserIds(timeline.celebrityAuthors, beforeId, PageRequest.of(0, limit)));
+        return merged.stream().limit(limit).toList();
+    }
+
+    // A change in who counts as a celebrity changes which posts belong in the arrays, so all of them are rebuilt.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${timeline.celebrity-refresh-ms:600000}")
+    public void refreshCelebrities(){
+        Set<Long> current = new HashSet<>(followRepository.findFolloweeIdsWithMoreFollowersThan(celebrityFollowers));
+        if(!current.equals(celebrities)){
+            celebrities = Set.copyOf(current);
+            timelines.invalidateAll();
+            log.info("{} authors are read on demand instead of fanned out", current.size());
+        }
+    }
+
+    // compute waits for a build of the same key in progress, which getIfPresent and computeIfPresent return
+    // past as absent. Returning null for a user without a timeline leaves it absent.
+    private void push(Long userId, Long postId){
+        timelines.asMap().compute(userId, (id, timeline) -> {
+            if(timeline != null){
+                timeline.add(postId);
+            }
+            return timeline;
+        });
+    }
+
+    private Timeline build(Long userId){
+        Set<Long> celebrityIds = celebrities;
+        List<Long> fannedOut = new ArrayList<>();
+        List<Long> celebrityAuthors = new ArrayList<>();
+        fannedOut.add(userId);
+        for(Long followeeId : followRepository.findFolloweeIds(userId)){
+            (celebrityIds.contains(followeeId) ? celebrityAuthors : fannedOut).add(followeeId);
+        }
+        List<Long> recent = postRepository.findRecentPostIdsByUserIds(fannedOut, Long.MAX_VALUE, PageRequest.of(0, maxEntries));
+        Timeline timeline = new Timeline(maxEntries, recent.size() < maxEntries, fannedOut, celebrityAuthors);
+        // Newest first from the query; added oldest first so every add is an append.
+        for(int i = recent.size() - 1; i >= 0; i--){
+            timeline.add(recent.get(i));
+        }
+        return timeline;
+    }
+
+    private static final class Timeline {
+        private final int maxEntries;
+        private final List<Long> fannedOutAuthors;
+        private final List<Long> celebrityAuthors;
+        // Ascending, the newest last. Grows by doubling up to maxEntries, then drops the oldest.
+        private long[] postIds;
+        private int size;
+        // False once an older post was dropped: the array no longer holds every post of fannedOutAuthors.
+        private volatile boolean complete;
+
+        private Timeline(int maxEntries, boolean complete, List<Long> fannedOutAuthors, List<Long> celebrityAuthors) {
+            this.maxEntries = maxEntries;
+            this.complete = complete;
+            this.fannedOutAuthors = List.copyOf(fannedOutAuthors);
+            this.celebrityAuthors = List.copyOf(celebrityAuthors);
+            this.postIds = new long[Math.min(maxEntries, 16)];
+        }
+
+        // Usually an append; a post that committed out of order is moved back a few slots.
+        private synchronized void add(long postId){
+            int at = size;
+            while(at > 0 && postIds[at - 1] > postId){
+                at--;
+            }
+            if(at > 0 && postIds[at - 1] == postId){
+                return;
+            }
+            if(size == postIds.length && size < maxEntries){
+                postIds = Arrays.copyOf(postIds, Math.min(size * 2, maxEntries));
+            }
+            if(size == postIds.length){
+                complete = false;
+                if(at == 0){
+                    return;
+                }
+                System.arraycopy(postIds, 1, postIds, 0, at - 1);
+                at--;
+                size--;
+            } else {
+                System.arraycopy(postIds, at, postIds, at + 1, size - at);
+            }
+            postIds[at] = postId;
+            size++;
+        }
+
+        private synchronized List<Long> before(long beforeId, int limit){
+            int end = Arrays.binarySearch(postIds, 0, size, beforeId);
+            if(end < 0){
+                end = -end - 1;
+            }
+            List<Long> ids = new ArrayList<>(Math.min(limit, end));
+            for(int i = end - 1; i >= 0 && ids.size() < limit; i--){
+                ids.add(postIds[i]);
+            }
+            return ids;
+        }
+    }
+}
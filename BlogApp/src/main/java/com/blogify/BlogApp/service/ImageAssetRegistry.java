@@ -0,0 +1,80 @@
+package com.blogify.BlogApp.service;
+
+import com.blogify.BlogApp.entity.ImageAsset;
+import com.blogify.BlogApp.repository.ImageAssetRepository;
+import com.blogify.BlogApp.service.ImageUploadPipeline.StoredImage;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// Persisted content hash -> stored image index with reference counts. An upload whose bytes are already stored
+// reuses that asset without calling the image store, and a replaced or deleted image is only removed from the
+// store once nothing shows it any more.
+@Component
+public class ImageAssetRegistry {
+    private static final int REGISTER_ATTEMPTS = 3;
+
+    private final ImageAssetRepository imageAssetRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ImageAssetRegistry(ImageAssetRepository imageAssetRepository, TransactionTemplate transactionTemplate) {
+        this.imageAssetRepository = imageAssetRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // Takes a reference on the stored image with this hash, if there is one.
+    public Optional<StoredImage> acquire(String folder, String contentHash){
+        if(imageAssetRepository.incrementRefCount(folder, contentHash) == 0){
+            return Optional.empty();
+        }
+        return imageAssetRepository.findByFolderAndContentHash(folder, contentHash).map(ImageAssetRegistry::toStoredImage);
+    }
+
+    // Records a fresh upload with one reference. If an identical upload got registered first, a reference on
+    // that one is taken and returned instead, and the caller's copy is no longer needed.
+    public StoredImage register(String folder, String contentHash, StoredImage uploaded){
+        for(int attempt = 0; attempt < REGISTER_ATTEMPTS; attempt++){
+            Optional<StoredImage> existing = acquire(folder, contentHash);
+            if(existing.isPresent()){
+                return existing.get();
+            }
+            try{
+                imageAssetRepository.saveAndFlush(new ImageAsset(folder, contentHash, uploaded.url(), uploaded.variants()));
+                return uploaded;
+            } catch (DataIntegrityViolationException e){
+                // Registered concurrently; take a reference on that row on the next attempt.
+            }
+        }
+        return uploaded;
+    }
+
+    // Drops one reference. With the last one, deleteFiles removes the stored files while the asset row is still
+    // there and locked, and the row goes only after them: an identical upload meanwhile waits on the row in
+    // acquire or register and then stores its bytes afresh, rather than finding no row while the old files
+    // are still about to be deleted. URLs stored before this index existed are not tracked and belong to their
+    // single row. True when the files were deleted.
+    public boolean release(String url, Consumer<StoredImage> deleteFiles){
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            Optional<ImageAsset> asset = imageAssetRepository.findLockedByUrl(url);
+            if(asset.isEmpty()){
+                deleteFiles.accept(new StoredImage(url, Map.of()));
+                return true;
+            }
+            if(asset.get().getRefCount() > 1){
+                imageAssetRepository.decrementRefCount(url);
+                return false;
+            }
+            deleteFiles.accept(toStoredImage(asset.get()));
+            imageAssetRepository.delete(asset.get());
+            return true;
+        }));
+    }
+
+    private static StoredImage toStoredImage(ImageAsset asset){
+        return new StoredImage(asset.getUrl(), asset.getVariants() == null ? Map.of() : asset.getVariants());
+    }
+}
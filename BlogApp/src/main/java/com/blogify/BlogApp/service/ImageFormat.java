@@ -0,0 +1,72 @@
+package com.blogify.BlogApp.service;
+
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+
+// The image types accepted for upload. The type is read from the file's leading bytes, never from the name the
+// client sent, and stored files take their extension from it, so nothing but these is ever stored or served.
+public enum ImageFormat {
+    JPEG("jpg", MediaType.IMAGE_JPEG),
+    PNG("png", MediaType.IMAGE_PNG),
+    GIF("gif", MediaType.IMAGE_GIF),
+    WEBP("webp", MediaType.parseMediaType("image/webp"));
+
+    // Bytes needed to recognise every format: WebP is "RIFF", a 4 byte size, then "WEBP".
+    public static final int HEADER_LENGTH = 12;
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    ImageFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public static Optional<ImageFormat> detect(byte[] header) {
+        if(header.length >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+            return Optional.of(JPEG);
+        }
+        if(header.length >= PNG_SIGNATURE.length && Arrays.equals(header, 0, PNG_SIGNATURE.length, PNG_SIGNATURE, 0, PNG_SIGNATURE.length)) {
+            return Optional.of(PNG);
+        }
+        if(startsWith(header, 0, "GIF87a") || startsWith(header, 0, "GIF89a")) {
+            return Optional.of(GIF);
+        }
+        if(startsWith(header, 0, "RIFF") && startsWith(header, 8, "WEBP")) {
+            return Optional.of(WEBP);
+        }
+        return Optional.empty();
+    }
+
+    // "jpeg" is accepted for JPEG as well; anything else unknown is empty.
+    public static Optional<ImageFormat> fromExtension(String extension) {
+        if(extension == null) {
+            return Optional.empty();
+        }
+        String lower = extension.toLowerCase(Locale.ROOT);
+        if(lower.equals("jpeg")) {
+            return Optional.of(JPEG);
+        }
+        return Arrays.stream(values()).filter(format -> format.extension.equals(lower)).findFirst();
+    }
+
+    private static boolean startsWith(byte[] header, int offset, String ascii) {
+        byte[] expected = ascii.getBytes(StandardCharsets.US_ASCII);
+        return header.length >= offset + expected.length
+                && Arrays.equals(header, offset, offset + expected.length, expected, 0, expected.length);
+    }
+}
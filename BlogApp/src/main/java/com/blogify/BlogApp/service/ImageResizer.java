@@ -0,0 +1,123 @@
+package com.blogify.BlogApp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Downscaled copies of an uploaded image for feed cards and avatars, made with javax.imageio on the upload
+// pool. Only widths smaller than the original are produced. Big photos are decoded with subsampling, and each
+// variant is scaled from the next larger one, so memory and quality stay reasonable without a native library.
+@Component
+public class ImageResizer {
+    private final List<Integer> widths;
+    private final float jpegQuality;
+    private final long maxPixels;
+
+    public ImageResizer(@Value("${images.variants.widths:320,640,1280}") List<Integer> widths,
+                        @Value("${images.variants.jpeg-quality:0.82}") float jpegQuality,
+                        @Value("${images.variants.max-pixels:50000000}") long maxPixels) {
+        this.widths = widths.stream().sorted((a, b) -> b - a).toList();
+        this.jpegQuality = jpegQuality;
+        this.maxPixels = maxPixels;
+    }
+
+    // Width -> file in workDir, largest first. Empty for formats ImageIO cannot read and for images already
+    // smaller than every variant; the caller owns the returned files.
+    public Map<Integer, Path> resize(Path source, Path workDir) throws IOException {
+        try(ImageInputStream in = ImageIO.createImageInputStream(source.toFile())){
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if(readers == null || !readers.hasNext()){
+                return Map.of();
+            }
+            ImageReader reader = readers.next();
+            try{
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                List<Integer> targets = widths.stream().filter(target -> target < width).toList();
+                if(targets.isEmpty() || (long) width * height > maxPixels){
+                    return Map.of();
+                }
+                // Decode at no more than twice the largest variant: a 6000px photo is read at a quarter of its size.
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, width / (targets.get(0) * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                BufferedImage image = reader.read(0, param);
+                boolean jpeg = "jpeg".equals(reader.getFormatName().toLowerCase(Locale.ROOT));
+                return write(image, targets, jpeg, workDir);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private Map<Integer, Path> write(BufferedImage image, List<Integer> targets, boolean jpeg, Path workDir) throws IOException {
+        Map<Integer, Path> variants = new LinkedHashMap<>();
+        try{
+            BufferedImage previous = image;
+            for(int target : targets){
+                previous = scale(previous, target, jpeg);
+                Path file = Files.createTempFile(workDir, "variant-" + target + "-", jpeg ? ".jpg" : ".png");
+                variants.put(target, file);
+                if(jpeg){
+                    writeJpeg(previous, file);
+                } else {
+                    ImageIO.write(previous, "png", file.toFile());
+                }
+            }
+            return variants;
+        } catch (IOException | RuntimeException e){
+            for(Path file : variants.values()){
+                Files.deleteIfExists(file);
+            }
+            throw e;
+        }
+    }
+
+    // JPEGs are flattened to RGB; everything else becomes PNG to keep transparency.
+    private static BufferedImage scale(BufferedImage source, int width, boolean jpeg){
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        BufferedImage scaled = new BufferedImage(width, height, jpeg ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try{
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private void writeJpeg(BufferedImage image, Path file) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try(ImageOutputStream out = ImageIO.createImageOutputStream(file.toFile())){
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.blogify.BlogApp.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Where uploaded images end up. Selected with images.store: "cloudinary" (default) or "local".
+public interface ImageStore {
+    // Stores the file under folder ("blog_posts", "blog_users") and returns the public URL to save on the row.
+    String store(Path file, String folder) throws IOException;
+
+    // Takes a URL returned by store; URLs this store did not produce are ignored.
+    void delete(String url) throws IOException;
+}
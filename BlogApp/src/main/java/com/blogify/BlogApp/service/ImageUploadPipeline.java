@@ -0,0 +1,304 @@
+package com.blogify.BlogApp.service;
+
+import com.blogify.BlogApp.exception.BadRequestException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+// Takes the ImageStore off the request thread. The multipart part is streamed to a spool file instead of being
+// read into a byte[], the caller commits its row with ImageStatus.PENDING, and a bounded pool stores the file
+// with retries and hands back its URL; with its queue full, an upload fails at once rather than block the
+// request. Only the newest upload per key is applied; an older one that finishes late is deleted from the
+// store again. Smaller variants from ImageResizer are made and stored on the
+// same pool, after the original. Bytes are hashed while they are spooled, and ImageAssetRegistry turns a
+// repeated upload into a reference on the stored copy, and a release into a delete once nothing uses it.
+@Component
+public class ImageUploadPipeline {
+    private static final Logger log = LoggerFactory.getLogger(ImageUploadPipeline.class);
+
+    private final ImageStore imageStore;
+    private final ImageResizer imageResizer;
+    private final ImageAssetRegistry imageAssetRegistry;
+    private final Path spoolDir;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService releaser;
+    // key ("post:42", "user:7") -> id of the newest upload submitted for it.
+    private final Map<String, String> latest = new ConcurrentHashMap<>();
+
+    public ImageUploadPipeline(ImageStore imageStore, ImageResizer imageResizer, ImageAssetRegistry imageAssetRegistry,
+                               @Value("${images.upload.spool-dir:${java.io.tmpdir}/blogify-uploads}") String spoolDir,
+                               @Value("${images.upload.threads:4}") int threads,
+                               @Value("${images.upload.queue-capacity:100}") int queueCapacity,
+                               @Value("${images.upload.max-attempts:3}") int maxAttempts,
+                               @Value("${images.upload.retry-backoff-ms:500}") long retryBackoffMs) throws IOException {
+        this.imageStore = imageStore;
+        this.imageResizer = imageResizer;
+        this.imageAssetRegistry = imageAssetRegistry;
+        this.spoolDir = Files.createDirectories(Path.of(spoolDir));
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        AtomicInteger threadNumber = new AtomicInteger();
+        // A full queue fails the upload (see submit) instead of running it, retries and all, on the request thread.
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "image-upload-" + threadNumber.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        // Releases are a count update and sometimes a delete, and must not be dropped, so they queue on their
+        // own thread rather than behind uploads or on the caller.
+        this.releaser = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "image-release"));
+    }
+
+    // Must be called on the request thread: the multipart temp file is gone once the request ends.
+    // The SHA-256 is computed in the same pass that copies the bytes to the spool file. Only the ImageFormat
+    // types are accepted, recognised by their leading bytes; the client's filename and content type are ignored.
+    public SpooledImage spool(MultipartFile image){
+        MessageDigest digest;
+        try{
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e){
+            throw new IllegalStateException(e);
+        }
+        Path file = null;
+        try(InputStream in = new BufferedInputStream(new DigestInputStream(image.getInputStream(), digest))){
+            in.mark(ImageFormat.HEADER_LENGTH);
+            byte[] header = in.readNBytes(ImageFormat.HEADER_LENGTH);
+            in.reset();
+            ImageFormat format = ImageFormat.detect(header)
+                    .orElseThrow(()-> new BadRequestException("Images must be JPEG, PNG, GIF or WebP."));
+            // The extension is kept for stores that derive the content type from it.
+            file = Files.createTempFile(spoolDir, "upload-", "." + format.extension());
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+            return new SpooledImage(file, HexFormat.of().formatHex(digest.digest()));
+        } catch (IOException e){
+            if(file != null){
+                discard(file);
+            }
+            throw new RuntimeException("Image upload failed", e);
+        }
+    }
+
+    // Request thread, no image store call: when the same bytes are stored already, takes a reference on them
+    // and drops the spool file. Also supersedes any upload still pending for key (null for a new row).
+    public Optional<StoredImage> reuse(String key, SpooledImage spooled, String folder){
+        Optional<StoredImage> existing = imageAssetRegistry.acquire(folder, spooled.sha256());
+        if(existing.isPresent()){
+            if(key != null){
+                latest.remove(key);
+            }
+            discard(spooled.file());
+        }
+        return existing;
+    }
+
+    // onUploaded gets the stored image on an upload thread and returns false if its row no longer exists,
+    // in which case the reference is released again. onFailed runs once all attempts are used up, when
+    // registering or onUploaded throws, or right away on the caller when images.upload.queue-capacity uploads
+    // are waiting already; never for an upload superseded by a newer one.
+    public void submit(String key, SpooledImage spooled, String folder, Predicate<StoredImage> onUploaded, Runnable onFailed){
+        String uploadId = UUID.randomUUID().toString();
+        latest.put(key, uploadId);
+        try{
+            executor.execute(() -> upload(key, uploadId, spooled, folder, onUploaded, onFailed));
+        } catch (RejectedExecutionException e){
+            log.warn("Image upload queue is full, dropped the image for {}", key);
+            discard(spooled.file());
+            failIfLatest(key, uploadId, onFailed);
+        }
+    }
+
+    // Gives up a reference taken by reuse or an upload, on the release thread; the files are deleted from the
+    // image store when it was the last one.
+    public void release(String url){
+        if(url != null && !url.isEmpty()){
+            releaser.execute(() -> releaseNow(url));
+        }
+    }
+
+    public void discard(Path spooled){
+        try{
+            Files.deleteIfExists(spooled);
+        } catch (IOException e){
+            log.warn("Could not delete spooled image {}", spooled, e);
+        }
+    }
+
+    // Whatever fails, the files this upload stored and the reference it holds are given back, and onFailed
+    // runs if it was still the newest upload for key.
+    private void upload(String key, String uploadId, SpooledImage spooled, String folder, Predicate<StoredImage> onUploaded, Runnable onFailed){
+        StoredImage stored = null;
+        StoredImage held = null;
+        boolean claimed = false;
+        try{
+            // An identical upload may have been stored while this one was queued.
+            held = imageAssetRegistry.acquire(folder, spooled.sha256()).orElse(null);
+            if(held == null){
+                String url = storeWithRetries(spooled.file(), folder);
+                if(url == null){
+                    failIfLatest(key, uploadId, onFailed);
+                    return;
+                }
+                stored = new StoredImage(url, storeVariants(spooled.file(), folder));
+                held = imageAssetRegistry.register(folder, spooled.sha256(), stored);
+                if(!held.equals(stored)){
+                    deleteUnused(stored, held);
+                }
+                stored = null;
+            }
+            claimed = latest.remove(key, uploadId);
+            if(claimed && onUploaded.test(held)){
+                return;
+            }
+            // Superseded by a newer image, or the row was deleted meanwhile: nothing shows this reference.
+            releaseNow(held.url());
+        } catch (RuntimeException e){
+            log.warn("Storing uploaded image for {} failed", key, e);
+            if(stored != null){
+                delete(stored.url());
+                stored.variants().values().forEach(this::delete);
+            }
+            if(held != null){
+                releaseNow(held.url());
+            }
+            if(claimed){
+                runFailed(key, onFailed);
+            } else {
+                failIfLatest(key, uploadId, onFailed);
+            }
+        } finally {
+            discard(spooled.file());
+        }
+    }
+
+    private void failIfLatest(String key, String uploadId, Runnable onFailed){
+        if(latest.remove(key, uploadId)){
+            runFailed(key, onFailed);
+        }
+    }
+
+    private void runFailed(String key, Runnable onFailed){
+        try{
+            onFailed.run();
+        } catch (RuntimeException e){
+            log.warn("Could not mark the image for {} as failed", key, e);
+        }
+    }
+
+    private void releaseNow(String url){
+        try{
+            imageAssetRegistry.release(url, image -> {
+                delete(image.url());
+                image.variants().values().forEach(this::delete);
+            });
+        } catch (RuntimeException e){
+            log.warn("Could not release image {}", url, e);
+        }
+    }
+
+    // Files of a duplicate upload that lost the race to register; a content-addressed store may have
+    // given both the same URLs, and those stay.
+    private void deleteUnused(StoredImage duplicate, StoredImage kept){
+        if(!duplicate.url().equals(kept.url())){
+            delete(duplicate.url());
+        }
+        duplicate.variants().values().stream()
+                .filter(url -> !kept.variants().containsValue(url))
+                .forEach(this::delete);
+    }
+
+    // Width descriptor ("320w") -> URL, ready for a srcset. A variant that cannot be made or stored is left
+    // out; the original is always there to fall back to.
+    private Map<String, String> storeVariants(Path spooled, String folder){
+        Map<Integer, Path> files;
+        try{
+            files = imageResizer.resize(spooled, spoolDir);
+        } catch (IOException | RuntimeException e){
+            log.warn("Could not create variants of an image for {}", folder, e);
+            return Map.of();
+        }
+        Map<String, String> variants = new LinkedHashMap<>();
+        try{
+            files.forEach((width, file) -> {
+                String url = storeWithRetries(file, folder);
+                if(url != null){
+                    variants.put(width + "w", url);
+                }
+            });
+        } finally {
+            files.values().forEach(this::discard);
+        }
+        return variants;
+    }
+
+    private String storeWithRetries(Path spooled, String folder){
+        for(int attempt = 1; attempt <= maxAttempts; attempt++){
+            try{
+                return imageStore.store(spooled, folder);
+            } catch (IOException | RuntimeException e){
+                log.warn("Image upload attempt {}/{} to {} failed", attempt, maxAttempts, folder, e);
+            }
+            if(attempt < maxAttempts){
+                try{
+                    Thread.sleep(retryBackoffMs << (attempt - 1));
+                } catch (InterruptedException e){
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void delete(String url){
+        try{
+            imageStore.delete(url);
+        } catch (IOException | RuntimeException e){
+            log.warn("Could not delete image {}", url, e);
+        }
+    }
+
+    public record SpooledImage(Path file, String sha256) {
+    }
+
+    public record StoredImage(String url, Map<String, String> variants) {
+    }
+
+    // Uploads still queued at shutdown are dropped; their rows stay PENDING with the previous image until
+    // PendingImageRecovery marks them FAILED on the next start.
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+        // After the uploads, which may still release the image they replaced.
+        releaser.shutdown();
+        releaser.awaitTermination(30, TimeUnit.SECONDS);
+    }
+}
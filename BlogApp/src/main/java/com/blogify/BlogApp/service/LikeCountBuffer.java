@@ -0,0 +1,93 @@
+package com.blogify.BlogApp.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Write-behind buffer for posts.like_count. Likes and unlikes only bump a striped LongAdder per post;
+// the summed deltas are written to PostgreSQL in one JDBC batch every likes.flush-interval-ms and on shutdown.
+// Readers add pendingDelta() to the stored column, so counts stay exact on this node between flushes; a delta
+// stays pending until its batch has been written, at worst counting twice for the moment in between.
+@Component
+public class LikeCountBuffer {
+    private static final Logger log = LoggerFactory.getLogger(LikeCountBuffer.class);
+    private static final String FLUSH_SQL = "update posts set like_count = like_count + ? where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    // Entries are never removed: removing an adder could drop an increment made through a reference taken
+    // just before. The map is bounded by the number of posts liked since startup.
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public LikeCountBuffer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void increment(Long postId){
+        record(postId, 1);
+    }
+
+    public void decrement(Long postId){
+        record(postId, -1);
+    }
+
+    public long pendingDelta(Long postId){
+        LongAdder adder = pending.get(postId);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    // Called inside a transaction, the delta only counts once that transaction commits.
+    private void record(Long postId, long delta){
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(postId, delta);
+                }
+            });
+        } else {
+            add(postId, delta);
+        }
+    }
+
+    private void add(Long postId, long delta){
+        pending.computeIfAbsent(postId, id -> new LongAdder()).add(delta);
+    }
+
+    @Scheduled(fixedDelayString = "${likes.flush-interval-ms:1000}")
+    @PreDestroy
+    public synchronized void flush(){
+        List<Object[]> batch = new ArrayList<>();
+        List<Map.Entry<LongAdder, Long>> flushed = new ArrayList<>();
+        pending.forEach((postId, adder) -> {
+            long delta = adder.sum();
+            if(delta != 0){
+                batch.add(new Object[]{delta, postId});
+                flushed.add(Map.entry(adder, delta));
+            }
+        });
+        if(batch.isEmpty()){
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+        } catch (RuntimeException e) {
+            // Nothing was taken out, so the next flush retries the same deltas.
+            log.warn("Flushing {} like count deltas failed, will retry", flushed.size(), e);
+            return;
+        }
+        // Only subtracted once the column holds them, so readers never miss a delta that is being written.
+        // Adds made meanwhile stay behind for the next flush.
+        flushed.forEach(entry -> entry.getKey().add(-entry.getValue()));
+    }
+}
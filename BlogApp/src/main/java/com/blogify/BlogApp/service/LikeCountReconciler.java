@@ -0,0 +1,53 @@
+package com.blogify.BlogApp.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Rebuilds posts.like_count from the likes table on likes.reconcile-cron, off-peak, as it rescans every post.
+// Likes committed while it runs can be counted twice until the next run, so this bounds drift rather than making
+// the counter exact. Posts that existed before the column are backfilled at startup, once the schema is updated
+// and before requests are served.
+@Component
+// After LikeUniqueness, so the backfill does not count duplicate likes.
+@DependsOn({"entityManagerFactory", "likeUniqueness"})
+public class LikeCountReconciler {
+    private static final Logger log = LoggerFactory.getLogger(LikeCountReconciler.class);
+    private static final String RECONCILE_SQL =
+            "update posts set like_count = (select count(*) from likes where likes.post_id = posts.id) " +
+            "where like_count <> (select count(*) from likes where likes.post_id = posts.id)";
+    // Only rows still at the column default that do have likes, so once done it writes nothing; a single pass
+    // over likes rather than a count per post.
+    private static final String BACKFILL_SQL =
+            "update posts set like_count = (select count(*) from likes where likes.post_id = posts.id) " +
+            "where like_count = 0 and id in (select post_id from likes)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LikeCountBuffer likeCountBuffer;
+
+    public LikeCountReconciler(JdbcTemplate jdbcTemplate, LikeCountBuffer likeCountBuffer) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.likeCountBuffer = likeCountBuffer;
+    }
+
+    @PostConstruct
+    public void backfill(){
+        int filled = jdbcTemplate.update(BACKFILL_SQL);
+        if(filled > 0){
+            log.info("Backfilled like_count on {} posts", filled);
+        }
+    }
+
+    @Scheduled(cron = "${likes.reconcile-cron:0 30 3 * * *}")
+    public void reconcile(){
+        likeCountBuffer.flush();
+        int fixed = jdbcTemplate.update(RECONCILE_SQL);
+        if(fixed > 0){
+            log.info("Reconciled like_count on {} posts", fixed);
+        }
+    }
+}
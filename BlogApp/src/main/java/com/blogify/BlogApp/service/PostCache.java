@@ -0,0 +1,128 @@
+package com.blogify.BlogApp.service;
+
+import com.blogify.BlogApp.dto.CacheStatsDTO;
+import com.blogify.BlogApp.dto.CursorPage;
+import com.blogify.BlogApp.dto.PostDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// In-process read cache for post detail and the public post listings. Both caches are Caffeine
+// (W-TinyLFU admission, so a burst of one-off deep pages cannot push out the hot first pages) with a
+// short TTL as the upper bound on staleness. Writes evict only the entries they can affect.
+@Component
+public class PostCache {
+    public static final String DETAILS = "post-details";
+    public static final String LISTINGS = "post-listings";
+
+    // Offset pages (Page or Slice) are keyed by the full Pageable; feed pages by cursor ("" for the first page).
+    private record OffsetKey(String kind, Pageable pageable) {}
+    private record FeedKey(String cursor, int size) {}
+
+    private final Cache<Long, PostDTO> details;
+    private final Cache<Object, Object> listings;
+
+    public PostCache(@Value("${posts.cache.max-details:10000}") long maxDetails,
+                     @Value("${posts.cache.max-listing-rows:5000}") long maxListingRows,
+                     @Value("${posts.cache.ttl-seconds:30}") long ttlSeconds) {
+        this.details = Caffeine.newBuilder()
+                .maximumSize(maxDetails)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        // Weighed by rows so a few oversized pages cannot hold as much memory as thousands of small ones.
+        this.listings = Caffeine.newBuilder()
+                .maximumWeight(maxListingRows)
+                .weigher((Object key, Object listing) -> content(listing).size() + 1)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    // Loader exceptions (e.g. ResourceNotFoundException) propagate and nothing is cached.
+    public PostDTO getPost(Long postId, Function<Long, PostDTO> loader){
+        return details.get(postId, loader);
+    }
+
+    // Posts that are neither cached nor found by the loader are left out of the result.
+    public Map<Long, PostDTO> getPosts(Collection<Long> postIds, Function<Set<Long>, Map<Long, PostDTO>> loader){
+        return details.getAll(postIds, missing -> loader.apply(Set.copyOf(missing)));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Slice<PostDTO>> T getPage(String kind, Pageable pageable, Supplier<T> loader){
+        return (T) listings.get(new OffsetKey(kind, pageable), key -> loader.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    public CursorPage<PostDTO> getFeed(String cursor, int size, Supplier<CursorPage<PostDTO>> loader){
+        FeedKey key = new FeedKey(cursor == null ? "" : cursor, size);
+        return (CursorPage<PostDTO>) listings.get(key, k -> loader.get());
+    }
+
+    // A new post becomes the newest: every offset page and the first feed page shift by one. Feed pages
+    // behind a cursor are positioned by (createdAt, id), so they do not change.
+    public void evictForCreate(){
+        listings.asMap().keySet().removeIf(key -> key instanceof OffsetKey || key instanceof FeedKey feed && feed.cursor().isEmpty());
+    }
+
+    // An edit keeps createdAt, so ordering is unchanged; only listings that show this post are stale.
+    public void evictForUpdate(Long postId){
+        details.invalidate(postId);
+        listings.asMap().values().removeIf(listing -> contains(listing, postId));
+    }
+
+    // Removing a post shifts every offset page behind it and changes Page totals. Feed pages only
+    // change where the post was shown.
+    public void evictForDelete(Long postId){
+        details.invalidate(postId);
+        listings.asMap().entrySet().removeIf(entry -> entry.getKey() instanceof OffsetKey || contains(entry.getValue(), postId));
+    }
+
+    // The author name is copied into every PostDTO, so a profile edit stales that author's posts.
+    public void evictForAuthor(Long userId){
+        details.asMap().values().removeIf(post -> userId.equals(post.getUserId()));
+        listings.asMap().values().removeIf(listing -> content(listing).stream().anyMatch(post -> userId.equals(post.getUserId())));
+    }
+
+    public void evictAll(){
+        details.invalidateAll();
+        listings.invalidateAll();
+    }
+
+    public List<CacheStatsDTO> stats(){
+        return List.of(toDto(DETAILS, details), toDto(LISTINGS, listings));
+    }
+
+    private static CacheStatsDTO toDto(String name, Cache<?, ?> cache){
+        CacheStats stats = cache.stats();
+        return new CacheStatsDTO(name, cache.estimatedSize(), stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<PostDTO> content(Object listing){
+        if(listing instanceof Slice<?> slice){
+            return (List<PostDTO>) slice.getContent();
+        }
+        if(listing instanceof CursorPage<?> page){
+            return (List<PostDTO>) page.getContent();
+        }
+        return List.of();
+    }
+
+    private static boolean contains(Object listing, Long postId){
+        return content(listing).stream().anyMatch(post -> postId.equals(post.getId()));
+    }
+}
@@ -0,0 +1,201 @@
+package com.blogify.BlogApp.service;
+
+import com.blogify.BlogApp.dto.CommentDTO;
+import com.blogify.BlogApp.dto.LikeDeltaDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// In-process fan-out of post activity (new comments, like deltas) to Server-Sent Events subscribers.
+// Subscribers are async SseEmitters: an idle connection holds no thread, only its emitter and a small queue.
+// Publishing serializes an event once and offers it to each subscriber's bounded queue without blocking; a
+// subscriber whose queue is full is too slow to keep up and is disconnected (EventSource clients reconnect
+// and re-read the post). Each queue is drained on a virtual thread, one drain per subscriber at a time, so events
+// reach each client in order, and a client whose socket stops accepting data only stalls its own drain.
+// At most events.max-subscribers connections are open at once.
+@Component
+public class PostEventBus {
+    private static final Logger log = LoggerFactory.getLogger(PostEventBus.class);
+
+    private final ObjectMapper objectMapper;
+    private final int queueCapacity;
+    private final long timeoutMs;
+    private final int maxSubscribers;
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("post-events-", 1).factory());
+    private final ConcurrentHashMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    public PostEventBus(ObjectMapper objectMapper,
+                        @Value("${events.queue-capacity:64}") int queueCapacity,
+                        @Value("${events.timeout-ms:1800000}") long timeoutMs,
+                        @Value("${events.max-subscribers:10000}") int maxSubscribers) {
+        this.objectMapper = objectMapper;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMs = timeoutMs;
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    // The emitter times out after events.timeout-ms; the client then reconnects. Empty when the bus is full.
+    public Optional<SseEmitter> subscribe(Long postId){
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        return subscribe(postId, emitter) ? Optional.of(emitter) : Optional.empty();
+    }
+
+    boolean subscribe(Long postId, SseEmitter emitter){
+        if(subscriberCount.incrementAndGet() > maxSubscribers){
+            subscriberCount.decrementAndGet();
+            return false;
+        }
+        Subscriber subscriber = new Subscriber(postId, emitter);
+        subscribers.compute(postId, (id, set) -> {
+            Set<Subscriber> current = set == null ? ConcurrentHashMap.newKeySet() : set;
+            current.add(subscriber);
+            return current;
+        });
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        return true;
+    }
+
+    public void commentAdded(CommentDTO comment){
+        publish(comment.getPostId(), "comment", comment);
+    }
+
+    public void likesChanged(Long postId, long delta){
+        publish(postId, "likes", new LikeDeltaDTO(postId, delta));
+    }
+
+    public int size(){
+        return subscriberCount.get();
+    }
+
+    // Called inside a transaction, the event is only sent once that transaction commits.
+    private void publish(Long postId, String name, Object data){
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(postId, name, data);
+                }
+            });
+        } else {
+            dispatch(postId, name, data);
+        }
+    }
+
+    private void dispatch(Long postId, String name, Object data){
+        Set<Subscriber> targets = subscribers.get(postId);
+        if(targets == null){
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> event;
+        try {
+            event = SseEmitter.event().name(name).data(objectMapper.writeValueAsString(data)).build();
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize {} event for post {}", name, postId, e);
+            return;
+        }
+        for(Subscriber subscriber : targets){
+            subscriber.offer(event);
+        }
+    }
+
+    // A comment line every events.heartbeat-ms keeps idle connections open through proxies, and finds the
+    // clients that went away without closing.
+    @Scheduled(fixedDelayString = "${events.heartbeat-ms:25000}")
+    public void heartbeat(){
+        Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.offer(ping)));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+        senders.shutdown();
+        senders.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private final class Subscriber implements Runnable {
+        private final Long postId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        // True while a drain of this subscriber is queued or running.
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(Long postId, SseEmitter emitter) {
+            this.postId = postId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        private void offer(Set<ResponseBodyEmitter.DataWithMediaType> event){
+            if(closed.get()){
+                return;
+            }
+            if(!queue.offer(event)){
+                // Completing waits for a send in progress, so it is left to a sender.
+                close();
+                senders.execute(emitter::complete);
+                log.debug("Dropped a slow subscriber of post {}", postId);
+                return;
+            }
+            if(draining.compareAndSet(false, true)){
+                senders.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> event;
+                while(!closed.get() && (event = queue.poll()) != null){
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the container reports it to the emitter, which calls close().
+                close();
+            } finally {
+                draining.set(false);
+                // An event offered after the last poll but before draining was reset would otherwise wait.
+                if(!closed.get() && !queue.isEmpty() && draining.compareAndSet(false, true)){
+                    senders.execute(this);
+                }
+            }
+        }
+
+        private void close(){
+            if(!closed.compareAndSet(false, true)){
+                return;
+            }
+            queue.clear();
+            subscriberCount.decrementAndGet();
+            subscribers.computeIfPresent(postId, (id, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.blogify.BlogApp.service;
+
+import com.blogify.BlogApp.dto.SearchCursor;
+
+import java.util.List;
+
+// Ranks posts for GET /api/posts/search. Selected with search.engine: "postgres" (default), the tsvector
+// column and GIN index, or "embedded", an in-process BM25 index that PostServiceImpl keeps current.
+public interface PostSearch {
+    // Wrap matched words in highlights; PostServiceImpl escapes the text and only then turns them into <mark>.
+    String MATCH_START = "\u0001";
+    String MATCH_END = "\u0002";
+
+    // At most limit hits ordered by (score desc, postId desc), all after the cursor when one is given.
+    List<Hit> search(String query, SearchCursor after, int limit);
+
+    // Called once a post with this text is committed. Engines that read the table themselves ignore it.
+    default void indexPost(long postId, String title, String content) {
+    }
+
+    default void removePost(long postId) {
+    }
+
+    // titleHighlight and snippet are null when the engine has no text to highlight; the caller marks the
+    // query terms in the loaded post then.
+    record Hit(long postId, float score, String titleHighlight, String snippet) {
+    }
+}
@@ -1,9 +1,13 @@
 package com.blogify.BlogApp.service;
 
+import com.blogify.BlogApp.dto.CacheStatsDTO;
 import com.blogify.BlogApp.dto.CreatePostRequest;
+import com.blogify.BlogApp.dto.CursorPage;
 import com.blogify.BlogApp.dto.PostDTO;
+import com.blogify.BlogApp.dto.PostSearchHitDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -12,8 +16,14 @@ import java.util.List;
 public interface PostService {
     PostDTO createPost(Long userId, CreatePostRequest request, MultipartFile image);
     Page<PostDTO> getAllPosts(Pageable pageable);
+    Slice<PostDTO> getAllPostsSlice(Pageable pageable);
+    CursorPage<PostDTO> getFeed(String cursor, int size);
+    Slice<PostDTO> getTrending(int page, int size);
+    CursorPage<PostSearchHitDTO> searchPosts(String query, String cursor, int size);
     PostDTO getPostById(Long postId);
     void deletePost(Long postId);
     PostDTO updatePost(Long userId,Long postId,CreatePostRequest request,MultipartFile image);
     Page<PostDTO> getMyBlogs(Long userId, Pageable pageable);
+    Slice<PostDTO> getMyBlogsSlice(Long userId, Pageable pageable);
+    List<CacheStatsDTO> getCacheStats();
 }
@@ -0,0 +1,113 @@
+package com.blogify.BlogApp.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Tokenizer of the embedded search engine: runs of letters and digits, lower-cased, minus a short English
+// stopword list. Indexing, queries and highlighting all go through tokens() so they agree on what a word is.
+public final class TextAnalyzer {
+    static final int MAX_TOKEN_LENGTH = 64;
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "if", "in", "into", "is", "it",
+            "no", "not", "of", "on", "or", "such", "that", "the", "their", "then", "there", "these", "they",
+            "this", "to", "was", "will", "with");
+
+    private TextAnalyzer() {
+    }
+
+    // A word and where it is in the text, for highlighting.
+    public record Token(String term, int start, int end) {
+    }
+
+    // Words that must all match, and words prefixed with '-' that must not.
+    public record Query(Set<String> required, Set<String> excluded) {
+    }
+
+    public static List<Token> tokens(String text) {
+        List<Token> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(text.codePointAt(i))) {
+                i += Character.charCount(text.codePointAt(i));
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(text.codePointAt(i))) {
+                i += Character.charCount(text.codePointAt(i));
+            }
+            if (i > start && i - start <= MAX_TOKEN_LENGTH) {
+                String term = text.substring(start, i).toLowerCase(Locale.ROOT);
+                if (!STOPWORDS.contains(term)) {
+                    tokens.add(new Token(term, start, i));
+                }
+            }
+        }
+        return tokens;
+    }
+
+    public static Query parse(String query) {
+        Set<String> required = new LinkedHashSet<>();
+        Set<String> excluded = new LinkedHashSet<>();
+        for (String part : query.trim().split("\\s+")) {
+            boolean exclude = part.startsWith("-") && part.length() > 1;
+            for (Token token : tokens(exclude ? part.substring(1) : part)) {
+                (exclude ? excluded : required).add(token.term());
+            }
+        }
+        required.removeAll(excluded);
+        return new Query(required, excluded);
+    }
+
+    // The whole text with every matching word wrapped in PostSearch.MATCH_START/MATCH_END.
+    public static String mark(String text, Set<String> terms) {
+        if (text == null) {
+            return null;
+        }
+        return mark(text, tokens(text), 0, text.length(), terms);
+    }
+
+    // About maxWords words of text around the first match, with matches marked and " ... " where text was cut.
+    public static String snippet(String text, Set<String> terms, int maxWords) {
+        if (text == null) {
+            return null;
+        }
+        List<Token> tokens = tokens(text);
+        if (tokens.size() <= maxWords) {
+            return mark(text, tokens, 0, text.length(), terms);
+        }
+        int first = 0;
+        while (first < tokens.size() && !terms.contains(tokens.get(first).term())) {
+            first++;
+        }
+        if (first == tokens.size()) {
+            first = 0;
+        }
+        int from = Math.max(0, Math.min(first - maxWords / 3, tokens.size() - maxWords));
+        int to = from + maxWords;
+        int start = from == 0 ? 0 : tokens.get(from).start();
+        int end = to == tokens.size() ? text.length() : tokens.get(to - 1).end();
+        return (from == 0 ? "" : "... ") + mark(text, tokens, start, end, terms) + (end == text.length() ? "" : " ...");
+    }
+
+    private static String mark(String text, List<Token> tokens, int start, int end, Set<String> terms) {
+        StringBuilder marked = new StringBuilder(end - start + 16);
+        int position = start;
+        for (Token token : tokens) {
+            if (token.start() < start || token.end() > end || !terms.contains(token.term())) {
+                continue;
+            }
+            marked.append(text, position, token.start())
+                    .append(PostSearch.MATCH_START)
+                    .append(text, token.start(), token.end())
+                    .append(PostSearch.MATCH_END);
+            position = token.end();
+        }
+        return marked.append(text, position, end).toString();
+    }
+}
@@ -0,0 +1,50 @@
+package com.blogify.BlogApp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Revoked tokens that have not expired yet. Single tokens are kept by jti until their own expiry; "log out
+// everywhere" is one cutoff per user, kept for the longest token lifetime. Both maps therefore only hold
+// what can still be presented, and the purge keeps them that small.
+@Component
+public class TokenDenylist {
+    private final Map<String, Instant> revokedIds = new ConcurrentHashMap<>();
+    private final Map<Long, Instant> revokedBefore = new ConcurrentHashMap<>();
+    private final Duration maxTokenLifetime;
+
+    public TokenDenylist(@Value("${auth.token.refresh-ttl-seconds:604800}") long refreshTtlSeconds) {
+        this.maxTokenLifetime = Duration.ofSeconds(refreshTtlSeconds);
+    }
+
+    // True only for the call that revoked the token, so a token can be exchanged exactly once.
+    public boolean revoke(String tokenId, Instant expiresAt){
+        return expiresAt.isAfter(Instant.now()) && revokedIds.putIfAbsent(tokenId, expiresAt) == null;
+    }
+
+    // iat only has second precision, so a token issued later within the cutoff second is rejected too.
+    public void revokeAllBefore(Long userId, Instant cutoff){
+        revokedBefore.merge(userId, cutoff.truncatedTo(ChronoUnit.SECONDS), (a, b) -> a.isAfter(b) ? a : b);
+    }
+
+    public boolean isRevoked(String tokenId, Long userId, Instant issuedAt){
+        if(tokenId != null && revokedIds.containsKey(tokenId)){
+            return true;
+        }
+        Instant cutoff = userId == null ? null : revokedBefore.get(userId);
+        return cutoff != null && (issuedAt == null || !issuedAt.isAfter(cutoff));
+    }
+
+    @Scheduled(fixedDelayString = "${auth.token.denylist-purge-ms:60000}")
+    public void purge(){
+        Instant now = Instant.now();
+        revokedIds.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        revokedBefore.values().removeIf(cutoff -> !cutoff.plus(maxTokenLifetime).isAfter(now));
+    }
+}
@@ -0,0 +1,12 @@
+package com.blogify.BlogApp.service;
+
+import com.blogify.BlogApp.dto.TokenResponseDTO;
+import com.blogify.BlogApp.dto.UserResponseDTO;
+import org.springframework.stereotype.Service;
+
+@Service
+public interface TokenService {
+    TokenResponseDTO issueTokens(UserResponseDTO user);
+    TokenResponseDTO refresh(String refreshToken);
+    void revoke(String token);
+}
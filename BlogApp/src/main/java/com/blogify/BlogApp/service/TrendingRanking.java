@@ -0,0 +1,237 @@
+package com.blogify.BlogApp.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// Trending order of posts, kept in memory. Every like, unlike and comment adds its weight to the post's score,
+// and scores halve every trending.half-life-hours. Since all scores decay by the same factor, a score is stored
+// as weight * e^(lambda * (eventTime - epoch)) and never touched again until the next event: the order is the
+// same at any later time. Readers walk a skip list sorted by score without taking a lock.
+// Scores are checkpointed to posts.trending_score in one JDBC batch every trending.checkpoint-interval-ms and
+// loaded back at startup; on the very first start they are seeded from like counts and recent comments.
+@Component
+public class TrendingRanking {
+    private static final Logger log = LoggerFactory.getLogger(TrendingRanking.class);
+    private static final String CHECKPOINT_SQL = "update posts set trending_score = ?, trending_at = ? where id = ?";
+    private static final String HAS_CHECKPOINT_SQL = "select exists(select 1 from posts where trending_at is not null)";
+    private static final String LOAD_SQL = "select id, trending_score, trending_at from posts where trending_score > 0";
+    // Likes have no timestamp of their own, so a seeded like counts as given when its post was created.
+    private static final String SEED_LIKES_SQL = "select id, like_count, created_at from posts where like_count > 0 and created_at > ?";
+    private static final String SEED_COMMENTS_SQL = "select post_id, created_at from comments where created_at > ?";
+    // Events older than this many half-lives weigh less than 1/1000 of a fresh one and are not seeded.
+    private static final int SEED_HALF_LIVES = 10;
+    // The epoch is moved up before e^(lambda * age) gets anywhere near the double range.
+    private static final double MAX_EXPONENT = 300;
+    private static final Comparator<Entry> BEST_FIRST = Comparator.comparingDouble(Entry::weight).reversed()
+            .thenComparing(Comparator.comparingLong(Entry::postId).reversed());
+
+    private record Entry(long postId, double weight) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final double lambda;
+    private final double likeWeight;
+    private final double commentWeight;
+    private final double minScore;
+    private final int capacity;
+    // Guarded by this. Readers only use ranked.
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Set<Long> dirty = new HashSet<>();
+    private long epoch;
+    // An update adds the new entry before removing the old one, so a reader may see a post twice, never zero times.
+    private volatile ConcurrentSkipListSet<Entry> ranked = new ConcurrentSkipListSet<>(BEST_FIRST);
+
+    public TrendingRanking(JdbcTemplate jdbcTemplate,
+                           @Value("${trending.half-life-hours:24}") double halfLifeHours,
+                           @Value("${trending.like-weight:1}") double likeWeight,
+                           @Value("${trending.comment-weight:3}") double commentWeight,
+                           @Value("${trending.min-score:0.05}") double minScore,
+                           @Value("${trending.capacity:100000}") int capacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.lambda = Math.log(2) / (halfLifeHours * 3_600_000);
+        this.likeWeight = likeWeight;
+        this.commentWeight = commentWeight;
+        this.minScore = minScore;
+        this.capacity = capacity;
+        this.epoch = System.currentTimeMillis();
+    }
+
+    public void liked(Long postId){
+        record(postId, likeWeight);
+    }
+
+    // Takes back a like's weight as of now; a post cannot go below zero and leaves the ranking instead.
+    public void unliked(Long postId){
+        record(postId, -likeWeight);
+    }
+
+    public void commented(Long postId){
+        record(postId, commentWeight);
+    }
+
+    public synchronized void remove(Long postId){
+        Entry entry = entries.remove(postId);
+        if(entry != null){
+            ranked.remove(entry);
+            dirty.add(postId);
+        }
+    }
+
+    // Post ids from position offset on, best first.
+    public List<Long> top(int offset, int limit){
+        List<Long> ids = new ArrayList<>(limit);
+        Set<Long> seen = new HashSet<>();
+        int skipped = 0;
+        for(Entry entry : ranked){
+            if(ids.size() == limit){
+                break;
+            }
+            if(!seen.add(entry.postId())){
+                continue;
+            }
+            if(skipped < offset){
+                skipped++;
+            } else {
+                ids.add(entry.postId());
+            }
+        }
+        return ids;
+    }
+
+    // Called inside a transaction, the event only counts once that transaction commits.
+    private void record(Long postId, double weight){
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(postId, weight, System.currentTimeMillis(), true);
+                }
+            });
+        } else {
+            add(postId, weight, System.currentTimeMillis(), true);
+        }
+    }
+
+    synchronized void add(long postId, double weight, long at, boolean checkpoint){
+        if(lambda * (at - epoch) > MAX_EXPONENT){
+            rebase(at);
+        }
+        Entry old = entries.get(postId);
+        double updated = (old == null ? 0 : old.weight()) + weight * Math.exp(lambda * (at - epoch));
+        Entry entry = updated > minScore * Math.exp(lambda * (at - epoch)) ? new Entry(postId, updated) : null;
+        if(entry != null){
+            ranked.add(entry);
+            entries.put(postId, entry);
+        } else {
+            entries.remove(postId);
+        }
+        // An event too small to change the weight leaves an entry equal to the old one, which must stay.
+        if(old != null && (entry == null || BEST_FIRST.compare(old, entry) != 0)){
+            ranked.remove(old);
+        }
+        if(checkpoint){
+            dirty.add(postId);
+        }
+        // Full: the post with the lowest score goes.
+        while(entries.size() > capacity){
+            Entry last = ranked.pollLast();
+            entries.remove(last.postId(), last);
+            dirty.add(last.postId());
+        }
+    }
+
+    // Score as of time at, in like-weights; 0 for a post that is not ranked.
+    synchronized double score(long postId, long at){
+        Entry entry = entries.get(postId);
+        return entry == null ? 0 : entry.weight() * Math.exp(-lambda * (at - epoch));
+    }
+
+    // Moves the epoch to at by rescaling every weight by the same factor, which keeps the order.
+    private void rebase(long at){
+        double factor = Math.exp(-lambda * (at - epoch));
+        ConcurrentSkipListSet<Entry> rescaled = new ConcurrentSkipListSet<>(BEST_FIRST);
+        entries.replaceAll((postId, entry) -> {
+            Entry scaled = new Entry(postId, entry.weight() * factor);
+            rescaled.add(scaled);
+            return scaled;
+        });
+        ranked = rescaled;
+        epoch = at;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load(){
+        long now = System.currentTimeMillis();
+        if(Boolean.TRUE.equals(jdbcTemplate.queryForObject(HAS_CHECKPOINT_SQL, Boolean.class))){
+            jdbcTemplate.query(LOAD_SQL, rs -> {
+                long age = now - rs.getTimestamp(3).getTime();
+                add(rs.getLong(1), rs.getDouble(2) * Math.exp(-lambda * age), now, false);
+            });
+            log.info("Loaded {} trending scores", size());
+            return;
+        }
+        // Seeded scores are checkpointed, so this only happens once.
+        Timestamp since = new Timestamp(now - (long) (SEED_HALF_LIVES * Math.log(2) / lambda));
+        jdbcTemplate.query(SEED_LIKES_SQL, rs -> add(rs.getLong(1), rs.getLong(2) * likeWeight, rs.getTimestamp(3).getTime(), true), since);
+        jdbcTemplate.query(SEED_COMMENTS_SQL, rs -> add(rs.getLong(1), commentWeight, rs.getTimestamp(2).getTime(), true), since);
+        log.info("Seeded {} trending scores", size());
+    }
+
+    // Writes the posts whose score changed since the last checkpoint, decayed to now; 0 for posts that left
+    // the ranking. Posts that decayed below trending.min-score are dropped here as well.
+    @Scheduled(fixedDelayString = "${trending.checkpoint-interval-ms:60000}")
+    @PreDestroy
+    public void checkpoint(){
+        long now = System.currentTimeMillis();
+        List<Object[]> batch = new ArrayList<>();
+        Timestamp at = new Timestamp(now);
+        synchronized (this) {
+            double threshold = minScore * Math.exp(lambda * (now - epoch));
+            for(Entry last = lastOrNull(); last != null && last.weight() <= threshold; last = lastOrNull()){
+                ranked.remove(last);
+                entries.remove(last.postId(), last);
+                dirty.add(last.postId());
+            }
+            dirty.forEach(postId -> batch.add(new Object[]{score(postId, now), at, postId}));
+            dirty.clear();
+        }
+        if(batch.isEmpty()){
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(CHECKPOINT_SQL, batch);
+        } catch (RuntimeException e) {
+            // Mark them again so the next checkpoint retries them.
+            synchronized (this) {
+                batch.forEach(row -> dirty.add((Long) row[2]));
+            }
+            log.warn("Checkpointing {} trending scores failed, will retry", batch.size(), e);
+        }
+    }
+
+    public synchronized int size(){
+        return entries.size();
+    }
+
+    private Entry lastOrNull(){
+        return ranked.isEmpty() ? null : ranked.last();
+    }
+}
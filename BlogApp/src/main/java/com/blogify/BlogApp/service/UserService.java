@@ -5,6 +5,7 @@ import com.blogify.BlogApp.dto.UserDTO;
 import com.blogify.BlogApp.dto.UserResponseDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -16,6 +17,7 @@ public interface UserService {
     UserResponseDTO updateUser(Long id, CreateUpdateProfileRequest request, MultipartFile image);
     void deleteUser(Long id);
     Page<UserDTO> getAllUsers(Pageable pageable);
+    Slice<UserDTO> getAllUsersSlice(Pageable pageable);
     UserDTO getUserById(Long userId);
     UserResponseDTO login(String email, String password);
 }
@@ -0,0 +1,38 @@
+package com.blogify.BlogApp.service.impl;
+
+import com.blogify.BlogApp.exception.ResourceNotFoundException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+// Shared by the bulk imports of comments and likes: rows are checked up front, then written in chunks.
+final class BulkImports {
+    // Rows per chunk and per transaction; the same as hibernate.jdbc.batch_size, so a chunk of inserts is one batch.
+    static final int BATCH_SIZE = 500;
+
+    private BulkImports() {
+    }
+
+    static <T> List<List<T>> chunks(List<T> rows){
+        List<List<T>> chunks = new ArrayList<>((rows.size() + BATCH_SIZE - 1) / BATCH_SIZE);
+        for(int from = 0; from < rows.size(); from += BATCH_SIZE){
+            chunks.add(rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+        return chunks;
+    }
+
+    // Fails unless every id is found by lookup, which is asked BATCH_SIZE ids at a time.
+    static void requireExisting(Set<Long> ids, Function<Collection<Long>, List<Long>> lookup, String message){
+        Set<Long> found = new HashSet<>(ids.size() * 2);
+        for(List<Long> chunk : chunks(new ArrayList<>(ids))){
+            found.addAll(lookup.apply(chunk));
+        }
+        if(found.size() < ids.size()){
+            throw new ResourceNotFoundException(message);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.blogify.BlogApp.service.impl;
+
+import com.blogify.BlogApp.service.ImageStore;
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+@Service
+@ConditionalOnProperty(name = "images.store", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryImageStore implements ImageStore {
+    private final Cloudinary cloudinary;
+
+    public CloudinaryImageStore(Cloudinary cloudinary) {
+        this.cloudinary = cloudinary;
+    }
+
+    // Passing the File lets the SDK stream it from disk.
+    @Override
+    public String store(Path file, String folder) throws IOException {
+        Map uploadResult = cloudinary.uploader().upload(file.toFile(), ObjectUtils.asMap("folder", folder));
+        return (String) uploadResult.get("secure_url");
+    }
+
+    @Override
+    public void delete(String url) throws IOException {
+        String publicId = publicId(url);
+        if(publicId != null){
+            cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
+        }
+    }
+
+    // https://res.cloudinary.com/<cloud>/image/upload/v<version>/<folder>/<name>.<ext> -> <folder>/<name>
+    static String publicId(String url){
+        int upload = url == null ? -1 : url.indexOf("/upload/");
+        if(upload < 0){
+            return null;
+        }
+        String path = url.substring(upload + "/upload/".length());
+        if(path.matches("v\\d+/.*")){
+            path = path.substring(path.indexOf('/') + 1);
+        }
+        int dot = path.lastIndexOf('.');
+        return dot > 0 ? path.substring(0, dot) : path;
+    }
+}
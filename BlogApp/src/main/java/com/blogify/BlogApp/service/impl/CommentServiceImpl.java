@@ -2,53 +2,284 @@ package com.blogify.BlogApp.service.impl;
 
 import com.blogify.BlogApp.dto.CommentDTO;
 import com.blogify.BlogApp.dto.CreateCommentRequest;
+import com.blogify.BlogApp.dto.CursorPage;
+import com.blogify.BlogApp.dto.ImportCommentRequest;
+import com.blogify.BlogApp.dto.SeekCursor;
 import com.blogify.BlogApp.entity.Comment;
 import com.blogify.BlogApp.entity.Post;
 import com.blogify.BlogApp.entity.User;
+import com.blogify.BlogApp.exception.BadRequestException;
 import com.blogify.BlogApp.exception.ResourceNotFoundException;
 import com.blogify.BlogApp.repository.CommentRepository;
 import com.blogify.BlogApp.repository.PostRepository;
 import com.blogify.BlogApp.repository.UserRepository;
 import com.blogify.BlogApp.service.CommentService;
+import com.blogify.BlogApp.service.CommentTree;
+import com.blogify.BlogApp.service.PostEventBus;
+import com.blogify.BlogApp.service.TrendingRanking;
 import org.modelmapper.ModelMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class CommentServiceImpl implements CommentService {
+    private static final Logger log = LoggerFactory.getLogger(CommentServiceImpl.class);
+    private static final int MAX_STREAM_PAGE = 100;
+    private static final int MAX_THREADS_PAGE = 50;
+    private static final int MAX_REPLIES_PER_THREAD = 20;
+    // A larger subtree is cut off depth first, so every comment returned still hangs under its parent.
+    private static final int MAX_THREAD_SIZE = 1000;
+
     private final CommentRepository commentRepository;
     private final UserRepository userRepository;
     private final PostRepository postRepository;
     private final ModelMapper modelMapper;
+    private final TrendingRanking trendingRanking;
+    private final TransactionTemplate transactionTemplate;
+    private final PostEventBus postEventBus;
 
-    public CommentServiceImpl(CommentRepository commentRepository, UserRepository userRepository, PostRepository postRepository, ModelMapper modelMapper) {
+    public CommentServiceImpl(CommentRepository commentRepository, UserRepository userRepository, PostRepository postRepository, ModelMapper modelMapper, TrendingRanking trendingRanking, TransactionTemplate transactionTemplate, PostEventBus postEventBus) {
         this.commentRepository = commentRepository;
         this.userRepository = userRepository;
         this.postRepository = postRepository;
         this.modelMapper = modelMapper;
+        this.trendingRanking = trendingRanking;
+        this.transactionTemplate = transactionTemplate;
+        this.postEventBus = postEventBus;
     }
 
     @Override
     public CommentDTO addComment(Long userId, Long postId, CreateCommentRequest request){
-        User user = userRepository.findById(userId).orElseThrow(()-> new ResourceNotFoundException("User not found."));
-        Post post = postRepository.findById(postId).orElseThrow(()->new ResourceNotFoundException("Post not found."));
+        Comment saved = transactionTemplate.execute(status -> {
+            User user = userRepository.findById(userId).orElseThrow(()-> new ResourceNotFoundException("User not found."));
+            Post post = postRepository.findById(postId).orElseThrow(()->new ResourceNotFoundException("Post not found."));
+            String parentPath = null;
+            if(request.getParentId() != null){
+                parentPath = commentRepository.findPathByIdAndPostId(request.getParentId(), postId)
+                        .orElseThrow(()->new ResourceNotFoundException("Parent comment not found."));
+                if(CommentTree.depth(parentPath) >= CommentTree.MAX_DEPTH){
+                    throw new BadRequestException("Replies cannot be nested more than " + CommentTree.MAX_DEPTH + " levels deep.");
+                }
+            }
 
-        Comment comment = new Comment();
-        comment.setContent(request.getContent());
-        comment.setUser(user);
-        comment.setPost(post);
+            Comment comment = new Comment();
+            comment.setContent(request.getContent());
+            comment.setUser(user);
+            comment.setPost(post);
+            comment.setParentId(request.getParentId());
 
-        Comment saved = commentRepository.save(comment);
-        return mapCommentToDto(saved);
+            // The path ends with the comment's own id, which persist takes from the sequence; the entity is still
+            // managed, so the path goes out as an update right after the insert at commit.
+            Comment inserted = commentRepository.save(comment);
+            inserted.setPath(CommentTree.childPath(parentPath, inserted.getId()));
+            return inserted;
+        });
+        trendingRanking.commented(postId);
+        CommentDTO dto = mapCommentToDto(modelMapper, saved);
+        postEventBus.commentAdded(dto);
+        return dto;
     }
 
     @Override
     public Page<CommentDTO> getCommentsByPost(Long postId, Pageable pageable){
-        return commentRepository.findByPostId(postId,pageable).map(this::mapCommentToDto);
+        return commentRepository.findCommentPageByPostId(postId,pageable);
+    }
+
+    @Override
+    public Slice<CommentDTO> getCommentsByPostSlice(Long postId, Pageable pageable){
+        return commentRepository.findCommentSliceByPostId(postId,pageable);
+    }
+
+    // Business logic for the comment stream: the same seek as the post feed, on (createdAt, id) within one post.
+    // An unknown post just has no comments; checking would cost a lookup of the post.
+    @Override
+    public CursorPage<CommentDTO> getCommentStream(Long postId, String cursor, int size){
+        if(size < 1 || size > MAX_STREAM_PAGE){
+            throw new BadRequestException("Page size must be between 1 and " + MAX_STREAM_PAGE + ".");
+        }
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<CommentDTO> comments;
+        if(cursor == null || cursor.isEmpty()){
+            comments = commentRepository.findCommentStreamFirst(postId, limit);
+        } else {
+            SeekCursor after = SeekCursor.decode(cursor);
+            comments = commentRepository.findCommentStreamAfter(postId, after.createdAt(), after.id(), limit);
+        }
+
+        boolean hasNext = comments.size() > size;
+        String nextCursor = null;
+        if(hasNext){
+            comments = comments.subList(0, size);
+            CommentDTO last = comments.get(comments.size() - 1);
+            nextCursor = new SeekCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(comments, nextCursor, hasNext);
+    }
+
+    // Business logic for one thread: the comment and all its replies from a single range scan of
+    // idx_comments_post_path, linked into a tree in one pass.
+    @Override
+    public CommentDTO getThread(Long postId, Long commentId){
+        String path = commentRepository.findPathByIdAndPostId(commentId, postId)
+                .orElseThrow(()->new ResourceNotFoundException("Comment not found."));
+        List<CommentDTO> rows = commentRepository.findSubtree(postId, path, CommentTree.subtreeEnd(path), PageRequest.of(0, MAX_THREAD_SIZE));
+        return CommentTree.assemble(rows).get(0);
+    }
+
+    // Business logic for thread listings: a page of top-level comments newest first, seeking past the last id
+    // seen, each with its first replies depth first. The replies of the whole page come from one range scan,
+    // since the roots of a page are consecutive in path order.
+    @Override
+    public CursorPage<CommentDTO> getThreads(Long postId, String cursor, int size, int replies){
+        if(size < 1 || size > MAX_THREADS_PAGE){
+            throw new BadRequestException("Page size must be between 1 and " + MAX_THREADS_PAGE + ".");
+        }
+        if(replies < 0 || replies > MAX_REPLIES_PER_THREAD){
+            throw new BadRequestException("Replies per thread must be between 0 and " + MAX_REPLIES_PER_THREAD + ".");
+        }
+        long beforeId = Long.MAX_VALUE;
+        if(cursor != null && !cursor.isEmpty()){
+            try {
+                beforeId = Long.parseLong(cursor);
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Invalid cursor.");
+            }
+        }
+        List<CommentDTO> roots = commentRepository.findRootsBefore(postId, beforeId, PageRequest.of(0, size + 1));
+        boolean hasNext = roots.size() > size;
+        if(hasNext){
+            roots = roots.subList(0, size);
+        }
+        if(roots.isEmpty()){
+            return new CursorPage<>(roots, null, false);
+        }
+
+        // Newest first, so the last root has the lowest path and the first one the highest.
+        List<CommentDTO> rows = new ArrayList<>(roots);
+        if(replies > 0){
+            String from = CommentTree.segment(roots.get(roots.size() - 1).getId());
+            String to = CommentTree.subtreeEnd(CommentTree.segment(roots.get(0).getId()));
+            for(Object[] row : commentRepository.findTopReplies(postId, from, to, replies)){
+                rows.add(toCommentDTO(row));
+            }
+        }
+        CommentTree.assemble(rows);
+        String nextCursor = hasNext ? String.valueOf(roots.get(roots.size() - 1).getId()) : null;
+        return new CursorPage<>(roots, nextCursor, hasNext);
+    }
+
+    // Business logic for bulk imports: every row is checked first, so a bad row fails the import before anything
+    // is written. Then each chunk of BulkImports.BATCH_SIZE rows is one transaction: ids come from the pooled
+    // sequence without a round trip per row, and the inserts and the path updates each go out as one JDBC
+    // batch at commit. Imported comments keep their createdAt; they do not count towards trending and are not
+    // pushed to post event subscribers.
+    @Override
+    public int importComments(List<ImportCommentRequest> comments){
+        if(comments == null || comments.isEmpty()){
+            return 0;
+        }
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> postIds = new HashSet<>();
+        Set<Long> parentIds = new HashSet<>();
+        for(ImportCommentRequest row : comments){
+            if(row.getUserId() == null || row.getPostId() == null){
+                throw new BadRequestException("Every imported comment needs a user and a post.");
+            }
+            if(row.getContent() == null || row.getContent().isBlank()){
+                throw new BadRequestException("Imported comments cannot be blank.");
+            }
+            userIds.add(row.getUserId());
+            postIds.add(row.getPostId());
+            if(row.getParentId() != null){
+                parentIds.add(row.getParentId());
+            }
+        }
+        BulkImports.requireExisting(userIds, userRepository::findExistingIds, "User not found.");
+        BulkImports.requireExisting(postIds, postRepository::findExistingIds, "Post not found.");
+
+        // Parent id -> (post id, path).
+        Map<Long, Object[]> parents = new HashMap<>();
+        for(List<Long> chunk : BulkImports.chunks(new ArrayList<>(parentIds))){
+            for(Object[] row : commentRepository.findThreadPositions(chunk)){
+                parents.put(((Number) row[0]).longValue(), row);
+            }
+        }
+        for(ImportCommentRequest row : comments){
+            if(row.getParentId() == null){
+                continue;
+            }
+            Object[] parent = parents.get(row.getParentId());
+            if(parent == null || !row.getPostId().equals(((Number) parent[1]).longValue())){
+                throw new ResourceNotFoundException("Parent comment not found.");
+            }
+            if(CommentTree.depth((String) parent[2]) >= CommentTree.MAX_DEPTH){
+                throw new BadRequestException("Replies cannot be nested more than " + CommentTree.MAX_DEPTH + " levels deep.");
+            }
+        }
+
+        for(List<ImportCommentRequest> chunk : BulkImports.chunks(comments)){
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Comment> batch = new ArrayList<>(chunk.size());
+                for(ImportCommentRequest row : chunk){
+                    Comment comment = new Comment();
+                    comment.setContent(row.getContent());
+                    // References only: the rows were checked above, so no user or post is loaded.
+                    comment.setUser(userRepository.getReferenceById(row.getUserId()));
+                    comment.setPost(postRepository.getReferenceById(row.getPostId()));
+                    comment.setParentId(row.getParentId());
+                    if(row.getCreatedAt() != null){
+                        comment.setCreatedAt(row.getCreatedAt());
+                    }
+                    batch.add(comment);
+                }
+                commentRepository.saveAll(batch);
+                for(Comment comment : batch){
+                    String parentPath = comment.getParentId() == null ? null : (String) parents.get(comment.getParentId())[2];
+                    comment.setPath(CommentTree.childPath(parentPath, comment.getId()));
+                }
+            });
+        }
+        return comments.size();
+    }
+
+    // Comments written before threads existed get a top-level path; a no-op once done.
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillPaths(){
+        int updated = commentRepository.backfillRootPaths();
+        if(updated > 0){
+            log.info("Backfilled thread paths of {} comments", updated);
+        }
+    }
+
+    private static CommentDTO toCommentDTO(Object[] row){
+        LocalDateTime createdAt = row[2] instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) row[2];
+        return new CommentDTO(((Number) row[0]).longValue(), (String) row[1], createdAt, toLong(row[3]),
+                toLong(row[4]), (String) row[5], toLong(row[6]));
+    }
+
+    private static Long toLong(Object value){
+        return value == null ? null : ((Number) value).longValue();
     }
 
-    private CommentDTO mapCommentToDto(Comment com){
+    // Static and package-private so DtoMappingBenchmark can measure it without building the service.
+    static CommentDTO mapCommentToDto(ModelMapper modelMapper, Comment com){
         CommentDTO dto = modelMapper.map(com,CommentDTO.class);
         if(com.getUser() != null){
             dto.setUserId(com.getUser().getId());
@@ -0,0 +1,58 @@
+package com.blogify.BlogApp.service.impl;
+
+import com.blogify.BlogApp.dto.TotalCountDTO;
+import com.blogify.BlogApp.repository.CommentRepository;
+import com.blogify.BlogApp.repository.PostRepository;
+import com.blogify.BlogApp.repository.UserRepository;
+import com.blogify.BlogApp.service.CountService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.LongSupplier;
+
+// Totals for the few screens that need them. The slice endpoints skip count(*), so the count is
+// run here at most once per key per TTL and may be up to that many seconds stale. Per-post keys are
+// unbounded, so the least used ones are evicted past counts.cache-max-entries.
+@Service
+public class CountServiceImpl implements CountService {
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final UserRepository userRepository;
+    private final Cache<String, TotalCountDTO> cache;
+
+    public CountServiceImpl(PostRepository postRepository, CommentRepository commentRepository, UserRepository userRepository,
+                            @Value("${counts.cache-ttl-seconds:60}") long ttlSeconds,
+                            @Value("${counts.cache-max-entries:10000}") long maxEntries) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    @Override
+    public TotalCountDTO countPosts(){
+        return cached("posts", postRepository::count);
+    }
+
+    @Override
+    public TotalCountDTO countCommentsByPost(Long postId){
+        return cached("comments:" + postId, () -> commentRepository.countByPostId(postId));
+    }
+
+    @Override
+    public TotalCountDTO countUsers(){
+        return cached("users", userRepository::count);
+    }
+
+    // Concurrent misses on one key share a single count.
+    private TotalCountDTO cached(String key, LongSupplier counter){
+        return cache.get(key, k -> new TotalCountDTO(counter.getAsLong(), LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,530 @@
+package com.blogify.BlogApp.service.impl;
+
+import com.blogify.BlogApp.dto.SearchCursor;
+import com.blogify.BlogApp.repository.PostRepository;
+import com.blogify.BlogApp.service.PostSearch;
+import com.blogify.BlogApp.service.TextAnalyzer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-process inverted index over post titles and contents with BM25F ranking (title matches weigh double).
+// Writes land in an IndexBuffer and a write-ahead log; every search.embedded.flush-interval-ms, or once the
+// buffer holds max-buffered-docs posts, the buffer becomes an immutable memory-mapped IndexSegment and the
+// log is truncated. When there are more than merge-factor segments the smallest are merged into one.
+// The "segments" commit file names the live segments, so a restart maps them and replays the log instead of
+// reading the posts table; the table is only scanned when the directory holds no index yet.
+@Service
+@ConditionalOnProperty(name = "search.engine", havingValue = "embedded")
+public class EmbeddedPostSearch implements PostSearch {
+    private static final Logger log = LoggerFactory.getLogger(EmbeddedPostSearch.class);
+    static final Comparator<Hit> BEST_FIRST = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparing(Comparator.comparingLong(Hit::postId).reversed());
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double TITLE_BOOST = 2.0;
+    private static final String COMMIT = "segments";
+    private static final String WAL = "wal.log";
+    private static final byte INDEX = 1;
+    private static final byte REMOVE = 2;
+    private static final int BOOTSTRAP_PAGE = 1000;
+
+    private final PostRepository postRepository;
+    private final Path dir;
+    private final int maxBufferedDocs;
+    private final int mergeFactor;
+    private final int maxMergedDocs;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong nextGeneration = new AtomicLong();
+    // Guarded by lock: read for searches, write for everything that changes the index.
+    private List<IndexSegment> segments = new ArrayList<>();
+    private IndexBuffer buffer = new IndexBuffer();
+    private DataOutputStream wal;
+    private boolean uncommitted;
+    private boolean bootstrapping;
+    // Posts indexed or removed through the callbacks during the first build; the build skips them, since
+    // its rows may be older.
+    private final Set<Long> changedDuringBootstrap = new HashSet<>();
+
+    public EmbeddedPostSearch(PostRepository postRepository,
+                              @Value("${search.embedded.dir:./data/search}") String dir,
+                              @Value("${search.embedded.max-buffered-docs:10000}") int maxBufferedDocs,
+                              @Value("${search.embedded.merge-factor:10}") int mergeFactor,
+                              @Value("${search.embedded.max-merged-docs:2000000}") int maxMergedDocs) throws IOException {
+        this.postRepository = postRepository;
+        this.dir = Files.createDirectories(Path.of(dir));
+        this.maxBufferedDocs = maxBufferedDocs;
+        this.mergeFactor = mergeFactor;
+        this.maxMergedDocs = maxMergedDocs;
+        open();
+    }
+
+    private void open() throws IOException {
+        Path commit = dir.resolve(COMMIT);
+        Set<String> live = new HashSet<>();
+        if (Files.exists(commit)) {
+            try (DataInputStream in = new DataInputStream(Files.newInputStream(commit))) {
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    String name = in.readUTF();
+                    segments.add(IndexSegment.open(dir, name));
+                    live.add(name);
+                }
+                nextGeneration.set(in.readLong());
+            }
+            replayWal();
+        } else {
+            bootstrapping = true;
+            Files.deleteIfExists(dir.resolve(WAL));
+        }
+        // Leftovers of a crash: unfinished files and segments that never made it into a commit.
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.{idx,del,tmp}")) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                if (fileName.endsWith(".tmp") || !live.contains(fileName.substring(0, fileName.lastIndexOf('.')))) {
+                    Files.delete(file);
+                }
+            }
+        }
+        wal = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(dir.resolve(WAL),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+        // Commit what was replayed right away; this also drops a record left half-written by a crash,
+        // which new records must not be appended behind.
+        if (!bootstrapping && Files.size(dir.resolve(WAL)) > 0) {
+            uncommitted = true;
+            flushLocked();
+        }
+    }
+
+    // Log records written after the last commit. A record cut short by a crash ends the replay.
+    private void replayWal() throws IOException {
+        Path file = dir.resolve(WAL);
+        if (!Files.exists(file)) {
+            return;
+        }
+        int replayed = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                byte op = in.readByte();
+                long postId = in.readLong();
+                if (op == INDEX) {
+                    apply(postId, readString(in), readString(in));
+                } else {
+                    apply(postId, null, null);
+                }
+                replayed++;
+            }
+        } catch (EOFException e) {
+            // End of the log.
+        }
+        if (replayed > 0) {
+            log.info("Replayed {} search index log records", replayed);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        if (!bootstrapping) {
+            return;
+        }
+        long lastId = 0;
+        int indexed = 0;
+        List<Object[]> page;
+        do {
+            page = postRepository.findSearchDocumentsAfter(lastId, PageRequest.of(0, BOOTSTRAP_PAGE));
+            lock.writeLock().lock();
+            try {
+                for (Object[] row : page) {
+                    long postId = ((Number) row[0]).longValue();
+                    if (!changedDuringBootstrap.contains(postId)) {
+                        apply(postId, (String) row[1], (String) row[2]);
+                        indexed++;
+                    }
+                    lastId = postId;
+                }
+                if (buffer.docCount() >= maxBufferedDocs) {
+                    flushLocked();
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Building the search index failed", e);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } while (page.size() == BOOTSTRAP_PAGE);
+
+        lock.writeLock().lock();
+        try {
+            bootstrapping = false;
+            changedDuringBootstrap.clear();
+            uncommitted = true;
+            flushLocked();
+        } catch (IOException e) {
+            throw new IllegalStateException("Building the search index failed", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Built the search index from {} posts", indexed);
+    }
+
+    @Override
+    public void indexPost(long postId, String title, String content) {
+        change(postId, title, content == null ? "" : content);
+    }
+
+    @Override
+    public void removePost(long postId) {
+        change(postId, null, null);
+    }
+
+    // title == null removes the post.
+    private void change(long postId, String title, String content) {
+        lock.writeLock().lock();
+        try {
+            if (bootstrapping) {
+                changedDuringBootstrap.add(postId);
+            }
+            apply(postId, title, content);
+            try {
+                wal.writeByte(title == null ? REMOVE : INDEX);
+                wal.writeLong(postId);
+                if (title != null) {
+                    writeString(title);
+                    writeString(content);
+                }
+                wal.flush();
+            } catch (IOException e) {
+                // The change is searchable; it is only lost if the process stops before the next flush.
+                log.warn("Could not log search index change for post {}", postId, e);
+            }
+            if (buffer.docCount() >= maxBufferedDocs) {
+                flushLocked();
+            }
+        } catch (IOException e) {
+            log.warn("Flushing the search index failed", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Leaves at most one live doc per post: the new one in the buffer, or none.
+    private void apply(long postId, String title, String content) {
+        for (IndexSegment segment : segments) {
+            segment.delete(postId);
+        }
+        if (title == null) {
+            buffer.delete(postId);
+        } else {
+            buffer.add(postId, title, content);
+        }
+        uncommitted = true;
+    }
+
+    @Override
+    public List<Hit> search(String query, SearchCursor after, int limit) {
+        TextAnalyzer.Query parsed = TextAnalyzer.parse(query);
+        if (parsed.required().isEmpty()) {
+            return List.of();
+        }
+        String[] required = parsed.required().toArray(String[]::new);
+        String[] excluded = parsed.excluded().toArray(String[]::new);
+        lock.readLock().lock();
+        try {
+            List<IndexReader> readers = new ArrayList<>(segments);
+            readers.add(buffer);
+            long docs = 0;
+            long titleLengths = 0;
+            long contentLengths = 0;
+            for (IndexReader reader : readers) {
+                docs += reader.docCount();
+                titleLengths += reader.titleLengthSum();
+                contentLengths += reader.contentLengthSum();
+            }
+            double[] idf = new double[required.length];
+            for (int i = 0; i < required.length; i++) {
+                long docFreq = 0;
+                for (IndexReader reader : readers) {
+                    docFreq += reader.docFreq(required[i]);
+                }
+                if (docFreq == 0) {
+                    return List.of();
+                }
+                idf[i] = Math.log(1 + (docs - docFreq + 0.5) / (docFreq + 0.5));
+            }
+            Ranking ranking = new Ranking(idf, Math.max(1.0, (double) titleLengths / docs),
+                    Math.max(1.0, (double) contentLengths / docs), after, limit);
+            for (IndexReader reader : readers) {
+                collect(reader, required, excluded, ranking);
+            }
+            return ranking.hits();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Docs that have every required term and no excluded one. The cursor with the fewest postings leads and
+    // the others skip ahead to its doc.
+    private static void collect(IndexReader reader, String[] required, String[] excluded, Ranking ranking) {
+        PostingsCursor[] cursors = new PostingsCursor[required.length];
+        int lead = 0;
+        for (int i = 0; i < required.length; i++) {
+            cursors[i] = reader.postings(required[i]);
+            if (cursors[i] == null) {
+                return;
+            }
+            if (reader.docFreq(required[i]) < reader.docFreq(required[lead])) {
+                lead = i;
+            }
+        }
+        List<PostingsCursor> exclusions = new ArrayList<>();
+        for (String term : excluded) {
+            PostingsCursor cursor = reader.postings(term);
+            if (cursor != null) {
+                exclusions.add(cursor);
+            }
+        }
+
+        int doc = cursors[lead].nextDoc();
+        candidates:
+        while (doc != PostingsCursor.NO_MORE_DOCS) {
+            for (int i = 0; i < cursors.length; i++) {
+                if (i == lead) {
+                    continue;
+                }
+                int other = cursors[i].advance(doc);
+                if (other == PostingsCursor.NO_MORE_DOCS) {
+                    return;
+                }
+                if (other != doc) {
+                    doc = cursors[lead].advance(other);
+                    continue candidates;
+                }
+            }
+            if (!reader.isDeleted(doc) && !excluded(exclusions, doc)) {
+                ranking.offer(reader, doc, cursors);
+            }
+            doc = cursors[lead].nextDoc();
+        }
+    }
+
+    private static boolean excluded(List<PostingsCursor> exclusions, int doc) {
+        for (PostingsCursor cursor : exclusions) {
+            if (cursor.advance(doc) == doc) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Keeps the best limit hits after the cursor in a heap whose head is the worst of them.
+    private static final class Ranking {
+        private final double[] idf;
+        private final double averageTitleLength;
+        private final double averageContentLength;
+        private final SearchCursor after;
+        private final int limit;
+        private final PriorityQueue<Hit> top;
+
+        private Ranking(double[] idf, double averageTitleLength, double averageContentLength, SearchCursor after, int limit) {
+            this.idf = idf;
+            this.averageTitleLength = averageTitleLength;
+            this.averageContentLength = averageContentLength;
+            this.after = after;
+            this.limit = limit;
+            this.top = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        }
+
+        // BM25F: per-field length-normalised term frequencies are summed before saturation.
+        private void offer(IndexReader reader, int doc, PostingsCursor[] cursors) {
+            double titleNorm = 1 - B + B * reader.titleLength(doc) / averageTitleLength;
+            double contentNorm = 1 - B + B * reader.contentLength(doc) / averageContentLength;
+            double sum = 0;
+            for (int i = 0; i < cursors.length; i++) {
+                double tf = TITLE_BOOST * cursors[i].titleTf / titleNorm + cursors[i].contentTf / contentNorm;
+                sum += idf[i] * tf * (K1 + 1) / (tf + K1);
+            }
+            float score = (float) sum;
+            long postId = reader.postId(doc);
+            if (after != null && !(score < after.score() || score == after.score() && postId < after.id())) {
+                return;
+            }
+            Hit hit = new Hit(postId, score, null, null);
+            if (top.size() < limit) {
+                top.add(hit);
+            } else if (BEST_FIRST.compare(hit, top.peek()) < 0) {
+                top.poll();
+                top.add(hit);
+            }
+        }
+
+        private List<Hit> hits() {
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(BEST_FIRST);
+            return hits;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.embedded.flush-interval-ms:5000}")
+    public void maintain() {
+        flush();
+        merge();
+    }
+
+    public void flush() {
+        lock.writeLock().lock();
+        try {
+            flushLocked();
+        } catch (IOException e) {
+            log.warn("Flushing the search index failed", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Order matters for crash safety: new segment, then deletions, then the commit, then the log truncation.
+    // A crash before the commit replays the whole log again, and replaying is idempotent.
+    private void flushLocked() throws IOException {
+        if (!uncommitted) {
+            return;
+        }
+        String name = "seg-" + nextGeneration.getAndIncrement();
+        if (buffer.flush(dir, name)) {
+            List<IndexSegment> updated = new ArrayList<>(segments);
+            updated.add(IndexSegment.open(dir, name));
+            segments = updated;
+        }
+        buffer = new IndexBuffer();
+        for (IndexSegment segment : segments) {
+            segment.writeDeletions(dir);
+        }
+        if (!bootstrapping) {
+            writeCommit();
+            wal.close();
+            wal = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(dir.resolve(WAL),
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)));
+            uncommitted = false;
+        }
+    }
+
+    // Merges the smallest segments while searches and writes go on; only the swap takes the write lock.
+    // Deletions made during the merge are carried over to the merged segment then.
+    synchronized void merge() {
+        List<IndexSegment> sources;
+        List<BitSet> deletedAtStart = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (segments.size() <= mergeFactor) {
+                return;
+            }
+            sources = segments.stream()
+                    .filter(segment -> segment.liveDocCount() < maxMergedDocs)
+                    .sorted(Comparator.comparingInt(IndexSegment::liveDocCount))
+                    .limit(mergeFactor)
+                    .toList();
+            sources.forEach(segment -> deletedAtStart.add(segment.deletedSnapshot()));
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (sources.size() < 2) {
+            return;
+        }
+
+        String name = "seg-" + nextGeneration.getAndIncrement();
+        IndexSegment merged;
+        try {
+            IndexSegment.merge(dir, name, sources, deletedAtStart);
+            merged = IndexSegment.open(dir, name);
+        } catch (IOException e) {
+            log.warn("Merging search index segments failed", e);
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < sources.size(); i++) {
+                BitSet deletedDuringMerge = sources.get(i).deletedSnapshot();
+                deletedDuringMerge.andNot(deletedAtStart.get(i));
+                for (int doc = deletedDuringMerge.nextSetBit(0); doc >= 0; doc = deletedDuringMerge.nextSetBit(doc + 1)) {
+                    merged.delete(sources.get(i).postId(doc));
+                }
+            }
+            List<IndexSegment> updated = new ArrayList<>(segments);
+            updated.removeAll(sources);
+            updated.add(merged);
+            segments = updated;
+            merged.writeDeletions(dir);
+            if (!bootstrapping) {
+                writeCommit();
+            }
+            for (IndexSegment source : sources) {
+                source.deleteFiles(dir);
+            }
+        } catch (IOException e) {
+            log.warn("Committing merged search index segment {} failed", name, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void writeCommit() throws IOException {
+        Path temp = dir.resolve(COMMIT + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(segments.size());
+            for (IndexSegment segment : segments) {
+                out.writeUTF(segment.name());
+            }
+            out.writeLong(nextGeneration.get());
+        }
+        Files.move(temp, dir.resolve(COMMIT), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        wal.writeInt(bytes.length);
+        wal.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        flush();
+        lock.writeLock().lock();
+        try {
+            wal.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.blogify.BlogApp.service.impl;
+
+import com.blogify.BlogApp.dto.CursorPage;
+import com.blogify.BlogApp.dto.PostDTO;
+import com.blogify.BlogApp.exception.BadRequestException;
+import com.blogify.BlogApp.exception.ResourceNotFoundException;
+import com.blogify.BlogApp.repository.FollowRepository;
+import com.blogify.BlogApp.repository.PostRepository;
+import com.blogify.BlogApp.service.FollowService;
+import com.blogify.BlogApp.service.HomeTimeline;
+import com.blogify.BlogApp.service.PostCache;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class FollowServiceImpl implements FollowService {
+    private static final int MAX_TIMELINE_PAGE = 50;
+
+    private final FollowRepository followRepository;
+    private final PostRepository postRepository;
+    private final PostCache postCache;
+    private final HomeTimeline homeTimeline;
+
+    public FollowServiceImpl(FollowRepository followRepository, PostRepository postRepository, PostCache postCache, HomeTimeline homeTimeline) {
+        this.followRepository = followRepository;
+        this.postRepository = postRepository;
+        this.postCache = postCache;
+        this.homeTimeline = homeTimeline;
+    }
+
+    // One INSERT ... ON CONFLICT DO NOTHING, as for likes. Following twice is a no-op.
+    @Override
+    public void follow(Long followerId, Long followeeId){
+        if(followerId.equals(followeeId)){
+            throw new BadRequestException("You cannot follow yourself.");
+        }
+        int inserted;
+        try {
+            inserted = followRepository.insertIfAbsent(followerId, followeeId);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResourceNotFoundException("User not found.");
+        }
+        if(inserted == 1){
+            homeTimeline.followsChanged(followerId);
+        }
+    }
+
+    @Override
+    public void unfollow(Long followerId, Long followeeId){
+        if(followRepository.deleteDirect(followerId, followeeId) == 1){
+            homeTimeline.followsChanged(followerId);
+        }
+    }
+
+    @Override
+    public long countFollowers(Long userId){
+        return followRepository.countByFolloweeId(userId);
+    }
+
+    // Business logic for the home timeline: the ids come from HomeTimeline in memory and the posts from the
+    // details cache in one batch, seeking past the last post id seen. One extra id tells us if there is more.
+    @Override
+    public CursorPage<PostDTO> getHomeTimeline(Long userId, String cursor, int size){
+        if(size < 1 || size > MAX_TIMELINE_PAGE){
+            throw new BadRequestException("Page size must be between 1 and " + MAX_TIMELINE_PAGE + ".");
+        }
+        long beforeId = Long.MAX_VALUE;
+        if(cursor != null && !cursor.isEmpty()){
+            try {
+                beforeId = Long.parseLong(cursor);
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Invalid cursor.");
+            }
+        }
+        List<Long> ids = homeTimeline.read(userId, beforeId, size + 1);
+        boolean hasNext = ids.size() > size;
+        if(hasNext){
+            ids = ids.subList(0, size);
+        }
+        Map<Long, PostDTO> posts = postCache.getPosts(ids, missing -> postRepository.findPostDTOsByIds(missing).stream()
+                .collect(Collectors.toMap(PostDTO::getId, Function.identity())));
+
+        // Deleted posts are skipped; the cursor still moves past them.
+        List<PostDTO> content = new ArrayList<>(ids.size());
+        for(Long id : ids){
+            PostDTO post = posts.get(id);
+            if(post != null){
+                content.add(post);
+            }
+        }
+        String nextCursor = hasNext ? String.valueOf(ids.get(ids.size() - 1)) : null;
+        return new CursorPage<>(content, nextCursor, hasNext);
+    }
+}
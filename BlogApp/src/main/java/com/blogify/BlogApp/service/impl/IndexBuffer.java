@@ -0,0 +1,172 @@
+package com.blogify.BlogApp.service.impl;
+
+import com.blogify.BlogApp.service.TextAnalyzer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Posts indexed since the last flush, searchable right away. Docs are numbered in arrival order; a post
+// indexed again marks its earlier doc deleted. Postings per term are packed longs in a growing array, so a
+// buffered post costs a few primitive appends and no objects per posting. flush() turns it into an IndexSegment.
+final class IndexBuffer implements IndexReader {
+    private long[] postIds = new long[256];
+    private int[] titleLengths = new int[256];
+    private int[] contentLengths = new int[256];
+    private int docCount;
+    private final BitSet deleted = new BitSet();
+    private int deletedCount;
+    private final Map<Long, Integer> liveDocs = new HashMap<>();
+    private final Map<String, TermPostings> postings = new HashMap<>();
+    private long titleLengthSum;
+    private long contentLengthSum;
+
+    void add(long postId, String title, String content) {
+        delete(postId);
+        if (docCount == postIds.length) {
+            postIds = Arrays.copyOf(postIds, docCount * 2);
+            titleLengths = Arrays.copyOf(titleLengths, docCount * 2);
+            contentLengths = Arrays.copyOf(contentLengths, docCount * 2);
+        }
+        int doc = docCount++;
+        List<TextAnalyzer.Token> titleTokens = TextAnalyzer.tokens(title);
+        List<TextAnalyzer.Token> contentTokens = TextAnalyzer.tokens(content);
+        postIds[doc] = postId;
+        titleLengths[doc] = titleTokens.size();
+        contentLengths[doc] = contentTokens.size();
+        titleLengthSum += titleTokens.size();
+        contentLengthSum += contentTokens.size();
+        liveDocs.put(postId, doc);
+
+        Map<String, int[]> frequencies = new HashMap<>();
+        titleTokens.forEach(token -> frequencies.computeIfAbsent(token.term(), term -> new int[2])[0]++);
+        contentTokens.forEach(token -> frequencies.computeIfAbsent(token.term(), term -> new int[2])[1]++);
+        frequencies.forEach((term, tf) -> postings.computeIfAbsent(term, key -> new TermPostings()).add(PostingsCursor.pack(doc, tf[0], tf[1])));
+    }
+
+    // False when the buffer has no live doc for postId.
+    boolean delete(long postId) {
+        Integer doc = liveDocs.remove(postId);
+        if (doc == null) {
+            return false;
+        }
+        deleted.set(doc);
+        deletedCount++;
+        return true;
+    }
+
+    // Writes the live docs as segment dir/<name>, in post id order. False when there is nothing to write.
+    boolean flush(Path dir, String name) throws IOException {
+        int live = liveDocCount();
+        if (live == 0) {
+            return false;
+        }
+        long[] sorted = new long[live];
+        int next = 0;
+        for (int doc = deleted.nextClearBit(0); doc < docCount; doc = deleted.nextClearBit(doc + 1)) {
+            sorted[next++] = postIds[doc];
+        }
+        Arrays.sort(sorted);
+        int[] remap = new int[docCount];
+        int[] sortedTitleLengths = new int[live];
+        int[] sortedContentLengths = new int[live];
+        for (int newDoc = 0; newDoc < live; newDoc++) {
+            int doc = liveDocs.get(sorted[newDoc]);
+            remap[doc] = newDoc;
+            sortedTitleLengths[newDoc] = titleLengths[doc];
+            sortedContentLengths[newDoc] = contentLengths[doc];
+        }
+
+        String[] terms = postings.keySet().toArray(String[]::new);
+        Arrays.sort(terms);
+        try (IndexSegment.Writer writer = new IndexSegment.Writer(dir, name, sorted, sortedTitleLengths, sortedContentLengths)) {
+            long[] remapped = new long[64];
+            for (String term : terms) {
+                TermPostings termPostings = postings.get(term);
+                if (remapped.length < termPostings.size) {
+                    remapped = new long[Math.max(termPostings.size, remapped.length * 2)];
+                }
+                int count = 0;
+                for (int i = 0; i < termPostings.size; i++) {
+                    long posting = termPostings.values[i];
+                    int doc = PostingsCursor.doc(posting);
+                    if (!deleted.get(doc)) {
+                        remapped[count++] = PostingsCursor.pack(remap[doc], PostingsCursor.titleTf(posting), PostingsCursor.contentTf(posting));
+                    }
+                }
+                Arrays.sort(remapped, 0, count);
+                writer.addTerm(term, remapped, count);
+            }
+            writer.finish();
+        }
+        return true;
+    }
+
+    @Override
+    public int docCount() {
+        return docCount;
+    }
+
+    @Override
+    public int liveDocCount() {
+        return docCount - deletedCount;
+    }
+
+    @Override
+    public long postId(int doc) {
+        return postIds[doc];
+    }
+
+    @Override
+    public int titleLength(int doc) {
+        return titleLengths[doc];
+    }
+
+    @Override
+    public int contentLength(int doc) {
+        return contentLengths[doc];
+    }
+
+    @Override
+    public long titleLengthSum() {
+        return titleLengthSum;
+    }
+
+    @Override
+    public long contentLengthSum() {
+        return contentLengthSum;
+    }
+
+    @Override
+    public boolean isDeleted(int doc) {
+        return deleted.get(doc);
+    }
+
+    @Override
+    public int docFreq(String term) {
+        TermPostings termPostings = postings.get(term);
+        return termPostings == null ? 0 : termPostings.size;
+    }
+
+    @Override
+    public PostingsCursor postings(String term) {
+        TermPostings termPostings = postings.get(term);
+        return termPostings == null ? null : PostingsCursor.of(termPostings.values, termPostings.size);
+    }
+
+    private static final class TermPostings {
+        private long[] values = new long[4];
+        private int size;
+
+        private void add(long posting) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = posting;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.blogify.BlogApp.service.impl;
+
+// Read view shared by the on-disk IndexSegment and the in-memory IndexBuffer. Docs are numbered from 0;
+// deleted docs still have postings until a merge or flush drops them, so searches check isDeleted.
+interface IndexReader {
+    int docCount();
+
+    int liveDocCount();
+
+    long postId(int doc);
+
+    int titleLength(int doc);
+
+    int contentLength(int doc);
+
+    long titleLengthSum();
+
+    long contentLengthSum();
+
+    boolean isDeleted(int doc);
+
+    int docFreq(String term);
+
+    // Null when the term does not occur in this reader.
+    PostingsCursor postings(String term);
+}
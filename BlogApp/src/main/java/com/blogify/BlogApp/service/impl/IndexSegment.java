@@ -0,0 +1,427 @@
+package com.blogify.BlogApp.service.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// An immutable, memory-mapped segment of EmbeddedPostSearch. Docs are numbered in ascending post id order,
+// so a post is found by binary search and doc ids grow with post ids. Only the term dictionary is copied to
+// the heap; doc data and postings are read from the page cache. Deletions live in a BitSet next to the
+// segment and are written to a separate .del file, since the segment itself never changes.
+//
+// Layout, big-endian:
+//   header     int MAGIC, int VERSION, int docCount
+//   docs       long postId[docCount], int titleLength[docCount], int contentLength[docCount]
+//   postings   per term, docFreq x (varint doc delta, varint title tf, varint content tf)
+//   dictionary termCount x (int byteLength, UTF-8 bytes, int docFreq, int postingsOffset), sorted by term
+//   footer     int dictionaryOffset, int termCount, int MAGIC
+final class IndexSegment implements IndexReader {
+    private static final int MAGIC = 0x42504958;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 12;
+    private static final int FOOTER_BYTES = 12;
+
+    private final String name;
+    private final MappedByteBuffer data;
+    private final int docCount;
+    private final int titleLengthsAt;
+    private final int contentLengthsAt;
+    private final String[] terms;
+    private final Map<String, Integer> ordinals;
+    private final int[] docFreqs;
+    private final int[] postingsOffsets;
+    private final long titleLengthSum;
+    private final long contentLengthSum;
+    private final BitSet deleted;
+    private int deletedCount;
+    private boolean deletionsDirty;
+
+    private IndexSegment(String name, MappedByteBuffer data, BitSet deleted) throws IOException {
+        this.name = name;
+        this.data = data;
+        int limit = data.limit();
+        if (limit < HEADER_BYTES + FOOTER_BYTES || data.getInt(0) != MAGIC || data.getInt(limit - 4) != MAGIC) {
+            throw new IOException("Not a search segment: " + name);
+        }
+        if (data.getInt(4) != VERSION) {
+            throw new IOException("Unsupported search segment version " + data.getInt(4) + ": " + name);
+        }
+        this.docCount = data.getInt(8);
+        this.titleLengthsAt = HEADER_BYTES + 8 * docCount;
+        this.contentLengthsAt = titleLengthsAt + 4 * docCount;
+
+        int termCount = data.getInt(limit - 8);
+        this.terms = new String[termCount];
+        this.ordinals = new HashMap<>(termCount * 2);
+        this.docFreqs = new int[termCount];
+        this.postingsOffsets = new int[termCount];
+        int position = data.getInt(limit - FOOTER_BYTES);
+        for (int ordinal = 0; ordinal < termCount; ordinal++) {
+            byte[] bytes = new byte[data.getInt(position)];
+            data.get(position + 4, bytes);
+            position += 4 + bytes.length;
+            terms[ordinal] = new String(bytes, StandardCharsets.UTF_8);
+            ordinals.put(terms[ordinal], ordinal);
+            docFreqs[ordinal] = data.getInt(position);
+            postingsOffsets[ordinal] = data.getInt(position + 4);
+            position += 8;
+        }
+
+        long titleSum = 0;
+        long contentSum = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            titleSum += titleLength(doc);
+            contentSum += contentLength(doc);
+        }
+        this.titleLengthSum = titleSum;
+        this.contentLengthSum = contentSum;
+        this.deleted = deleted;
+        this.deletedCount = deleted.cardinality();
+    }
+
+    // Maps dir/<name>.idx and reads dir/<name>.del when it exists.
+    static IndexSegment open(Path dir, String name) throws IOException {
+        MappedByteBuffer data;
+        try (FileChannel channel = FileChannel.open(dir.resolve(name + ".idx"), StandardOpenOption.READ)) {
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        BitSet deleted = new BitSet();
+        Path deletions = dir.resolve(name + ".del");
+        if (Files.exists(deletions)) {
+            try (DataInputStream in = new DataInputStream(Files.newInputStream(deletions))) {
+                long[] words = new long[in.readInt()];
+                for (int i = 0; i < words.length; i++) {
+                    words[i] = in.readLong();
+                }
+                deleted = BitSet.valueOf(words);
+            }
+        }
+        return new IndexSegment(name, data, deleted);
+    }
+
+    String name() {
+        return name;
+    }
+
+    @Override
+    public int docCount() {
+        return docCount;
+    }
+
+    @Override
+    public int liveDocCount() {
+        return docCount - deletedCount;
+    }
+
+    @Override
+    public long postId(int doc) {
+        return data.getLong(HEADER_BYTES + 8 * doc);
+    }
+
+    @Override
+    public int titleLength(int doc) {
+        return data.getInt(titleLengthsAt + 4 * doc);
+    }
+
+    @Override
+    public int contentLength(int doc) {
+        return data.getInt(contentLengthsAt + 4 * doc);
+    }
+
+    @Override
+    public long titleLengthSum() {
+        return titleLengthSum;
+    }
+
+    @Override
+    public long contentLengthSum() {
+        return contentLengthSum;
+    }
+
+    @Override
+    public boolean isDeleted(int doc) {
+        return deleted.get(doc);
+    }
+
+    @Override
+    public int docFreq(String term) {
+        Integer ordinal = ordinals.get(term);
+        return ordinal == null ? 0 : docFreqs[ordinal];
+    }
+
+    @Override
+    public PostingsCursor postings(String term) {
+        Integer ordinal = ordinals.get(term);
+        return ordinal == null ? null : new MappedPostings(postingsOffsets[ordinal], docFreqs[ordinal]);
+    }
+
+    String[] terms() {
+        return terms;
+    }
+
+    // Marks the live doc of postId deleted. False when this segment has no live doc for it.
+    boolean delete(long postId) {
+        int low = 0;
+        int high = docCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long id = postId(middle);
+            if (id < postId) {
+                low = middle + 1;
+            } else if (id > postId) {
+                high = middle - 1;
+            } else {
+                if (deleted.get(middle)) {
+                    return false;
+                }
+                deleted.set(middle);
+                deletedCount++;
+                deletionsDirty = true;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    BitSet deletedSnapshot() {
+        return (BitSet) deleted.clone();
+    }
+
+    // Writes dir/<name>.del when deletions changed since the last call; replaced atomically, like the commit.
+    void writeDeletions(Path dir) throws IOException {
+        if (!deletionsDirty) {
+            return;
+        }
+        Path temp = dir.resolve(name + ".del.tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            long[] words = deleted.toLongArray();
+            out.writeInt(words.length);
+            for (long word : words) {
+                out.writeLong(word);
+            }
+        }
+        Files.move(temp, dir.resolve(name + ".del"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        deletionsDirty = false;
+    }
+
+    void deleteFiles(Path dir) throws IOException {
+        Files.deleteIfExists(dir.resolve(name + ".idx"));
+        Files.deleteIfExists(dir.resolve(name + ".del"));
+    }
+
+    // Writes the live docs of sources as one segment. Each term's postings are collected, remapped and
+    // written before the next term is read, so memory stays bounded by the largest postings list.
+    static void merge(Path dir, String name, List<IndexSegment> sources, List<BitSet> deletedAtStart) throws IOException {
+        int sourceCount = sources.size();
+        int[][] remap = new int[sourceCount][];
+        int total = 0;
+        for (int s = 0; s < sourceCount; s++) {
+            remap[s] = new int[sources.get(s).docCount()];
+            total += sources.get(s).docCount() - deletedAtStart.get(s).cardinality();
+        }
+        long[] postIds = new long[total];
+        int[] titleLengths = new int[total];
+        int[] contentLengths = new int[total];
+        // Every source is sorted by post id; a k-way merge keeps the result sorted.
+        int[] next = new int[sourceCount];
+        for (int doc = 0; doc < total; doc++) {
+            int best = -1;
+            for (int s = 0; s < sourceCount; s++) {
+                next[s] = deletedAtStart.get(s).nextClearBit(next[s]);
+                if (next[s] < sources.get(s).docCount()
+                        && (best < 0 || sources.get(s).postId(next[s]) < sources.get(best).postId(next[best]))) {
+                    best = s;
+                }
+            }
+            IndexSegment source = sources.get(best);
+            int oldDoc = next[best]++;
+            postIds[doc] = source.postId(oldDoc);
+            titleLengths[doc] = source.titleLength(oldDoc);
+            contentLengths[doc] = source.contentLength(oldDoc);
+            remap[best][oldDoc] = doc + 1;
+        }
+
+        try (Writer writer = new Writer(dir, name, postIds, titleLengths, contentLengths)) {
+            int[] termAt = new int[sourceCount];
+            long[] postings = new long[64];
+            while (true) {
+                String term = null;
+                for (int s = 0; s < sourceCount; s++) {
+                    String[] sourceTerms = sources.get(s).terms();
+                    if (termAt[s] < sourceTerms.length && (term == null || sourceTerms[termAt[s]].compareTo(term) < 0)) {
+                        term = sourceTerms[termAt[s]];
+                    }
+                }
+                if (term == null) {
+                    break;
+                }
+                int size = 0;
+                for (int s = 0; s < sourceCount; s++) {
+                    String[] sourceTerms = sources.get(s).terms();
+                    if (termAt[s] == sourceTerms.length || !sourceTerms[termAt[s]].equals(term)) {
+                        continue;
+                    }
+                    termAt[s]++;
+                    PostingsCursor cursor = sources.get(s).postings(term);
+                    for (int doc = cursor.nextDoc(); doc != PostingsCursor.NO_MORE_DOCS; doc = cursor.nextDoc()) {
+                        // 0 in remap means deleted; merged docs are stored shifted by one.
+                        int newDoc = remap[s][doc] - 1;
+                        if (newDoc >= 0) {
+                            if (size == postings.length) {
+                                postings = Arrays.copyOf(postings, size * 2);
+                            }
+                            postings[size++] = PostingsCursor.pack(newDoc, cursor.titleTf, cursor.contentTf);
+                        }
+                    }
+                }
+                Arrays.sort(postings, 0, size);
+                writer.addTerm(term, postings, size);
+            }
+            writer.finish();
+        }
+    }
+
+    private final class MappedPostings extends PostingsCursor {
+        private int position;
+        private int remaining;
+
+        private MappedPostings(int position, int docFreq) {
+            this.position = position;
+            this.remaining = docFreq;
+        }
+
+        @Override
+        int nextDoc() {
+            if (remaining == 0) {
+                return doc = NO_MORE_DOCS;
+            }
+            remaining--;
+            int delta = readVarint();
+            titleTf = readVarint();
+            contentTf = readVarint();
+            return doc = (doc < 0 ? 0 : doc) + delta;
+        }
+
+        private int readVarint() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data.get(position++);
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+
+    // Streams a new segment to dir/<name>.idx: docs first, then one addTerm per term in ascending order, then
+    // finish(). The file is written under a temporary name and renamed at the end, so a crash never leaves half a segment.
+    static final class Writer implements Closeable {
+        private final Path temp;
+        private final Path target;
+        private final DataOutputStream out;
+        private final List<byte[]> dictionaryTerms = new ArrayList<>();
+        private final List<int[]> dictionaryEntries = new ArrayList<>();
+        private String previousTerm;
+        private boolean finished;
+
+        Writer(Path dir, String name, long[] postIds, int[] titleLengths, int[] contentLengths) throws IOException {
+            this.temp = dir.resolve(name + ".idx.tmp");
+            this.target = dir.resolve(name + ".idx");
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(postIds.length);
+            for (long postId : postIds) {
+                out.writeLong(postId);
+            }
+            for (int length : titleLengths) {
+                out.writeInt(length);
+            }
+            for (int length : contentLengths) {
+                out.writeInt(length);
+            }
+        }
+
+        // postings are packed (see PostingsCursor.pack) and sorted by doc; terms with none are skipped.
+        void addTerm(String term, long[] postings, int size) throws IOException {
+            if (size == 0) {
+                return;
+            }
+            if (previousTerm != null && term.compareTo(previousTerm) <= 0) {
+                throw new IllegalArgumentException("Terms must be added in ascending order: " + term);
+            }
+            previousTerm = term;
+            dictionaryTerms.add(term.getBytes(StandardCharsets.UTF_8));
+            dictionaryEntries.add(new int[]{size, position()});
+            int previousDoc = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = PostingsCursor.doc(postings[i]);
+                writeVarint(doc - previousDoc);
+                writeVarint(PostingsCursor.titleTf(postings[i]));
+                writeVarint(PostingsCursor.contentTf(postings[i]));
+                previousDoc = doc;
+            }
+        }
+
+        // Writes the dictionary and footer and renames the file into place.
+        void finish() throws IOException {
+            int dictionaryOffset = position();
+            for (int i = 0; i < dictionaryTerms.size(); i++) {
+                out.writeInt(dictionaryTerms.get(i).length);
+                out.write(dictionaryTerms.get(i));
+                out.writeInt(dictionaryEntries.get(i)[0]);
+                out.writeInt(dictionaryEntries.get(i)[1]);
+            }
+            out.writeInt(dictionaryOffset);
+            out.writeInt(dictionaryTerms.size());
+            out.writeInt(MAGIC);
+            position();
+            out.close();
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            finished = true;
+        }
+
+        // Without finish(), e.g. after a failed write, the partial file is removed.
+        @Override
+        public void close() throws IOException {
+            if (!finished) {
+                out.close();
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        // DataOutputStream counts in an int that stops at Integer.MAX_VALUE; a mapped buffer cannot go past
+        // that either, so a segment that large is refused rather than written.
+        private int position() throws IOException {
+            if (out.size() == Integer.MAX_VALUE) {
+                throw new IOException("Search segment exceeds 2 GB: " + target.getFileName());
+            }
+            return out.size();
+        }
+
+        private void writeVarint(int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                out.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write(value);
+        }
+    }
+}
@@ -1,32 +1,52 @@
 package com.blogify.BlogApp.service.impl;
 
+import com.blogify.BlogApp.dto.ImportLikeRequest;
 import com.blogify.BlogApp.dto.LikeDTO;
 import com.blogify.BlogApp.dto.LikeResponseDTO;
-import com.blogify.BlogApp.entity.Like;
-import com.blogify.BlogApp.entity.Post;
-import com.blogify.BlogApp.entity.User;
 import com.blogify.BlogApp.exception.BadRequestException;
 import com.blogify.BlogApp.exception.ResourceNotFoundException;
 import com.blogify.BlogApp.repository.LikeRepository;
 import com.blogify.BlogApp.repository.PostRepository;
 import com.blogify.BlogApp.repository.UserRepository;
+import com.blogify.BlogApp.service.LikeCountBuffer;
 import com.blogify.BlogApp.service.LikeService;
-import org.modelmapper.ModelMapper;
+import com.blogify.BlogApp.service.PostEventBus;
+import com.blogify.BlogApp.service.TrendingRanking;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class LikeServiceImpl implements LikeService {
+    // Far above a feed page; keeps the IN list and the response bounded.
+    static final int MAX_BATCH_POST_IDS = 100;
+    // The statement behind LikeRepository.insertIfAbsent, for JDBC batches.
+    private static final String IMPORT_SQL = "insert into likes (user_id, post_id) values (?, ?) on conflict do nothing";
+
     private final LikeRepository likeRepository;
     private final UserRepository userRepository;
     private final PostRepository postRepository;
-    private final ModelMapper modelMapper;
+    private final LikeCountBuffer likeCountBuffer;
+    private final TrendingRanking trendingRanking;
+    private final JdbcTemplate jdbcTemplate;
+    private final PostEventBus postEventBus;
 
-    public LikeServiceImpl(LikeRepository likeRepository, UserRepository userRepository, PostRepository postRepository, ModelMapper modelMapper) {
+    public LikeServiceImpl(LikeRepository likeRepository, UserRepository userRepository, PostRepository postRepository, LikeCountBuffer likeCountBuffer, TrendingRanking trendingRanking, JdbcTemplate jdbcTemplate, PostEventBus postEventBus) {
         this.likeRepository = likeRepository;
         this.userRepository = userRepository;
         this.postRepository = postRepository;
-        this.modelMapper = modelMapper;
+        this.likeCountBuffer = likeCountBuffer;
+        this.trendingRanking = trendingRanking;
+        this.jdbcTemplate = jdbcTemplate;
+        this.postEventBus = postEventBus;
     }
 
     @Override
@@ -35,43 +55,117 @@ public class LikeServiceImpl implements LikeService {
             throw new RuntimeException("You must be logged in to like a post");
         }
 
-        User user = userRepository.findById(userId).orElseThrow(()-> new ResourceNotFoundException("User not found."));
-        Post post = postRepository.findById(postId).orElseThrow(()->new ResourceNotFoundException("Post not found."));
-
-        if (likeRepository.existsByUserIdAndPostId(userId, postId)) {
-            throw new BadRequestException("User already liked this post.");
+        // One INSERT ... ON CONFLICT DO NOTHING. Liking twice is a no-op; an unknown user or post trips the foreign key.
+        int inserted;
+        try {
+            inserted = likeRepository.insertIfAbsent(userId, postId);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResourceNotFoundException("User or post not found.");
+        }
+        if (inserted == 1) {
+            likeCountBuffer.increment(postId);
+            trendingRanking.liked(postId);
+            postEventBus.likesChanged(postId, 1);
         }
 
-        Like like = new Like(user,post);
-        Like saved = likeRepository.save(like);
-
-
-        LikeDTO dto = modelMapper.map(saved,LikeDTO.class);
+        LikeDTO dto = new LikeDTO();
         dto.setUserId(userId);
         dto.setPostId(postId);
         return dto;
     }
 
+    // One DELETE by (user_id, post_id). Unliking something that is not liked is a no-op.
     @Override
-    @Transactional
     public void unlikePost(Long userId, Long postId) {
-        if (!likeRepository.existsByUserIdAndPostId(userId, postId)) {
-            throw new ResourceNotFoundException("Like not found");
+        if (likeRepository.deleteDirect(userId, postId) == 1) {
+            likeCountBuffer.decrement(postId);
+            trendingRanking.unliked(postId);
+            postEventBus.likesChanged(postId, -1);
         }
-        likeRepository.deleteByUserIdAndPostId(userId, postId);
     }
 
     public LikeResponseDTO getLikeCount(Long postId,Long userId) {
-        if (!postRepository.existsById(postId)) {
-            throw new ResourceNotFoundException("Post not found.");
-        }
+        // The stored counter doubles as the existence check; no count over likes on the read path.
+        long storedLikes = postRepository.findLikeCountById(postId).orElseThrow(()->new ResourceNotFoundException("Post not found."));
 
         boolean likedByUser = false;
         if (userId != null) {
             likedByUser = likeRepository.existsByUserIdAndPostId(userId, postId);
         }
-        Long totalLikes = likeRepository.countByPostId(postId);
+        Long totalLikes = storedLikes + likeCountBuffer.pendingDelta(postId);
 
         return new LikeResponseDTO(postId,totalLikes,likedByUser);
     }
+
+    // Counts and liked flags for a whole feed page in one statement, returned in request order.
+    @Override
+    public List<LikeResponseDTO> getLikeStatuses(List<Long> postIds, Long userId) {
+        if (postIds == null || postIds.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> ids = new LinkedHashSet<>(postIds);
+        if (ids.size() > MAX_BATCH_POST_IDS) {
+            throw new BadRequestException("At most " + MAX_BATCH_POST_IDS + " post ids can be requested at once.");
+        }
+
+        // Anonymous readers only need the counters, so the likes table is not touched at all.
+        List<Object[]> rows = userId == null
+                ? postRepository.findLikeCountsByIds(ids)
+                : likeRepository.findLikeStatuses(ids, userId);
+
+        Map<Long, LikeResponseDTO> byPostId = new HashMap<>();
+        for (Object[] row : rows) {
+            Long postId = ((Number) row[0]).longValue();
+            long storedLikes = ((Number) row[1]).longValue();
+            boolean likedByUser = row.length > 2 && Boolean.TRUE.equals(row[2]);
+            byPostId.put(postId, new LikeResponseDTO(postId, storedLikes + likeCountBuffer.pendingDelta(postId), likedByUser));
+        }
+
+        List<LikeResponseDTO> statuses = new ArrayList<>(byPostId.size());
+        for (Long id : ids) {
+            LikeResponseDTO status = byPostId.get(id);
+            if (status != null) {
+                statuses.add(status);
+            }
+        }
+        return statuses;
+    }
+
+    // Business logic for bulk imports: users and posts are checked first, then each chunk of BulkImports.BATCH_SIZE
+    // likes is one JDBC batch of the same insert as likePost. Likes already there are skipped, and the per-row
+    // update counts tell which ones were new, so like_count moves through the buffer exactly as for likePost.
+    // Imported likes do not count towards trending and are not pushed. Returns the number of new likes.
+    @Override
+    public int importLikes(List<ImportLikeRequest> likes){
+        if (likes == null || likes.isEmpty()) {
+            return 0;
+        }
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> postIds = new HashSet<>();
+        for (ImportLikeRequest like : likes) {
+            if (like.getUserId() == null || like.getPostId() == null) {
+                throw new BadRequestException("Every imported like needs a user and a post.");
+            }
+            userIds.add(like.getUserId());
+            postIds.add(like.getPostId());
+        }
+        BulkImports.requireExisting(userIds, userRepository::findExistingIds, "User not found.");
+        BulkImports.requireExisting(postIds, postRepository::findExistingIds, "Post not found.");
+
+        int inserted = 0;
+        for (List<ImportLikeRequest> chunk : BulkImports.chunks(likes)) {
+            List<Object[]> batch = new ArrayList<>(chunk.size());
+            for (ImportLikeRequest like : chunk) {
+                batch.add(new Object[]{like.getUserId(), like.getPostId()});
+            }
+            int[] counts = jdbcTemplate.batchUpdate(IMPORT_SQL, batch);
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 1) {
+                    likeCountBuffer.increment(chunk.get(i).getPostId());
+                    inserted++;
+                }
+            }
+        }
+        return inserted;
+    }
 }
@@ -0,0 +1,96 @@
+package com.blogify.BlogApp.service.impl;
+
+import com.blogify.BlogApp.service.ImageFormat;
+import com.blogify.BlogApp.service.ImageStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+// Images on local disk under images.local.root, served by ImageController. Files are content addressed
+// (<folder>/<first two hex chars>/<sha-256>.<ext>), so a stored file never changes and its hash is its ETag.
+@Service
+@ConditionalOnProperty(name = "images.store", havingValue = "local")
+public class LocalImageStore implements ImageStore {
+    private static final Pattern KEY = Pattern.compile("[a-z_]+/[0-9a-f]{2}/[0-9a-f]{64}\\.(jpg|jpeg|png|gif|webp)");
+
+    private final Path root;
+    private final String baseUrl;
+
+    public LocalImageStore(@Value("${images.local.root}") String root,
+                           @Value("${images.local.base-url:/images}") String baseUrl) throws IOException {
+        this.root = Files.createDirectories(Path.of(root)).toRealPath();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    @Override
+    public String store(Path file, String folder) throws IOException {
+        String hash = sha256(file);
+        // The extension comes from the bytes, so a file is only ever served as the image type it really is.
+        ImageFormat format = ImageFormat.detect(header(file))
+                .orElseThrow(()-> new IOException("Not an accepted image type: " + file.getFileName()));
+        String key = folder + "/" + hash.substring(0, 2) + "/" + hash + "." + format.extension();
+        Path target = root.resolve(key);
+        Files.createDirectories(target.getParent());
+        // Copied next to the target and renamed, so readers never see a partial file. Written even when the
+        // target exists: it may be the file of a released asset that is about to be deleted.
+        Path part = Files.createTempFile(target.getParent(), hash, ".part");
+        try{
+            Files.copy(file, part, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(part, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(part);
+        }
+        return baseUrl + "/" + key;
+    }
+
+    @Override
+    public void delete(String url) throws IOException {
+        if(url != null && url.startsWith(baseUrl + "/")){
+            Optional<Path> file = resolve(url.substring(baseUrl.length() + 1));
+            if(file.isPresent()){
+                Files.deleteIfExists(file.get());
+            }
+        }
+    }
+
+    // Only keys this store generates are resolved, which also rules out ../ and absolute paths.
+    public Optional<Path> resolve(String key){
+        if(!KEY.matcher(key).matches()){
+            return Optional.empty();
+        }
+        Path file = root.resolve(key);
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    private static byte[] header(Path file) throws IOException {
+        try(InputStream in = Files.newInputStream(file)){
+            return in.readNBytes(ImageFormat.HEADER_LENGTH);
+        }
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try{
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e){
+            throw new IllegalStateException(e);
+        }
+        try(InputStream in = new DigestInputStream(Files.newInputStream(file), digest)){
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
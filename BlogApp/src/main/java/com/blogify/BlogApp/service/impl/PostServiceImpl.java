@@ -1,86 +1,255 @@
 package com.blogify.BlogApp.service.impl;
 
+import com.blogify.BlogApp.dto.CacheStatsDTO;
 import com.blogify.BlogApp.dto.CreatePostRequest;
+import com.blogify.BlogApp.dto.CursorPage;
 import com.blogify.BlogApp.dto.PostDTO;
+import com.blogify.BlogApp.dto.PostSearchHitDTO;
+import com.blogify.BlogApp.dto.SearchCursor;
+import com.blogify.BlogApp.dto.SeekCursor;
+import com.blogify.BlogApp.entity.ImageStatus;
 import com.blogify.BlogApp.entity.Post;
 import com.blogify.BlogApp.entity.User;
+import com.blogify.BlogApp.exception.BadRequestException;
 import com.blogify.BlogApp.exception.ResourceNotFoundException;
 import com.blogify.BlogApp.exception.UnauthorizedException;
 import com.blogify.BlogApp.repository.PostRepository;
 import com.blogify.BlogApp.repository.UserRepository;
+import com.blogify.BlogApp.service.HomeTimeline;
+import com.blogify.BlogApp.service.ImageUploadPipeline;
+import com.blogify.BlogApp.service.ImageUploadPipeline.SpooledImage;
+import com.blogify.BlogApp.service.ImageUploadPipeline.StoredImage;
+import com.blogify.BlogApp.service.PostCache;
+import com.blogify.BlogApp.service.PostSearch;
 import com.blogify.BlogApp.service.PostService;
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
+import com.blogify.BlogApp.service.TextAnalyzer;
+import com.blogify.BlogApp.service.TrendingRanking;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.util.HtmlUtils;
 
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class PostServiceImpl implements PostService {
+    private static final String IMAGE_FOLDER = "blog_posts";
+    private static final int MAX_SEARCH_PAGE = 50;
+    private static final int MAX_QUERY_LENGTH = 200;
+    private static final int SNIPPET_WORDS = 30;
+    private static final int MAX_TRENDING_PAGE = 50;
+    // Also bounds the feed cache, whose keys include the page size.
+    private static final int MAX_FEED_PAGE = 50;
+
     private final PostRepository postRepository;
     private final UserRepository userRepository;
-    private final Cloudinary cloudinary;
     private final ModelMapper modelMapper;
+    private final PostCache postCache;
+    private final ImageUploadPipeline imageUploadPipeline;
+    private final TransactionTemplate transactionTemplate;
+    private final PostSearch postSearch;
+    private final TrendingRanking trendingRanking;
+    private final HomeTimeline homeTimeline;
 
-    public PostServiceImpl(PostRepository postRepository, UserRepository userRepository, Cloudinary cloudinary, ModelMapper modelMapper) {
+    public PostServiceImpl(PostRepository postRepository, UserRepository userRepository, ModelMapper modelMapper, PostCache postCache, ImageUploadPipeline imageUploadPipeline, TransactionTemplate transactionTemplate, PostSearch postSearch, TrendingRanking trendingRanking, HomeTimeline homeTimeline) {
         this.postRepository = postRepository;
         this.userRepository = userRepository;
-        this.cloudinary = cloudinary;
         this.modelMapper = modelMapper;
+        this.postCache = postCache;
+        this.imageUploadPipeline = imageUploadPipeline;
+        this.transactionTemplate = transactionTemplate;
+        this.postSearch = postSearch;
+        this.trendingRanking = trendingRanking;
+        this.homeTimeline = homeTimeline;
     }
 
-    // Business Logic for creating a blog:
+    // Business Logic for creating a blog: the post is saved right away, its image follows once uploaded.
+    // An image whose bytes are stored already is attached at once, without an upload.
     @Override
     public PostDTO createPost(Long userId, CreatePostRequest request, MultipartFile image){
         User user = userRepository.findById(userId).orElseThrow(()-> new ResourceNotFoundException("User not found"));
-        String imgUrl = null;
-        if(image !=null && !image.isEmpty()){
-            try{
-                Map uploadResult = cloudinary.uploader().upload(
-                        image.getBytes(),
-                        ObjectUtils.asMap("folder","blog_posts")
-                );
-                imgUrl = (String) uploadResult.get("secure_url");
-
-            } catch (IOException e) {
-                throw new RuntimeException("Image upload failed",e);
-            }
-        }
+        SpooledImage spooled = image != null && !image.isEmpty() ? imageUploadPipeline.spool(image) : null;
+        StoredImage reused = spooled != null ? imageUploadPipeline.reuse(null, spooled, IMAGE_FOLDER).orElse(null) : null;
 
         Post post = new Post();
         post.setTitle(request.getTitle());
         post.setContent(request.getContent());
-        post.setImgUrl(imgUrl);
         post.setUser(user);
+        setImage(post, spooled, reused);
 
-        Post saved = postRepository.save(post);
-        return mapPostToDTO(saved);
+        Post saved = saveOrRelease(post, spooled, reused);
+        postCache.evictForCreate();
+        postSearch.indexPost(saved.getId(), saved.getTitle(), saved.getContent());
+        homeTimeline.postCreated(userId, saved.getId());
+        if(reused == null){
+            submitImage(saved.getId(), spooled);
+        }
+        return mapPostToDTO(modelMapper, saved);
     }
 
     // Business logic for getting all in infinite scroll manner(for improving performance):
     @Override
     public Page<PostDTO> getAllPosts(Pageable pageable){
-        return postRepository.findAll(pageable).map(this::mapPostToDTO);
+        return postCache.getPage("page", pageable, () -> postRepository.findPostPage(pageable));
+    }
+
+    // Same as getAllPosts but without the count query, for clients that only need to know if there is a next page:
+    @Override
+    public Slice<PostDTO> getAllPostsSlice(Pageable pageable){
+        return postCache.getPage("slice", pageable, () -> postRepository.findPostSlice(pageable));
+    }
+
+    // Business logic for the cursor based feed: seeks past the last (createdAt, id) seen instead of using OFFSET,
+    // so every page costs the same no matter how deep the client has scrolled. One extra row tells us if there is more.
+    @Override
+    public CursorPage<PostDTO> getFeed(String cursor, int size){
+        if(size < 1 || size > MAX_FEED_PAGE){
+            throw new BadRequestException("Page size must be between 1 and " + MAX_FEED_PAGE + ".");
+        }
+        return postCache.getFeed(cursor, size, () -> loadFeed(cursor, size));
+    }
+
+    private CursorPage<PostDTO> loadFeed(String cursor, int size){
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<PostDTO> posts;
+        if(cursor == null || cursor.isEmpty()){
+            posts = postRepository.findFeedFirst(limit);
+        } else {
+            SeekCursor after = SeekCursor.decode(cursor);
+            posts = postRepository.findFeedAfter(after.createdAt(), after.id(), limit);
+        }
+
+        boolean hasNext = posts.size() > size;
+        String nextCursor = null;
+        if(hasNext){
+            posts = posts.subList(0, size);
+            PostDTO last = posts.get(posts.size() - 1);
+            nextCursor = new SeekCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(posts, nextCursor, hasNext);
+    }
+
+    // Business logic for the trending page: the order comes from TrendingRanking in memory and the posts from the
+    // details cache, so a warm page touches no table. Posts deleted along with their author are dropped here.
+    @Override
+    public Slice<PostDTO> getTrending(int page, int size){
+        if(page < 0){
+            throw new BadRequestException("Page must not be negative.");
+        }
+        if(size < 1 || size > MAX_TRENDING_PAGE){
+            throw new BadRequestException("Page size must be between 1 and " + MAX_TRENDING_PAGE + ".");
+        }
+        List<Long> ids = trendingRanking.top((int) Math.min((long) page * size, Integer.MAX_VALUE), size + 1);
+        boolean hasNext = ids.size() > size;
+        if(hasNext){
+            ids = ids.subList(0, size);
+        }
+        Map<Long, PostDTO> posts = postCache.getPosts(ids, missing -> postRepository.findPostDTOsByIds(missing).stream()
+                .collect(Collectors.toMap(PostDTO::getId, Function.identity())));
+
+        List<PostDTO> content = new ArrayList<>(ids.size());
+        for(Long id : ids){
+            PostDTO post = posts.get(id);
+            if(post != null){
+                content.add(post);
+            } else {
+                trendingRanking.remove(id);
+            }
+        }
+        return new SliceImpl<>(content, PageRequest.of(page, size), hasNext);
+    }
+
+    // Business logic for search: ranked by the configured PostSearch engine, seeking past the last (score, id)
+    // seen like the feed does. Not cached, since queries rarely repeat closely enough to pay for the memory.
+    @Override
+    public CursorPage<PostSearchHitDTO> searchPosts(String query, String cursor, int size){
+        if(query == null || query.isBlank()){
+            throw new BadRequestException("Search query must not be empty.");
+        }
+        if(query.length() > MAX_QUERY_LENGTH){
+            throw new BadRequestException("Search query must be at most " + MAX_QUERY_LENGTH + " characters.");
+        }
+        if(size < 1 || size > MAX_SEARCH_PAGE){
+            throw new BadRequestException("Page size must be between 1 and " + MAX_SEARCH_PAGE + ".");
+        }
+        SearchCursor after = cursor == null || cursor.isEmpty() ? null : SearchCursor.decode(cursor);
+        List<PostSearch.Hit> results = postSearch.search(query, after, size + 1);
+
+        boolean hasNext = results.size() > size;
+        if(hasNext){
+            results = results.subList(0, size);
+        }
+        List<Long> ids = results.stream().map(PostSearch.Hit::postId).toList();
+        Map<Long, PostDTO> posts = ids.isEmpty() ? Map.of() : postRepository.findPostDTOsByIds(ids).stream()
+                .collect(Collectors.toMap(PostDTO::getId, Function.identity()));
+
+        // A post deleted between the two queries is left out; the cursor still moves past it.
+        Set<String> terms = null;
+        List<PostSearchHitDTO> hits = new ArrayList<>(results.size());
+        for(PostSearch.Hit result : results){
+            PostDTO post = posts.get(result.postId());
+            if(post == null){
+                continue;
+            }
+            String title = result.titleHighlight();
+            String snippet = result.snippet();
+            if(title == null){
+                terms = terms != null ? terms : TextAnalyzer.parse(query).required();
+                title = TextAnalyzer.mark(post.getTitle(), terms);
+                snippet = TextAnalyzer.snippet(post.getContent(), terms, SNIPPET_WORDS);
+            }
+            hits.add(new PostSearchHitDTO(post, result.score(), highlight(title), highlight(snippet)));
+        }
+        String nextCursor = null;
+        if(hasNext){
+            PostSearch.Hit last = results.get(results.size() - 1);
+            nextCursor = new SearchCursor(last.score(), last.postId()).encode();
+        }
+        return new CursorPage<>(hits, nextCursor, hasNext);
+    }
+
+    // Matches arrive wrapped in control characters, which cannot come from the post text: the text is
+    // HTML-escaped first and only then are the markers turned into <mark> tags.
+    private static String highlight(String marked){
+        if(marked == null){
+            return null;
+        }
+        return HtmlUtils.htmlEscape(marked).replace(PostSearch.MATCH_START, "<mark>").replace(PostSearch.MATCH_END, "</mark>");
     }
 
     // Business logic for getting a particular blog using its id:
     @Override
     public PostDTO getPostById(Long postId){
-        Post post = postRepository.findById(postId).orElseThrow(()-> new ResourceNotFoundException("Post not found"));
-        return mapPostToDTO(post);
+        return postCache.getPost(postId, id -> postRepository.findPostDTOById(id).orElseThrow(()-> new ResourceNotFoundException("Post not found")));
     }
 
     // Business logic for getting a particular users blogs: // Improve after ETE (Make it more Secure)
     @Override
     public Page<PostDTO> getMyBlogs(Long userId, Pageable pageable){
-      userRepository.findById(userId).orElseThrow(()-> new ResourceNotFoundException("User not found"));
-      Page<Post> posts = postRepository.findByUserId(userId,pageable);
-      return posts.map(this::mapPostToDTO);
+      if(!userRepository.existsById(userId)){
+          throw new ResourceNotFoundException("User not found");
+      }
+      return postRepository.findPostPageByUserId(userId,pageable);
+    }
+
+    @Override
+    public Slice<PostDTO> getMyBlogsSlice(Long userId, Pageable pageable){
+        if(!userRepository.existsById(userId)){
+            throw new ResourceNotFoundException("User not found");
+        }
+        return postRepository.findPostSliceByUserId(userId,pageable);
     }
 
     // Business logic for deleting a particular blog:(Need to do improvements later.):
@@ -89,42 +258,124 @@ public class PostServiceImpl implements PostService {
         if(!postRepository.existsById(postId)){
             throw new ResourceNotFoundException("Post not found");
         }
+        Optional<String> imgUrl = postRepository.findImgUrlById(postId);
         postRepository.deleteById(postId);
+        postCache.evictForDelete(postId);
+        postSearch.removePost(postId);
+        trendingRanking.remove(postId);
+        imgUrl.ifPresent(imageUploadPipeline::release);
     }
 
      @Override
     public PostDTO updatePost(Long userId,Long postId,CreatePostRequest request,MultipartFile image){
-            User user = userRepository.findById(userId).orElseThrow(()-> new ResourceNotFoundException("User not found"));
+            userRepository.findById(userId).orElseThrow(()-> new ResourceNotFoundException("User not found"));
             Post post = postRepository.findById(postId).orElseThrow(()-> new ResourceNotFoundException("Post not found"));
             if (!post.getUser().getId().equals(userId)) {
                    throw new UnauthorizedException("You are not authorized to update this post");
             }
-            String imgUrl = post.getImgUrl();
-            if(image != null && !image.isEmpty()){
-                try{
-                    if(imgUrl != null && !imgUrl.isEmpty()){
-                        // extract public_id from url
-                        String publicId = imgUrl.substring(imgUrl.lastIndexOf("/") + 1, imgUrl.lastIndexOf("."));
-                        cloudinary.uploader().destroy("blog_posts/" + publicId, ObjectUtils.emptyMap());
-                    }
-                    Map uploadResult = cloudinary.uploader().upload(
-                            image.getBytes(),
-                            ObjectUtils.asMap("folder","blog_posts")
-                    );
-                    imgUrl = (String) uploadResult.get("secure_url");
-                }catch(IOException e){
-                    throw new RuntimeException("Image upload failed",e);
-                }
-            }
-            post.setTitle(request.getTitle()!=null && !request.getTitle().isEmpty()?request.getTitle(): post.getTitle());
-            post.setContent(request.getContent()!=null && !request.getContent().isEmpty()?request.getContent(): post.getContent());
-            post.setImgUrl(imgUrl);
+            // The current image stays visible until the new one is uploaded; its reference is released then.
+            SpooledImage spooled = image != null && !image.isEmpty() ? imageUploadPipeline.spool(image) : null;
+            StoredImage reused = spooled != null ? imageUploadPipeline.reuse("post:" + postId, spooled, IMAGE_FOLDER).orElse(null) : null;
+            String title = request.getTitle()!=null && !request.getTitle().isEmpty()?request.getTitle(): post.getTitle();
+            String content = request.getContent()!=null && !request.getContent().isEmpty()?request.getContent(): post.getContent();
 
-         Post updated = postRepository.save(post);
-         return mapPostToDTO(updated);
+         // The image columns are only written when this request sent an image, so an upload that finishes
+         // in the meantime keeps the image it attached.
+         String previousUrl;
+         try{
+             previousUrl = transactionTemplate.execute(status -> {
+                 if(postRepository.updateText(postId, title, content) == 0){
+                     throw new ResourceNotFoundException("Post not found");
+                 }
+                 if(reused != null){
+                     return swapImage(postId, reused).orElse(null);
+                 }
+                 if(spooled != null){
+                     postRepository.updateImageStatus(postId, ImageStatus.PENDING);
+                 }
+                 return null;
+             });
+         } catch (RuntimeException e){
+             releaseOrDiscard(spooled, reused);
+             throw e;
+         }
+         postCache.evictForUpdate(postId);
+         postSearch.indexPost(postId, title, content);
+         if(reused != null){
+             imageUploadPipeline.release(previousUrl);
+         } else {
+             submitImage(postId, spooled);
+         }
+         return postRepository.findPostDTOById(postId).orElseThrow(()-> new ResourceNotFoundException("Post not found"));
      }
 
-    private PostDTO mapPostToDTO(Post post){
+    private static void setImage(Post post, SpooledImage spooled, StoredImage reused){
+        if(reused != null){
+            post.setImgUrl(reused.url());
+            post.setImageVariants(reused.variants());
+            post.setImageStatus(ImageStatus.READY);
+        } else if(spooled != null){
+            post.setImageStatus(ImageStatus.PENDING);
+        }
+    }
+
+    private Post saveOrRelease(Post post, SpooledImage spooled, StoredImage reused){
+        try{
+            return postRepository.save(post);
+        } catch (RuntimeException e){
+            releaseOrDiscard(spooled, reused);
+            throw e;
+        }
+    }
+
+    private void releaseOrDiscard(SpooledImage spooled, StoredImage reused){
+        if(reused != null){
+            imageUploadPipeline.release(reused.url());
+        } else if(spooled != null){
+            imageUploadPipeline.discard(spooled.file());
+        }
+    }
+
+    private void submitImage(Long postId, SpooledImage spooled){
+        if(spooled != null){
+            imageUploadPipeline.submit("post:" + postId, spooled, IMAGE_FOLDER,
+                    image -> attachImage(postId, image),
+                    () -> markImageFailed(postId));
+        }
+    }
+
+    // Runs on an upload thread. False if the post was deleted while its image was uploading.
+    private boolean attachImage(Long postId, StoredImage image){
+        Optional<String> previous = transactionTemplate.execute(status -> swapImage(postId, image));
+        if(previous == null || previous.isEmpty()){
+            return false;
+        }
+        postCache.evictForUpdate(postId);
+        imageUploadPipeline.release(previous.get());
+        return true;
+    }
+
+    // Points the post at a stored image and returns the URL it replaces ("" for none), or empty if the post is
+    // gone. The row lock orders this against an edit or another upload of the same post committing meanwhile.
+    private Optional<String> swapImage(Long postId, StoredImage image){
+        Optional<String> previous = postRepository.lockImgUrlById(postId);
+        previous.ifPresent(url -> postRepository.updateImage(postId, image.url(), image.variants(), ImageStatus.READY));
+        return previous;
+    }
+
+    private void markImageFailed(Long postId){
+        postRepository.updateImageStatus(postId, ImageStatus.FAILED);
+        postCache.evictForUpdate(postId);
+    }
+
+    // Hit/miss/eviction counters of the post detail and listing caches:
+    @Override
+    public List<CacheStatsDTO> getCacheStats(){
+        return postCache.stats();
+    }
+
+    // Static and package-private so DtoMappingBenchmark can measure it without building the service.
+    static PostDTO mapPostToDTO(ModelMapper modelMapper, Post post){
         PostDTO dto = modelMapper.map(post,PostDTO.class);
         if(post.getUser() != null){
             dto.setUserId(post.getUser().getId());
@@ -0,0 +1,35 @@
+package com.blogify.BlogApp.service.impl;
+
+import com.blogify.BlogApp.dto.SearchCursor;
+import com.blogify.BlogApp.repository.PostRepository;
+import com.blogify.BlogApp.service.PostSearch;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+// Search on posts.search_vector (see PostSearchSchema). PostgreSQL keeps the vector current itself, so the
+// index/remove callbacks are not needed here.
+@Service
+@ConditionalOnProperty(name = "search.engine", havingValue = "postgres", matchIfMissing = true)
+public class PostgresPostSearch implements PostSearch {
+    private static final String TITLE_HEADLINE = "HighlightAll=true, StartSel=\"" + MATCH_START + "\", StopSel=\"" + MATCH_END + "\"";
+    private static final String SNIPPET_HEADLINE = "MaxFragments=2, MaxWords=30, MinWords=10, FragmentDelimiter=\" ... \", " +
+            "StartSel=\"" + MATCH_START + "\", StopSel=\"" + MATCH_END + "\"";
+
+    private final PostRepository postRepository;
+
+    public PostgresPostSearch(PostRepository postRepository) {
+        this.postRepository = postRepository;
+    }
+
+    @Override
+    public List<Hit> search(String query, SearchCursor after, int limit) {
+        List<Object[]> rows = after == null
+                ? postRepository.searchFirst(query, limit, TITLE_HEADLINE, SNIPPET_HEADLINE)
+                : postRepository.searchAfter(query, after.score(), after.id(), limit, TITLE_HEADLINE, SNIPPET_HEADLINE);
+        return rows.stream()
+                .map(row -> new Hit(((Number) row[0]).longValue(), ((Number) row[1]).floatValue(), (String) row[2], (String) row[3]))
+                .toList();
+    }
+}
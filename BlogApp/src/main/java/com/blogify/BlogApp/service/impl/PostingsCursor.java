@@ -0,0 +1,58 @@
+package com.blogify.BlogApp.service.impl;
+
+// Walks one term's postings in ascending doc order. A posting is packed into a long as
+// doc << 32 | titleTf << 16 | contentTf, which keeps buffered postings in a primitive array and lets
+// flushes and merges sort them with Arrays.sort.
+abstract class PostingsCursor {
+    static final int NO_MORE_DOCS = Integer.MAX_VALUE;
+    private static final int MAX_TF = 0xFFFF;
+
+    int doc = -1;
+    int titleTf;
+    int contentTf;
+
+    static long pack(int doc, int titleTf, int contentTf) {
+        return (long) doc << 32 | (long) Math.min(titleTf, MAX_TF) << 16 | Math.min(contentTf, MAX_TF);
+    }
+
+    static int doc(long posting) {
+        return (int) (posting >>> 32);
+    }
+
+    static int titleTf(long posting) {
+        return (int) (posting >>> 16) & MAX_TF;
+    }
+
+    static int contentTf(long posting) {
+        return (int) posting & MAX_TF;
+    }
+
+    // Moves to the next posting and returns its doc, or NO_MORE_DOCS.
+    abstract int nextDoc();
+
+    // Moves to the first posting with doc >= target. Postings are delta-encoded, so this is a linear scan.
+    int advance(int target) {
+        while (doc < target) {
+            nextDoc();
+        }
+        return doc;
+    }
+
+    // Over packed postings in memory; only the first size entries are read.
+    static PostingsCursor of(long[] postings, int size) {
+        return new PostingsCursor() {
+            private int next;
+
+            @Override
+            int nextDoc() {
+                if (next == size) {
+                    return doc = NO_MORE_DOCS;
+                }
+                long posting = postings[next++];
+                titleTf = titleTf(posting);
+                contentTf = contentTf(posting);
+                return doc = doc(posting);
+            }
+        };
+    }
+}
@@ -0,0 +1,110 @@
+package com.blogify.BlogApp.service.impl;
+
+import com.blogify.BlogApp.config.TokenConfig;
+import com.blogify.BlogApp.dto.TokenResponseDTO;
+import com.blogify.BlogApp.dto.UserResponseDTO;
+import com.blogify.BlogApp.entity.User;
+import com.blogify.BlogApp.exception.BadRequestException;
+import com.blogify.BlogApp.repository.UserRepository;
+import com.blogify.BlogApp.service.TokenDenylist;
+import com.blogify.BlogApp.service.TokenService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+public class TokenServiceImpl implements TokenService {
+    private final JwtEncoder jwtEncoder;
+    private final JwtDecoder accessDecoder;
+    private final JwtDecoder refreshDecoder;
+    private final TokenDenylist tokenDenylist;
+    private final UserRepository userRepository;
+    private final long accessTtlSeconds;
+    private final long refreshTtlSeconds;
+
+    public TokenServiceImpl(JwtEncoder jwtEncoder, JwtDecoder jwtDecoder, SecretKey tokenSigningKey, TokenDenylist tokenDenylist, UserRepository userRepository,
+                            @Value("${auth.token.access-ttl-seconds:900}") long accessTtlSeconds,
+                            @Value("${auth.token.refresh-ttl-seconds:604800}") long refreshTtlSeconds) {
+        this.jwtEncoder = jwtEncoder;
+        this.accessDecoder = jwtDecoder;
+        this.refreshDecoder = TokenConfig.decoder(tokenSigningKey, TokenConfig.REFRESH, tokenDenylist);
+        this.tokenDenylist = tokenDenylist;
+        this.userRepository = userRepository;
+        this.accessTtlSeconds = accessTtlSeconds;
+        this.refreshTtlSeconds = refreshTtlSeconds;
+    }
+
+    // Called after a successful password check: a short-lived access token carrying id, email and roles,
+    // plus a longer-lived refresh token that can only be exchanged at /api/auth/refresh.
+    @Override
+    public TokenResponseDTO issueTokens(UserResponseDTO user){
+        return issue(user.getId(), user.getEmail(), user.getRoles());
+    }
+
+    // Rotates the pair: the presented refresh token is revoked, and roles are re-read so a change shows up
+    // in the next access token at the latest. Of concurrent refreshes with one token only the one that revokes
+    // it gets a new pair.
+    @Override
+    public TokenResponseDTO refresh(String refreshToken){
+        Jwt jwt;
+        try{
+            jwt = refreshDecoder.decode(refreshToken);
+        } catch (JwtException e){
+            throw new BadRequestException("Invalid or expired refresh token.");
+        }
+        User user = userRepository.findById(Long.valueOf(jwt.getSubject()))
+                .orElseThrow(()-> new BadRequestException("Invalid or expired refresh token."));
+        if(!tokenDenylist.revoke(jwt.getId(), jwt.getExpiresAt())){
+            throw new BadRequestException("Invalid or expired refresh token.");
+        }
+        return issue(user.getId(), user.getEmail(), user.getRoles());
+    }
+
+    // Revokes an access or refresh token until it expires. Anyone holding a token may revoke it.
+    @Override
+    public void revoke(String token){
+        for(JwtDecoder decoder : List.of(accessDecoder, refreshDecoder)){
+            try{
+                Jwt jwt = decoder.decode(token);
+                tokenDenylist.revoke(jwt.getId(), jwt.getExpiresAt());
+                return;
+            } catch (JwtException e){
+                // Not this type, or already expired or revoked: nothing left to revoke.
+            }
+        }
+    }
+
+    private TokenResponseDTO issue(Long userId, String email, Set<String> roles){
+        Instant now = Instant.now();
+        String access = encode(userId, email, roles, TokenConfig.ACCESS, now, accessTtlSeconds);
+        String refresh = encode(userId, email, roles, TokenConfig.REFRESH, now, refreshTtlSeconds);
+        return new TokenResponseDTO(access, refresh, accessTtlSeconds);
+    }
+
+    private String encode(Long userId, String email, Set<String> roles, String tokenUse, Instant now, long ttlSeconds){
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(String.valueOf(userId))
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(ttlSeconds))
+                .claim("email", email)
+                .claim("roles", List.copyOf(roles))
+                .claim(TokenConfig.TOKEN_USE, tokenUse)
+                .build();
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+        return jwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+    }
+}
@@ -3,59 +3,78 @@ package com.blogify.BlogApp.service.impl;
 import com.blogify.BlogApp.dto.CreateUpdateProfileRequest;
 import com.blogify.BlogApp.dto.UserDTO;
 import com.blogify.BlogApp.dto.UserResponseDTO;
+import com.blogify.BlogApp.entity.ImageStatus;
 import com.blogify.BlogApp.entity.User;
 import com.blogify.BlogApp.exception.BadRequestException;
 import com.blogify.BlogApp.exception.ResourceNotFoundException;
 import com.blogify.BlogApp.exception.UnauthorizedException;
 import com.blogify.BlogApp.repository.UserRepository;
+import com.blogify.BlogApp.service.CredentialCache;
+import com.blogify.BlogApp.service.ImageUploadPipeline;
+import com.blogify.BlogApp.service.ImageUploadPipeline.SpooledImage;
+import com.blogify.BlogApp.service.ImageUploadPipeline.StoredImage;
+import com.blogify.BlogApp.service.PostCache;
+import com.blogify.BlogApp.service.PostSearch;
+import com.blogify.BlogApp.service.TokenDenylist;
 import com.blogify.BlogApp.service.UserService;
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.ResponseEntity;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class UserServiceImpl implements UserService {
+    private static final String IMAGE_FOLDER = "blog_users";
+
     private final UserRepository userRepository;
     private final ModelMapper modelMapper;
     private final PasswordEncoder passwordEncoder;
-    private final Cloudinary cloudinary;
+    private final PostCache postCache;
+    private final CredentialCache credentialCache;
+    private final TokenDenylist tokenDenylist;
+    private final ImageUploadPipeline imageUploadPipeline;
+    private final TransactionTemplate transactionTemplate;
+    private final PostSearch postSearch;
 
-    public UserServiceImpl(UserRepository userRepository, ModelMapper modelMapper, PasswordEncoder passwordEncoder, Cloudinary cloudinary) {
+    public UserServiceImpl(UserRepository userRepository, ModelMapper modelMapper, PasswordEncoder passwordEncoder, PostCache postCache, CredentialCache credentialCache, TokenDenylist tokenDenylist, ImageUploadPipeline imageUploadPipeline, TransactionTemplate transactionTemplate, PostSearch postSearch) {
         this.userRepository = userRepository;
         this.modelMapper = modelMapper;
         this.passwordEncoder = passwordEncoder;
-        this.cloudinary = cloudinary;
+        this.postCache = postCache;
+        this.credentialCache = credentialCache;
+        this.tokenDenylist = tokenDenylist;
+        this.imageUploadPipeline = imageUploadPipeline;
+        this.transactionTemplate = transactionTemplate;
+        this.postSearch = postSearch;
     }
 
     @Override
     public UserResponseDTO updateUser(Long id, CreateUpdateProfileRequest request, MultipartFile image){
         User user = userRepository.findById(id).orElseThrow(()->new ResourceNotFoundException("User not found."));
-        String imgUrl = user.getProfileImage();
-        if(image != null && !image.isEmpty()){
-            try{
-                if(imgUrl !=null && !imgUrl.isEmpty()){
-                    String publicId = imgUrl.substring(imgUrl.lastIndexOf("/") + 1, imgUrl.lastIndexOf("."));
-                    cloudinary.uploader().destroy("blog_users/" + publicId, ObjectUtils.emptyMap());
-                }
-                Map uploadResult = cloudinary.uploader().upload(
-                        image.getBytes(),
-                        ObjectUtils.asMap("folder","blog_users")
-                );
-                imgUrl = (String) uploadResult.get("secure_url");
-                user.setProfileImage(imgUrl);
-            }catch (IOException e){
-                throw new RuntimeException("Image upload failed",e);
-            }
+        // The current avatar stays until the new one is uploaded; its reference is released then. Bytes that
+        // are stored already are attached at once, without an upload.
+        String previousImage = user.getProfileImage();
+        SpooledImage spooled = image != null && !image.isEmpty() ? imageUploadPipeline.spool(image) : null;
+        StoredImage reused = spooled != null ? imageUploadPipeline.reuse("user:" + id, spooled, IMAGE_FOLDER).orElse(null) : null;
+        if(reused != null){
+            user.setProfileImage(reused.url());
+            user.setProfileImageVariants(reused.variants());
+            user.setProfileImageStatus(ImageStatus.READY);
+        } else if(spooled != null){
+            user.setProfileImageStatus(ImageStatus.PENDING);
         }
         if(request.getName() !=null){
             user.setName(request.getName());
@@ -63,21 +82,71 @@ public class UserServiceImpl implements UserService {
         if(request.getBio() !=null){
             user.setBio(request.getBio());
         }
-        if (request.getEmail() != null){
+        String previousEmail = null;
+        if (request.getEmail() != null && !request.getEmail().equals(user.getEmail())){
+            previousEmail = user.getEmail();
             user.setEmail(request.getEmail());
         }
 
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try{
+            savedUser = userRepository.save(user);
+        } catch (RuntimeException e){
+            if(reused != null){
+                imageUploadPipeline.release(reused.url());
+            } else if(spooled != null){
+                imageUploadPipeline.discard(spooled.file());
+            }
+            throw e;
+        }
+        // Only once the new email is committed, so a failed save (say, the email is taken) logs nobody out.
+        if(previousEmail != null){
+            // The old email must stop authenticating right away, not when its cached credentials expire.
+            credentialCache.evict(previousEmail);
+            // Issued tokens carry the old email; make the client log in again.
+            tokenDenylist.revokeAllBefore(id, Instant.now());
+        }
+        postCache.evictForAuthor(savedUser.getId());
+        if(reused != null){
+            imageUploadPipeline.release(previousImage);
+        } else if(spooled != null){
+            imageUploadPipeline.submit("user:" + id, spooled, IMAGE_FOLDER,
+                    stored -> attachProfileImage(id, stored),
+                    () -> markProfileImageFailed(id));
+        }
         UserResponseDTO response = new UserResponseDTO();
         response.setId(savedUser.getId());
         response.setEmail(savedUser.getEmail());
         response.setName(savedUser.getName());
         response.setBio(savedUser.getBio());
         response.setProfileImage(savedUser.getProfileImage());
+        response.setProfileImageStatus(savedUser.getProfileImageStatus());
+        response.setProfileImageVariants(savedUser.getProfileImageVariants());
         response.setRoles(savedUser.getRoles());
         return response;
     }
 
+    // Runs on an upload thread. Loaded and changed inside one transaction so the second-level cache stays in step.
+    private boolean attachProfileImage(Long id, StoredImage image){
+        AtomicReference<String> previous = new AtomicReference<>();
+        boolean attached = Boolean.TRUE.equals(transactionTemplate.execute(status -> userRepository.findById(id).map(user -> {
+            previous.set(user.getProfileImage());
+            user.setProfileImage(image.url());
+            user.setProfileImageVariants(image.variants());
+            user.setProfileImageStatus(ImageStatus.READY);
+            return true;
+        }).orElse(false)));
+        if(attached){
+            imageUploadPipeline.release(previous.get());
+        }
+        return attached;
+    }
+
+    private void markProfileImageFailed(Long id){
+        transactionTemplate.executeWithoutResult(status -> userRepository.findById(id)
+                .ifPresent(user -> user.setProfileImageStatus(ImageStatus.FAILED)));
+    }
+
     @Override
     public UserDTO registerUser(UserDTO userDTO){
         if(userRepository.existsByEmail(userDTO.getEmail())){
@@ -96,18 +165,33 @@ public class UserServiceImpl implements UserService {
     @Override
     public void deleteUser(Long id){
         User user = userRepository.findById(id).orElseThrow(()->new ResourceNotFoundException("User not found."));
+        List<String> imageUrls = new ArrayList<>(userRepository.findPostImgUrlsByUserId(id));
+        imageUrls.add(user.getProfileImage());
+        List<Long> postIds = userRepository.findPostIdsByUserId(id);
         userRepository.delete(user);
+        credentialCache.evict(user.getEmail());
+        tokenDenylist.revokeAllBefore(id, Instant.now());
+        // Posts go with the user (cascade), shifting every listing.
+        postCache.evictAll();
+        imageUrls.forEach(imageUploadPipeline::release);
+        postIds.forEach(postSearch::removePost);
     }
 
     @Override
     public Page<UserDTO> getAllUsers(Pageable pageable){
-        return userRepository.findAll(pageable).map(user -> modelMapper.map(user,UserDTO.class));
+        return withRoles(userRepository.findUserPage(pageable));
+    }
+
+    @Override
+    public Slice<UserDTO> getAllUsersSlice(Pageable pageable){
+        return withRoles(userRepository.findUserSlice(pageable));
     }
 
     @Override
     public UserDTO getUserById(Long id){
-        User user = userRepository.findById(id).orElseThrow(()->new ResourceNotFoundException("User not found."));
-        return modelMapper.map(user,UserDTO.class);
+        UserDTO user = userRepository.findUserDTOById(id).orElseThrow(()->new ResourceNotFoundException("User not found."));
+        withRoles(List.of(user));
+        return user;
     }
 
     @Override
@@ -122,7 +206,24 @@ public class UserServiceImpl implements UserService {
         response.setName(user.getName());
         response.setBio(user.getBio());
         response.setProfileImage(user.getProfileImage());
+        response.setProfileImageStatus(user.getProfileImageStatus());
+        response.setProfileImageVariants(user.getProfileImageVariants());
         response.setRoles(user.getRoles());
         return response;
     }
+
+    // Fills roles for every listed user with one query instead of one per user.
+    private <T extends Iterable<UserDTO>> T withRoles(T users){
+        List<Long> ids = new ArrayList<>();
+        users.forEach(user -> ids.add(user.getId()));
+        if(ids.isEmpty()){
+            return users;
+        }
+        Map<Long, Set<String>> roles = new HashMap<>();
+        for(Object[] row : userRepository.findRolesByUserIds(ids)){
+            roles.computeIfAbsent((Long) row[0], k -> new HashSet<>()).add((String) row[1]);
+        }
+        users.forEach(user -> user.setRoles(roles.getOrDefault(user.getId(), new HashSet<>())));
+        return users;
+    }
 }
@@ -0,0 +1,53 @@
+package com.blogify.BlogApp.benchmark;
+
+import com.blogify.BlogApp.config.CachingAuthenticationProvider;
+import com.blogify.BlogApp.service.CredentialCache;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.util.concurrent.TimeUnit;
+
+// Authentications per second on one thread (= per core) for a repeated HTTP Basic header, with the
+// production BCrypt strength. bcryptEveryRequest is the old per-request path, cachedCredentials the CachingAuthenticationProvider
+// in front of it. The user lookup is in-memory here, so the bcryptEveryRequest figure is an upper bound on the old path.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Threads(1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthenticationBenchmark {
+    private DaoAuthenticationProvider dao;
+    private CachingAuthenticationProvider cached;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+        InMemoryUserDetailsManager users = new InMemoryUserDetailsManager(
+                User.withUsername("user@example.com").password(encoder.encode("password123")).roles("USER").build());
+        dao = new DaoAuthenticationProvider();
+        dao.setUserDetailsService(users);
+        dao.setPasswordEncoder(encoder);
+        cached = new CachingAuthenticationProvider(dao, new CredentialCache(10_000, 60));
+    }
+
+    private static Authentication basicHeader() {
+        return UsernamePasswordAuthenticationToken.unauthenticated("user@example.com", "password123");
+    }
+
+    @Benchmark
+    public Authentication bcryptEveryRequest() {
+        return dao.authenticate(basicHeader());
+    }
+
+    @Benchmark
+    public Authentication cachedCredentials() {
+        return cached.authenticate(basicHeader());
+    }
+}
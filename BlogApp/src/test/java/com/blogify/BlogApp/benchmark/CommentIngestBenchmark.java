@@ -0,0 +1,168 @@
+package com.blogify.BlogApp.benchmark;
+
+import com.blogify.BlogApp.service.CommentTree;
+import org.openjdk.jmh.annotations.*;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+
+// Comment insert throughput against a throwaway PostgreSQL started by Testcontainers (needs Docker). Every
+// invocation writes ROWS comments and their thread paths in one transaction, with the statements Hibernate
+// sends for each id strategy:
+//  - identityRowByRow: an "insert ... returning id" round trip per row, then the path updates as one batch;
+//  - sequenceBatched: one nextval per 50 rows (the pooled comments_seq), then one insert batch and one update
+//    batch, which is what importComments does with hibernate.jdbc.batch_size;
+//  - sequenceRewritten: the same with the driver's reWriteBatchedInserts, which folds the insert batch into
+//    multi-row inserts. Not enabled in the application: rewritten batches report no per-row update counts,
+//    and importLikes needs them.
+// Scores are rows per second. The comments table is emptied after every iteration so it does not grow.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(CommentIngestBenchmark.ROWS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommentIngestBenchmark {
+    static final int ROWS = 500;
+    private static final int ALLOCATION_SIZE = 50;
+    // The tables and indexes ddl-auto creates for the entities involved, trimmed to the columns written here.
+    private static final String[] SCHEMA = {
+            "create table users (id bigint generated by default as identity primary key, name varchar(255))",
+            "create table posts (id bigint generated by default as identity primary key, user_id bigint references users)",
+            "create table comments (id bigint generated by default as identity primary key, content text not null, " +
+                    "created_at timestamp(6), user_id bigint references users, post_id bigint references posts, " +
+                    "parent_id bigint, path varchar(600))",
+            "create index idx_comments_post_created_at_id on comments (post_id, created_at desc, id desc)",
+            "create index idx_comments_post_parent_id on comments (post_id, parent_id, id desc)",
+            "create index idx_comments_post_path on comments (post_id, path)",
+            // Starting at one block up, so the first block is 1..50 without the pooled optimizer's extra first call.
+            "create sequence comments_seq start with " + ALLOCATION_SIZE + " increment by " + ALLOCATION_SIZE
+    };
+    private static final String INSERT_RETURNING_SQL = "insert into comments (content, created_at, user_id, post_id, parent_id) values (?, ?, ?, ?, ?) returning id";
+    private static final String INSERT_SQL = "insert into comments (content, created_at, user_id, post_id, parent_id, id) values (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_PATH_SQL = "update comments set path = ? where id = ?";
+
+    private PostgreSQLContainer<?> postgres;
+    private Connection plain;
+    private Connection rewritten;
+    private long userId;
+    private long postId;
+
+    @Setup(Level.Trial)
+    public void start() throws SQLException {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        plain = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        String url = postgres.getJdbcUrl();
+        rewritten = DriverManager.getConnection(url + (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true",
+                postgres.getUsername(), postgres.getPassword());
+        try (Statement statement = plain.createStatement()) {
+            for (String ddl : SCHEMA) {
+                statement.execute(ddl);
+            }
+            userId = single(statement, "insert into users (name) values ('Importer') returning id");
+            postId = single(statement, "insert into posts (user_id) values (" + userId + ") returning id");
+        }
+        plain.setAutoCommit(false);
+        rewritten.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Iteration)
+    public void empty() throws SQLException {
+        try (Statement statement = plain.createStatement()) {
+            statement.execute("truncate comments");
+        }
+        plain.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws SQLException {
+        plain.close();
+        rewritten.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public void identityRowByRow() throws SQLException {
+        long[] ids = new long[ROWS];
+        try (PreparedStatement insert = plain.prepareStatement(INSERT_RETURNING_SQL)) {
+            for (int i = 0; i < ROWS; i++) {
+                bindRow(insert, i);
+                try (ResultSet keys = insert.executeQuery()) {
+                    keys.next();
+                    ids[i] = keys.getLong(1);
+                }
+            }
+        }
+        updatePaths(plain, ids);
+        plain.commit();
+    }
+
+    @Benchmark
+    public void sequenceBatched() throws SQLException {
+        insertBatched(plain);
+    }
+
+    @Benchmark
+    public void sequenceRewritten() throws SQLException {
+        insertBatched(rewritten);
+    }
+
+    private void insertBatched(Connection connection) throws SQLException {
+        long[] ids = new long[ROWS];
+        try (Statement statement = connection.createStatement()) {
+            // Pooled optimizer: nextval is the highest id of a block of ALLOCATION_SIZE.
+            for (int i = 0; i < ROWS; i += ALLOCATION_SIZE) {
+                long high = single(statement, "select nextval('comments_seq')");
+                for (int j = 0; j < ALLOCATION_SIZE && i + j < ROWS; j++) {
+                    ids[i + j] = high - ALLOCATION_SIZE + 1 + j;
+                }
+            }
+        }
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            for (int i = 0; i < ROWS; i++) {
+                bindRow(insert, i);
+                insert.setLong(6, ids[i]);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        updatePaths(connection, ids);
+        connection.commit();
+    }
+
+    private void bindRow(PreparedStatement insert, int i) throws SQLException {
+        insert.setString(1, "Imported comment " + i);
+        insert.setTimestamp(2, new Timestamp(System.currentTimeMillis()));
+        insert.setLong(3, userId);
+        insert.setLong(4, postId);
+        insert.setNull(5, Types.BIGINT);
+    }
+
+    private static void updatePaths(Connection connection, long[] ids) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(UPDATE_PATH_SQL)) {
+            for (long id : ids) {
+                update.setString(1, CommentTree.segment(id));
+                update.setLong(2, id);
+                update.addBatch();
+            }
+            update.executeBatch();
+        }
+    }
+
+    private static long single(Statement statement, String sql) throws SQLException {
+        try (ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.blogify.BlogApp.benchmark;
+
+import com.blogify.BlogApp.dto.CommentDTO;
+import com.blogify.BlogApp.service.CommentTree;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Cost of turning the rows of one thread read into nested DTOs. CommentTree.assemble links each row to its
+// parent through a hash map in one pass; the baseline is what adjacency-list code tends to do instead, scanning
+// every row for the children of each node, which is quadratic in the thread size.
+// The rows are what findSubtree returns, parents before children. Query time is deliberately left out.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommentThreadBenchmark {
+    // deep: one chain of replies to replies (deeper than CommentTree.MAX_DEPTH allows, but only the shape
+    // matters here); wide: every comment replies to the root; bushy: four replies each.
+    @Param({"deep", "wide", "bushy"})
+    private String shape;
+
+    // Rows per read, up to what one thread read returns at most.
+    @Param({"50", "1000"})
+    private int size;
+
+    private List<CommentDTO> rows;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        rows = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            Long parentId = switch (shape) {
+                case "deep" -> id == 1 ? null : id - 1;
+                case "wide" -> id == 1 ? null : 1L;
+                default -> id == 1 ? null : (id - 2) / 4 + 1;
+            };
+            rows.add(new CommentDTO(id, "Comment " + id, now, 1L, 10L, "Test Author", parentId));
+        }
+    }
+
+    @Benchmark
+    public List<CommentDTO> assemble() {
+        return CommentTree.assemble(rows);
+    }
+
+    @Benchmark
+    public List<CommentDTO> childScan() {
+        List<CommentDTO> roots = new ArrayList<>();
+        for (CommentDTO row : rows) {
+            if (row.getParentId() == null) {
+                roots.add(row);
+            }
+        }
+        for (CommentDTO root : roots) {
+            attachReplies(root);
+        }
+        return roots;
+    }
+
+    private void attachReplies(CommentDTO parent) {
+        List<CommentDTO> replies = new ArrayList<>();
+        for (CommentDTO row : rows) {
+            if (parent.getId().equals(row.getParentId())) {
+                replies.add(row);
+            }
+        }
+        parent.setReplies(replies);
+        for (CommentDTO reply : replies) {
+            attachReplies(reply);
+        }
+    }
+}
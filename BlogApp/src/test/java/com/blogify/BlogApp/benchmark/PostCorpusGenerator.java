@@ -0,0 +1,92 @@
+package com.blogify.BlogApp.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Fills posts with a synthetic corpus for PostSearchBenchmark. Words follow a Zipf distribution over a fixed
+// vocabulary, so a few terms match most posts and the long tail matches a handful, as in real text. The seed
+// is fixed, so every run produces the same corpus. Start the application once against the database first:
+// Hibernate creates posts and PostSearchSchema adds the search column and index.
+//
+//   DATASOURCE_URL=... DATASOURCE_USERNAME=... DATASOURCE_PASSWORD=... \
+//   java -cp <test classpath> com.blogify.BlogApp.benchmark.PostCorpusGenerator [posts, default 1000000]
+public class PostCorpusGenerator {
+    // Head of the vocabulary, most frequent first; PostSearchBenchmark queries these by frequency class.
+    static final List<String> TOPICS = List.of(
+            "java", "spring", "database", "performance", "cache", "index", "query", "latency", "thread", "memory",
+            "kubernetes", "postgres", "search", "security", "token", "upload", "image", "stream", "kafka", "docker",
+            "garbage", "collector", "compiler", "benchmark", "profiling", "allocation", "replication", "partition",
+            "vacuum", "tablespace", "bytecode", "intrinsic", "vectorization", "backpressure", "idempotency", "sharding");
+    static final int VOCABULARY = 50_000;
+    private static final int BATCH = 5_000;
+
+    private final Random random = new Random(42);
+    private final double[] cumulative = new double[VOCABULARY];
+
+    PostCorpusGenerator() {
+        double total = 0;
+        for (int rank = 0; rank < VOCABULARY; rank++) {
+            total += 1.0 / (rank + 1);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < VOCABULARY; rank++) {
+            cumulative[rank] /= total;
+        }
+    }
+
+    static String word(int rank) {
+        return rank < TOPICS.size() ? TOPICS.get(rank) : "term" + rank;
+    }
+
+    private String nextWord() {
+        int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+        return word(rank < 0 ? -rank - 1 : rank);
+    }
+
+    private String text(int minWords, int maxWords) {
+        int words = minWords + random.nextInt(maxWords - minWords + 1);
+        StringBuilder text = new StringBuilder(words * 8);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(nextWord());
+        }
+        return text.toString();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int posts = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        PostCorpusGenerator generator = new PostCorpusGenerator();
+        LocalDateTime start = LocalDateTime.now().minusYears(3);
+        try (Connection connection = DriverManager.getConnection(System.getenv("DATASOURCE_URL"),
+                System.getenv("DATASOURCE_USERNAME"), System.getenv("DATASOURCE_PASSWORD"))) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "insert into posts (title, content, created_at, image_status, like_count) values (?, ?, ?, null, 0)")) {
+                for (int i = 1; i <= posts; i++) {
+                    insert.setString(1, generator.text(4, 10));
+                    insert.setString(2, generator.text(80, 300));
+                    insert.setTimestamp(3, Timestamp.valueOf(start.plusSeconds(i * 90L)));
+                    insert.addBatch();
+                    if (i % BATCH == 0 || i == posts) {
+                        insert.executeBatch();
+                        connection.commit();
+                        System.out.printf("%d/%d posts%n", i, posts);
+                    }
+                }
+            }
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("analyze posts");
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.blogify.BlogApp.benchmark;
+
+import com.blogify.BlogApp.repository.PostRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+// Latency distribution of the search query (the exact SQL PostRepository runs) against a PostgreSQL database
+// filled by PostCorpusGenerator. SampleTime reports p0.99 alongside the mean; the target is 50 ms at 1M posts.
+// Terms are picked by frequency class: "common" is in a large share of posts, "mid" in a few thousand,
+// "rare" in a handful, "phrase" is two words in order. nextPage seeks past the first page with a cursor.
+// Needs DATASOURCE_URL, DATASOURCE_USERNAME and DATASOURCE_PASSWORD, like the application.
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(4)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PostSearchBenchmark {
+    private static final String OPTIONS = "MaxFragments=2, MaxWords=30, MinWords=10";
+    private static final String FIRST_SQL = jdbc(PostRepository.SEARCH_QUERY + PostRepository.SEARCH_PAGE);
+    private static final String AFTER_SQL = jdbc(PostRepository.SEARCH_QUERY + PostRepository.SEARCH_AFTER + PostRepository.SEARCH_PAGE);
+
+    @Param({"common", "mid", "rare", "phrase"})
+    public String term;
+
+    private String query;
+    private float afterScore;
+    private long afterId;
+
+    @State(Scope.Thread)
+    public static class Session {
+        Connection connection;
+        PreparedStatement first;
+        PreparedStatement after;
+
+        @Setup
+        public void open() throws SQLException {
+            connection = DriverManager.getConnection(System.getenv("DATASOURCE_URL"),
+                    System.getenv("DATASOURCE_USERNAME"), System.getenv("DATASOURCE_PASSWORD"));
+            first = connection.prepareStatement(FIRST_SQL);
+            after = connection.prepareStatement(AFTER_SQL);
+        }
+
+        @TearDown
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+
+    // The repository's named parameters as JDBC placeholders; both queries use them in this order.
+    private static String jdbc(String sql) {
+        return sql.replaceAll(":(query|score|id|limit|titleOptions|snippetOptions)\\b", "?");
+    }
+
+    @Setup
+    public void setUp() throws SQLException {
+        query = switch (term) {
+            case "common" -> PostCorpusGenerator.word(0);
+            case "mid" -> PostCorpusGenerator.word(500);
+            case "rare" -> PostCorpusGenerator.word(PostCorpusGenerator.VOCABULARY - 1);
+            default -> "\"" + PostCorpusGenerator.word(1) + " " + PostCorpusGenerator.word(2) + "\"";
+        };
+        // Start of the second page, so nextPage measures a real seek.
+        Session session = new Session();
+        session.open();
+        try (ResultSet rows = runFirst(session.first, 7)) {
+            for (int i = 0; i < 6 && rows.next(); i++) {
+                afterId = rows.getLong(1);
+                afterScore = rows.getFloat(2);
+            }
+        } finally {
+            session.close();
+        }
+    }
+
+    private ResultSet runFirst(PreparedStatement first, int limit) throws SQLException {
+        first.setString(1, query);
+        first.setInt(2, limit);
+        first.setString(3, OPTIONS);
+        first.setString(4, OPTIONS);
+        return first.executeQuery();
+    }
+
+    private static int drain(ResultSet rows) throws SQLException {
+        int count = 0;
+        try (rows) {
+            while (rows.next()) {
+                count += rows.getString(4) == null ? 0 : 1;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int firstPage(Session session) throws SQLException {
+        return drain(runFirst(session.first, 7));
+    }
+
+    @Benchmark
+    public int nextPage(Session session) throws SQLException {
+        session.after.setString(1, query);
+        session.after.setFloat(2, afterScore);
+        session.after.setFloat(3, afterScore);
+        session.after.setLong(4, afterId);
+        session.after.setInt(5, 7);
+        session.after.setString(6, OPTIONS);
+        session.after.setString(7, OPTIONS);
+        return drain(session.after.executeQuery());
+    }
+}
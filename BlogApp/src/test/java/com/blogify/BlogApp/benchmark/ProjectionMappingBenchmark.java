@@ -0,0 +1,105 @@
+package com.blogify.BlogApp.benchmark;
+
+import com.blogify.BlogApp.dto.CommentDTO;
+import com.blogify.BlogApp.dto.PostDTO;
+import com.blogify.BlogApp.dto.UserDTO;
+import com.blogify.BlogApp.entity.Comment;
+import com.blogify.BlogApp.entity.ImageStatus;
+import com.blogify.BlogApp.entity.Post;
+import com.blogify.BlogApp.entity.User;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Constructor;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Cost per row of the old read path (hydrated entity -> ModelMapper) against the new one (JPQL constructor
+// expression, which Hibernate runs as a reflective constructor call on the selected columns).
+// Query time is deliberately left out; this only isolates the mapping step.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectionMappingBenchmark {
+    private ModelMapper modelMapper;
+
+    private Post post;
+    private Comment comment;
+    private User user;
+
+    private Object[] postRow;
+    private Object[] commentRow;
+    private Object[] userRow;
+
+    private Constructor<PostDTO> postConstructor;
+    private Constructor<CommentDTO> commentConstructor;
+    private Constructor<UserDTO> userConstructor;
+
+    @Setup
+    public void setUp() throws Exception {
+        modelMapper = new ModelMapper();
+        LocalDateTime now = LocalDateTime.now();
+
+        user = new User(1L, "author@example.com", "Test Author", "Short bio", "$2a$10$hash", Set.of("ROLE_USER"));
+        post = new Post(10L, "Test Post Title", "Test post content", "https://example.com/image.jpg");
+        post.setCreatedAt(now);
+        post.setUser(user);
+        comment = new Comment(100L, "This is a test comment", now);
+        comment.setUser(user);
+        comment.setPost(post);
+
+        postRow = new Object[]{10L, "Test Post Title", "Test post content", "https://example.com/image.jpg", ImageStatus.READY,
+                Map.of("320w", "https://example.com/image-320.jpg"), 1L, now, "Test Author"};
+        commentRow = new Object[]{100L, "This is a test comment", now, 1L, 10L, "Test Author"};
+        userRow = new Object[]{1L, "author@example.com", "Test Author", "Short bio", null};
+
+        postConstructor = PostDTO.class.getConstructor(Long.class, String.class, String.class, String.class, ImageStatus.class, Map.class,
+                Long.class, LocalDateTime.class, String.class);
+        commentConstructor = CommentDTO.class.getConstructor(Long.class, String.class, LocalDateTime.class, Long.class, Long.class, String.class);
+        userConstructor = UserDTO.class.getConstructor(Long.class, String.class, String.class, String.class, String.class);
+    }
+
+    @Benchmark
+    public PostDTO postModelMapper() {
+        PostDTO dto = modelMapper.map(post, PostDTO.class);
+        dto.setUserId(post.getUser().getId());
+        dto.setName(post.getUser().getName());
+        dto.setCreatedAt(post.getCreatedAt());
+        return dto;
+    }
+
+    @Benchmark
+    public PostDTO postProjection() throws Exception {
+        return postConstructor.newInstance(postRow);
+    }
+
+    @Benchmark
+    public CommentDTO commentModelMapper() {
+        CommentDTO dto = modelMapper.map(comment, CommentDTO.class);
+        dto.setUserId(comment.getUser().getId());
+        dto.setUserName(comment.getUser().getName());
+        dto.setPostId(comment.getPost().getId());
+        dto.setCreatedAt(comment.getCreatedAt());
+        return dto;
+    }
+
+    @Benchmark
+    public CommentDTO commentProjection() throws Exception {
+        return commentConstructor.newInstance(commentRow);
+    }
+
+    @Benchmark
+    public UserDTO userModelMapper() {
+        return modelMapper.map(user, UserDTO.class);
+    }
+
+    @Benchmark
+    public UserDTO userProjection() throws Exception {
+        return userConstructor.newInstance(userRow);
+    }
+}
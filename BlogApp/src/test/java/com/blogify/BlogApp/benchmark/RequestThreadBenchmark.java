@@ -0,0 +1,165 @@
+package com.blogify.BlogApp.benchmark;
+
+import com.blogify.BlogApp.BlogAppApplication;
+import com.blogify.BlogApp.dto.ImportCommentRequest;
+import com.blogify.BlogApp.dto.ImportLikeRequest;
+import com.blogify.BlogApp.entity.Post;
+import com.blogify.BlogApp.entity.User;
+import com.blogify.BlogApp.repository.PostRepository;
+import com.blogify.BlogApp.repository.UserRepository;
+import com.blogify.BlogApp.service.CommentService;
+import com.blogify.BlogApp.service.LikeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Load test of the running application in each request thread mode: Tomcat's 200 platform threads, or a
+// virtual thread per request. The app is started in the benchmark JVM on a random port against a throwaway
+// PostgreSQL (Testcontainers, needs Docker), with the default pool of 20 connections behind DatabaseBulkhead,
+// and seeded with POSTS posts, their comments and likes. 400 client threads each keep one request in flight,
+// twice as many as there are platform request threads, so in platform mode requests also queue in Tomcat.
+// Each endpoint is measured twice: requests per millisecond (thrpt), then the latency distribution with p0.99
+// (sample). The endpoints are public reads:
+//  - postDetail mostly hits the post cache;
+//  - commentThreads runs the native threads query every time, so the bulkhead is the limit in both modes;
+//  - likeStatus reads the buffered count and one like row.
+// Client and server share the machine, so compare the modes with each other rather than with production.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Threads(400)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestThreadBenchmark {
+    private static final int POSTS = 200;
+    private static final int COMMENTS_PER_POST = 50;
+    private static final int USERS = 20;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private long[] postIds;
+    private long[] userIds;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        byte[] secret = new byte[32];
+        ThreadLocalRandom.current().nextBytes(secret);
+        context = new SpringApplicationBuilder(BlogAppApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + "virtual".equals(threads),
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.jpa.show-sql=false",
+                        "images.store=local",
+                        "images.local.root=" + Files.createTempDirectory("blogify-images"),
+                        "cloudinary.cloud_name=unused",
+                        "cloudinary.api_key=unused",
+                        "cloudinary.api_secret=unused",
+                        "frontend.url=http://localhost",
+                        "auth.token.secret=" + Base64.getEncoder().encodeToString(secret))
+                .run();
+        seed();
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    private void seed() {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        PostRepository postRepository = context.getBean(PostRepository.class);
+        userIds = new long[USERS];
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setName("Reader " + i);
+            user.setEmail("reader" + i + "@example.com");
+            user.setPassword("password123");
+            user.setRoles(new HashSet<>(Set.of("ROLE_USER")));
+            users.add(userRepository.save(user));
+            userIds[i] = users.get(i).getId();
+        }
+        postIds = new long[POSTS];
+        List<ImportCommentRequest> comments = new ArrayList<>();
+        List<ImportLikeRequest> likes = new ArrayList<>();
+        for (int i = 0; i < POSTS; i++) {
+            Post post = new Post();
+            post.setTitle("Post " + i);
+            post.setContent(PostCorpusGenerator.word(i) + " " + PostCorpusGenerator.word(i + 1));
+            post.setUser(users.get(i % USERS));
+            postIds[i] = postRepository.save(post).getId();
+            for (int j = 0; j < COMMENTS_PER_POST; j++) {
+                comments.add(new ImportCommentRequest(userIds[j % USERS], postIds[i], null, "Comment " + j, null));
+            }
+            for (int j = 0; j < i % USERS; j++) {
+                likes.add(new ImportLikeRequest(userIds[j], postIds[i]));
+            }
+        }
+        context.getBean(CommentService.class).importComments(comments);
+        context.getBean(LikeService.class).importLikes(likes);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public int postDetail() throws IOException, InterruptedException {
+        return get("/api/posts/" + randomPost());
+    }
+
+    @Benchmark
+    public int commentThreads() throws IOException, InterruptedException {
+        return get("/api/posts/" + randomPost() + "/comments/threads?size=10&replies=3");
+    }
+
+    @Benchmark
+    public int likeStatus() throws IOException, InterruptedException {
+        long userId = userIds[ThreadLocalRandom.current().nextInt(USERS)];
+        return get("/api/posts/" + randomPost() + "/like?userId=" + userId);
+    }
+
+    private long randomPost() {
+        return postIds[ThreadLocalRandom.current().nextInt(POSTS)];
+    }
+
+    private int get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(path + " answered " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
@@ -0,0 +1,98 @@
+package com.blogify.BlogApp.config;
+
+import com.blogify.BlogApp.service.CredentialCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Caching Authentication Provider Tests")
+class CachingAuthenticationProviderTest {
+
+    private AuthenticationProvider delegate;
+    private CredentialCache credentialCache;
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(AuthenticationProvider.class);
+        credentialCache = new CredentialCache(100, 60);
+        provider = new CachingAuthenticationProvider(delegate, credentialCache);
+
+        when(delegate.authenticate(any())).thenAnswer(invocation -> {
+            Authentication request = invocation.getArgument(0);
+            if (!"password123".equals(request.getCredentials())) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+            return UsernamePasswordAuthenticationToken.authenticated(
+                    new User(request.getName(), "$2a$10$hash", authorities), "password123", authorities);
+        });
+    }
+
+    private Authentication basic(String email, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(email, password);
+    }
+
+    @Test
+    @DisplayName("Should verify credentials once and answer repeats from the cache")
+    void shouldAnswerRepeatsFromCache() {
+        // When
+        Authentication first = provider.authenticate(basic("user@example.com", "password123"));
+        Authentication second = provider.authenticate(basic("user@example.com", "password123"));
+
+        // Then
+        verify(delegate, times(1)).authenticate(any());
+        assertTrue(second.isAuthenticated());
+        assertEquals(first.getName(), second.getName());
+        assertEquals(first.getAuthorities(), second.getAuthorities());
+        assertNull(second.getCredentials());
+    }
+
+    @Test
+    @DisplayName("Should never cache a failed attempt")
+    void shouldNotCacheFailures() {
+        // When & Then
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(basic("user@example.com", "wrong-password")));
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(basic("user@example.com", "wrong-password")));
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    @DisplayName("Should not accept a different password for a cached user")
+    void shouldNotMatchDifferentPassword() {
+        // Given
+        provider.authenticate(basic("user@example.com", "password123"));
+
+        // When & Then
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(basic("user@example.com", "password1234")));
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    @DisplayName("Should verify again after the user is evicted")
+    void shouldVerifyAgainAfterEviction() {
+        // Given
+        provider.authenticate(basic("user@example.com", "password123"));
+        provider.authenticate(basic("other@example.com", "password123"));
+
+        // When
+        credentialCache.evict("user@example.com");
+        provider.authenticate(basic("user@example.com", "password123"));
+        provider.authenticate(basic("other@example.com", "password123"));
+
+        // Then
+        verify(delegate, times(3)).authenticate(any());
+    }
+}
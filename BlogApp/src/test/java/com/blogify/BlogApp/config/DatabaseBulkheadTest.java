@@ -0,0 +1,121 @@
+package com.blogify.BlogApp.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Database Bulkhead Tests")
+class DatabaseBulkheadTest {
+
+    private DataSource pool;
+    private DatabaseBulkhead bulkhead;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        bulkhead = new DatabaseBulkhead(2, 100);
+        dataSource = (DataSource) bulkhead.postProcessAfterInitialization(pool, "dataSource");
+    }
+
+    @Test
+    @DisplayName("Should fail once every permit is held past the wait limit")
+    void shouldLimitConnections() throws SQLException {
+        // Given
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        // When & Then
+        assertEquals(0, bulkhead.availablePermits());
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(pool, times(2)).getConnection();
+        first.close();
+        second.close();
+        assertEquals(2, bulkhead.availablePermits());
+    }
+
+    @Test
+    @DisplayName("Should hand a released permit to a waiting thread")
+    void shouldWakeWaiterOnClose() throws Exception {
+        // Given
+        DatabaseBulkhead patient = new DatabaseBulkhead(1, 5_000);
+        DataSource guarded = patient.wrap(pool);
+        Connection held = guarded.getConnection();
+        ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return guarded.getConnection();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }, threads);
+            while (patient.waiting() == 0) {
+                Thread.onSpinWait();
+            }
+
+            // When
+            held.close();
+
+            // Then
+            assertNotNull(waiter.get(2, TimeUnit.SECONDS));
+            assertEquals(0, patient.availablePermits());
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should release the permit once however often a connection is closed")
+    void shouldReleaseOnce() throws SQLException {
+        // Given
+        Connection connection = dataSource.getConnection();
+
+        // When
+        connection.close();
+        connection.close();
+
+        // Then
+        assertEquals(2, bulkhead.availablePermits());
+    }
+
+    @Test
+    @DisplayName("Should return the permit when the pool cannot open a connection")
+    void shouldReleaseOnPoolFailure() throws SQLException {
+        // Given
+        when(pool.getConnection()).thenThrow(new SQLTransientConnectionException("pool timeout"));
+
+        // When & Then
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals(2, bulkhead.availablePermits());
+    }
+
+    @Test
+    @DisplayName("Should pass other calls through to the pooled connection")
+    void shouldDelegateCalls() throws SQLException {
+        // Given
+        Connection pooled = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(pooled);
+        when(pooled.getAutoCommit()).thenReturn(true);
+        Connection connection = dataSource.getConnection();
+
+        // When & Then
+        assertTrue(connection.getAutoCommit());
+        connection.close();
+        verify(pooled).close();
+        assertSame(dataSource, bulkhead.postProcessAfterInitialization(dataSource, "dataSource"));
+    }
+}
@@ -0,0 +1,166 @@
+package com.blogify.BlogApp.controller;
+
+import com.blogify.BlogApp.dto.LoginRequest;
+import com.blogify.BlogApp.dto.TokenRequest;
+import com.blogify.BlogApp.dto.TokenResponseDTO;
+import com.blogify.BlogApp.dto.UserResponseDTO;
+import com.blogify.BlogApp.exception.BadRequestException;
+import com.blogify.BlogApp.service.TokenService;
+import com.blogify.BlogApp.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = AuthController.class, excludeAutoConfiguration = {
+        org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class
+})
+@DisplayName("Auth Controller Tests")
+class AuthControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private TokenService tokenService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private UserResponseDTO userResponseDTO;
+    private TokenResponseDTO tokenResponseDTO;
+
+    @BeforeEach
+    void setUp() {
+        userResponseDTO = new UserResponseDTO(1L, "test@example.com", "Test User", null, null, null, null, Set.of("ROLE_USER"));
+        tokenResponseDTO = new TokenResponseDTO("access.jwt", "refresh.jwt", 900);
+    }
+
+    private String tokenBody(String token) throws Exception {
+        TokenRequest request = new TokenRequest();
+        request.setToken(token);
+        return objectMapper.writeValueAsString(request);
+    }
+
+    @Nested
+    @DisplayName("Issue Token Tests")
+    class IssueTokenTests {
+
+        @Test
+        @DisplayName("Should issue tokens for valid credentials")
+        void shouldIssueTokensForValidCredentials() throws Exception {
+            // Given
+            LoginRequest request = new LoginRequest();
+            request.setEmail("test@example.com");
+            request.setPassword("password123");
+            when(userService.login("test@example.com", "password123")).thenReturn(userResponseDTO);
+            when(tokenService.issueTokens(userResponseDTO)).thenReturn(tokenResponseDTO);
+
+            // When & Then
+            mockMvc.perform(post("/api/auth/token")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.accessToken").value("access.jwt"))
+                    .andExpect(jsonPath("$.refreshToken").value("refresh.jwt"))
+                    .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                    .andExpect(jsonPath("$.expiresIn").value(900));
+
+            verify(userService, times(1)).login("test@example.com", "password123");
+            verify(tokenService, times(1)).issueTokens(userResponseDTO);
+        }
+
+        @Test
+        @DisplayName("Should not issue tokens for invalid credentials")
+        void shouldNotIssueTokensForInvalidCredentials() throws Exception {
+            // Given
+            LoginRequest request = new LoginRequest();
+            request.setEmail("test@example.com");
+            request.setPassword("wrong-password");
+            when(userService.login(anyString(), anyString())).thenThrow(new BadRequestException("Invalid Credentials."));
+
+            // When & Then
+            mockMvc.perform(post("/api/auth/token")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Invalid Credentials."));
+
+            verify(tokenService, never()).issueTokens(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Refresh And Revoke Tests")
+    class RefreshAndRevokeTests {
+
+        @Test
+        @DisplayName("Should exchange a refresh token for a new pair")
+        void shouldRefreshTokens() throws Exception {
+            // Given
+            when(tokenService.refresh("refresh.jwt")).thenReturn(tokenResponseDTO);
+
+            // When & Then
+            mockMvc.perform(post("/api/auth/refresh")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(tokenBody("refresh.jwt")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.accessToken").value("access.jwt"));
+
+            verify(tokenService, times(1)).refresh("refresh.jwt");
+        }
+
+        @Test
+        @DisplayName("Should return bad request for an invalid refresh token")
+        void shouldReturnBadRequestForInvalidRefreshToken() throws Exception {
+            // Given
+            when(tokenService.refresh("expired.jwt")).thenThrow(new BadRequestException("Invalid or expired refresh token."));
+
+            // When & Then
+            mockMvc.perform(post("/api/auth/refresh")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(tokenBody("expired.jwt")))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should revoke a token")
+        void shouldRevokeToken() throws Exception {
+            // When & Then
+            mockMvc.perform(post("/api/auth/revoke")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(tokenBody("access.jwt")))
+                    .andExpect(status().isNoContent());
+
+            verify(tokenService, times(1)).revoke("access.jwt");
+        }
+
+        @Test
+        @DisplayName("Should reject a blank token")
+        void shouldRejectBlankToken() throws Exception {
+            // When & Then
+            mockMvc.perform(post("/api/auth/revoke")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(tokenBody("")))
+                    .andExpect(status().isBadRequest());
+
+            verify(tokenService, never()).revoke(anyString());
+        }
+    }
+}
@@ -2,7 +2,12 @@ package com.blogify.BlogApp.controller;
 
 import com.blogify.BlogApp.dto.CommentDTO;
 import com.blogify.BlogApp.dto.CreateCommentRequest;
+import com.blogify.BlogApp.dto.CursorPage;
+import com.blogify.BlogApp.dto.TotalCountDTO;
+import com.blogify.BlogApp.exception.BadRequestException;
+import com.blogify.BlogApp.exception.ResourceNotFoundException;
 import com.blogify.BlogApp.service.CommentService;
+import com.blogify.BlogApp.service.CountService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,6 +21,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -42,6 +48,9 @@ class CommentControllerTest {
     @MockBean
     private CommentService commentService;
 
+    @MockBean
+    private CountService countService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -296,6 +305,180 @@ class CommentControllerTest {
                             .param("size", "0"))
                     .andExpect(status().isInternalServerError());
         }
+
+        @Test
+        @DisplayName("Should get comments as slice without total count")
+        void shouldGetCommentsAsSliceWithoutTotalCount() throws Exception {
+            // Given
+            Long postId = 1L;
+            when(commentService.getCommentsByPostSlice(eq(postId), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(Arrays.asList(commentDTO), PageRequest.of(0, 10, Sort.by("createdAt").descending()), true));
+
+            // When & Then
+            mockMvc.perform(get("/api/posts/{postId}/comments", postId)
+                            .param("slice", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].id").value(1L))
+                    .andExpect(jsonPath("$.last").value(false))
+                    .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+            verify(commentService, times(1)).getCommentsByPostSlice(eq(postId), any(Pageable.class));
+            verify(commentService, never()).getCommentsByPost(anyLong(), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Should get cached comment count")
+        void shouldGetCachedCommentCount() throws Exception {
+            // Given
+            Long postId = 1L;
+            when(countService.countCommentsByPost(postId)).thenReturn(new TotalCountDTO(7L, LocalDateTime.now()));
+
+            // When & Then
+            mockMvc.perform(get("/api/posts/{postId}/comments/count", postId))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.total").value(7));
+
+            verify(countService, times(1)).countCommentsByPost(postId);
+        }
+    }
+
+    @Nested
+    @DisplayName("Comment Stream Tests")
+    class CommentStreamTests {
+
+        @Test
+        @DisplayName("Should get first stream page without cursor")
+        void shouldGetFirstStreamPage() throws Exception {
+            // Given
+            when(commentService.getCommentStream(1L, null, 10)).thenReturn(new CursorPage<>(List.of(commentDTO), "next-cursor", true));
+
+            // When & Then
+            mockMvc.perform(get("/api/posts/{postId}/comments/stream", 1L))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].id").value(1L))
+                    .andExpect(jsonPath("$.content[0].userName").value("Test User"))
+                    .andExpect(jsonPath("$.nextCursor").value("next-cursor"))
+                    .andExpect(jsonPath("$.hasNext").value(true));
+
+            verify(commentService, never()).getCommentsByPost(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should pass cursor and size to service")
+        void shouldPassCursorAndSize() throws Exception {
+            // Given
+            when(commentService.getCommentStream(1L, "abc", 20)).thenReturn(new CursorPage<>(List.of(), null, false));
+
+            // When & Then
+            mockMvc.perform(get("/api/posts/{postId}/comments/stream", 1L)
+                            .param("cursor", "abc")
+                            .param("size", "20"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.nextCursor").doesNotExist())
+                    .andExpect(jsonPath("$.hasNext").value(false));
+
+            verify(commentService, times(1)).getCommentStream(1L, "abc", 20);
+        }
+
+        @Test
+        @DisplayName("Should return bad request for invalid cursor")
+        void shouldReturnBadRequestForInvalidCursor() throws Exception {
+            // Given
+            when(commentService.getCommentStream(1L, "broken", 10)).thenThrow(new BadRequestException("Invalid cursor."));
+
+            // When & Then
+            mockMvc.perform(get("/api/posts/{postId}/comments/stream", 1L)
+                            .param("cursor", "broken"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Invalid cursor."));
+        }
+    }
+
+    @Nested
+    @DisplayName("Comment Thread Tests")
+    class CommentThreadTests {
+
+        @Test
+        @DisplayName("Should return a comment with its replies nested")
+        void shouldReturnNestedThread() throws Exception {
+            // Given
+            CommentDTO reply = new CommentDTO(2L, "A reply", LocalDateTime.now(), 2L, 1L, "Other User", 1L);
+            reply.setReplies(List.of());
+            commentDTO.setReplies(List.of(reply));
+            when(commentService.getThread(1L, 1L)).thenReturn(commentDTO);
+
+            // When & Then
+            mockMvc.perform(get("/api/posts/{postId}/comments/{commentId}/thread", 1L, 1L))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(1L))
+                    .andExpect(jsonPath("$.replies[0].id").value(2L))
+                    .andExpect(jsonPath("$.replies[0].parentId").value(1L))
+                    .andExpect(jsonPath("$.replies[0].userName").value("Other User"));
+        }
+
+        @Test
+        @DisplayName("Should return not found for an unknown comment")
+        void shouldReturnNotFoundForUnknownComment() throws Exception {
+            // Given
+            when(commentService.getThread(1L, 99L)).thenThrow(new ResourceNotFoundException("Comment not found."));
+
+            // When & Then
+            mockMvc.perform(get("/api/posts/{postId}/comments/{commentId}/thread", 1L, 99L))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.message").value("Comment not found."));
+        }
+
+        @Test
+        @DisplayName("Should list threads with default size and replies")
+        void shouldListThreadsWithDefaults() throws Exception {
+            // Given
+            when(commentService.getThreads(1L, null, 10, 3)).thenReturn(new CursorPage<>(List.of(commentDTO), "1", true));
+
+            // When & Then
+            mockMvc.perform(get("/api/posts/{postId}/comments/threads", 1L))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].id").value(1L))
+                    .andExpect(jsonPath("$.nextCursor").value("1"))
+                    .andExpect(jsonPath("$.hasNext").value(true));
+
+            verify(commentService, times(1)).getThreads(1L, null, 10, 3);
+        }
+
+        @Test
+        @DisplayName("Should pass cursor, size and replies to service")
+        void shouldPassThreadParameters() throws Exception {
+            // Given
+            when(commentService.getThreads(1L, "42", 5, 0)).thenReturn(new CursorPage<>(List.of(), null, false));
+
+            // When & Then
+            mockMvc.perform(get("/api/posts/{postId}/comments/threads", 1L)
+                            .param("cursor", "42")
+                            .param("size", "5")
+                            .param("replies", "0"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.hasNext").value(false));
+
+            verify(commentService, times(1)).getThreads(1L, "42", 5, 0);
+        }
+
+        @Test
+        @DisplayName("Should pass parent id of a reply to service")
+        void shouldPassParentIdOfReply() throws Exception {
+            // Given
+            createCommentRequest.setParentId(7L);
+            when(commentService.addComment(eq(1L), eq(1L), any(CreateCommentRequest.class))).thenReturn(commentDTO);
+            ArgumentCaptor<CreateCommentRequest> captor = ArgumentCaptor.forClass(CreateCommentRequest.class);
+
+            // When & Then
+            mockMvc.perform(post("/api/posts/{postId}/comments", 1L)
+                            .param("userId", "1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(createCommentRequest)))
+                    .andExpect(status().isOk());
+
+            verify(commentService).addComment(eq(1L), eq(1L), captor.capture());
+            assertEquals(7L, captor.getValue().getParentId());
+        }
     }
 
     @Nested
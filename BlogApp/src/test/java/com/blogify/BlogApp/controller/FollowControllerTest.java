@@ -0,0 +1,123 @@
+package com.blogify.BlogApp.controller;
+
+import com.blogify.BlogApp.dto.CursorPage;
+import com.blogify.BlogApp.dto.PostDTO;
+import com.blogify.BlogApp.exception.BadRequestException;
+import com.blogify.BlogApp.exception.ResourceNotFoundException;
+import com.blogify.BlogApp.service.FollowService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = FollowController.class, excludeAutoConfiguration = {
+        org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class
+})
+@DisplayName("Follow Controller Tests")
+class FollowControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private FollowService followService;
+
+    @Nested
+    @DisplayName("Follow Tests")
+    class FollowTests {
+
+        @Test
+        @DisplayName("Should follow a user")
+        void shouldFollowUser() throws Exception {
+            // When & Then
+            mockMvc.perform(post("/api/users/{userId}/follow", 2L)
+                            .param("followerId", "1"))
+                    .andExpect(status().isNoContent());
+
+            verify(followService, times(1)).follow(1L, 2L);
+        }
+
+        @Test
+        @DisplayName("Should return bad request when following oneself")
+        void shouldReturnBadRequestForSelfFollow() throws Exception {
+            // Given
+            doThrow(new BadRequestException("You cannot follow yourself.")).when(followService).follow(1L, 1L);
+
+            // When & Then
+            mockMvc.perform(post("/api/users/{userId}/follow", 1L)
+                            .param("followerId", "1"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("You cannot follow yourself."));
+        }
+
+        @Test
+        @DisplayName("Should return not found for an unknown user")
+        void shouldReturnNotFoundForUnknownUser() throws Exception {
+            // Given
+            doThrow(new ResourceNotFoundException("User not found.")).when(followService).follow(1L, 99L);
+
+            // When & Then
+            mockMvc.perform(post("/api/users/{userId}/follow", 99L)
+                            .param("followerId", "1"))
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("Should unfollow a user")
+        void shouldUnfollowUser() throws Exception {
+            // When & Then
+            mockMvc.perform(delete("/api/users/{userId}/follow", 2L)
+                            .param("followerId", "1"))
+                    .andExpect(status().isNoContent());
+
+            verify(followService, times(1)).unfollow(1L, 2L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Home Timeline Tests")
+    class HomeTimelineTests {
+
+        @Test
+        @DisplayName("Should get first timeline page without cursor")
+        void shouldGetFirstTimelinePage() throws Exception {
+            // Given
+            PostDTO postDTO = new PostDTO();
+            postDTO.setId(7L);
+            when(followService.getHomeTimeline(1L, null, 6)).thenReturn(new CursorPage<>(List.of(postDTO), "7", true));
+
+            // When & Then
+            mockMvc.perform(get("/api/users/{userId}/timeline", 1L))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].id").value(7L))
+                    .andExpect(jsonPath("$.nextCursor").value("7"))
+                    .andExpect(jsonPath("$.hasNext").value(true));
+        }
+
+        @Test
+        @DisplayName("Should pass cursor and size to service")
+        void shouldPassCursorAndSize() throws Exception {
+            // Given
+            when(followService.getHomeTimeline(1L, "7", 10)).thenReturn(new CursorPage<>(List.of(), null, false));
+
+            // When & Then
+            mockMvc.perform(get("/api/users/{userId}/timeline", 1L)
+                            .param("cursor", "7")
+                            .param("size", "10"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.hasNext").value(false));
+
+            verify(followService, times(1)).getHomeTimeline(eq(1L), eq("7"), eq(10));
+        }
+    }
+}
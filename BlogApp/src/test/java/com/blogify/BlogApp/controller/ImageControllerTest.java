@@ -0,0 +1,164 @@
+package com.blogify.BlogApp.controller;
+
+import com.blogify.BlogApp.service.impl.LocalImageStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = ImageController.class, properties = "images.store=local", excludeAutoConfiguration = {
+        org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class
+})
+@DisplayName("Image Controller Tests")
+class ImageControllerTest {
+
+    private static final String HASH = "039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81";
+    private static final String KEY = "blog_posts/03/" + HASH + ".png";
+    private static final String ETAG = "\"" + HASH + "\"";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LocalImageStore localImageStore;
+
+    @TempDir
+    Path tempDir;
+
+    private Path image;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        image = tempDir.resolve(HASH + ".png");
+        Files.write(image, new byte[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9});
+        when(localImageStore.resolve(anyString())).thenReturn(Optional.empty());
+        when(localImageStore.resolve(KEY)).thenReturn(Optional.of(image));
+    }
+
+    @Nested
+    @DisplayName("Get Image Tests")
+    class GetImageTests {
+
+        @Test
+        @DisplayName("Should serve the whole file with a strong ETag")
+        void shouldServeWholeFile() throws Exception {
+            // When & Then
+            mockMvc.perform(get("/images/" + KEY))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                    .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+                    .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+                    .andExpect(content().contentType("image/png"))
+                    .andExpect(header().string("X-Content-Type-Options", "nosniff"))
+                    .andExpect(content().bytes(new byte[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9}));
+        }
+
+        @Test
+        @DisplayName("Should not serve a file that is not one of the accepted image types")
+        void shouldNotServeOtherTypes() throws Exception {
+            // Given
+            String html = "blog_posts/03/" + HASH + ".html";
+            when(localImageStore.resolve(html)).thenReturn(Optional.of(image));
+
+            // When & Then
+            mockMvc.perform(get("/images/" + html))
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("Should answer a matching If-None-Match with 304")
+        void shouldReturnNotModified() throws Exception {
+            // When & Then
+            mockMvc.perform(get("/images/" + KEY).header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().bytes(new byte[0]));
+        }
+
+        @Test
+        @DisplayName("Should return 404 for an unknown image")
+        void shouldReturnNotFound() throws Exception {
+            // When & Then
+            mockMvc.perform(get("/images/blog_posts/00/missing.png"))
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("Should hand the file to sendfile when the connector supports it")
+        void shouldUseSendfile() throws Exception {
+            // When
+            var result = mockMvc.perform(get("/images/" + KEY)
+                            .requestAttr(ImageController.SENDFILE_SUPPORTED, true)
+                            .header(HttpHeaders.RANGE, "bytes=2-5"))
+                    .andExpect(status().isPartialContent())
+                    .andExpect(content().bytes(new byte[0]))
+                    .andReturn();
+
+            // Then
+            assertEquals(image.toRealPath().toString(), result.getRequest().getAttribute(ImageController.SENDFILE_FILENAME));
+            assertEquals(2L, result.getRequest().getAttribute(ImageController.SENDFILE_START));
+            assertEquals(6L, result.getRequest().getAttribute(ImageController.SENDFILE_END));
+        }
+    }
+
+    @Nested
+    @DisplayName("Range Tests")
+    class RangeTests {
+
+        @Test
+        @DisplayName("Should serve a byte range")
+        void shouldServeRange() throws Exception {
+            // When & Then
+            mockMvc.perform(get("/images/" + KEY).header(HttpHeaders.RANGE, "bytes=2-5"))
+                    .andExpect(status().isPartialContent())
+                    .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                    .andExpect(content().bytes(new byte[]{2, 3, 4, 5}));
+        }
+
+        @Test
+        @DisplayName("Should serve a suffix range")
+        void shouldServeSuffixRange() throws Exception {
+            // When & Then
+            mockMvc.perform(get("/images/" + KEY).header(HttpHeaders.RANGE, "bytes=-3"))
+                    .andExpect(status().isPartialContent())
+                    .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 7-9/10"))
+                    .andExpect(content().bytes(new byte[]{7, 8, 9}));
+        }
+
+        @Test
+        @DisplayName("Should reject a range past the end of the file")
+        void shouldRejectUnsatisfiableRange() throws Exception {
+            // When & Then
+            mockMvc.perform(get("/images/" + KEY).header(HttpHeaders.RANGE, "bytes=10-"))
+                    .andExpect(status().isRequestedRangeNotSatisfiable())
+                    .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+        }
+
+        @Test
+        @DisplayName("Should send the whole file when If-Range does not match")
+        void shouldIgnoreRangeForStaleIfRange() throws Exception {
+            // When & Then
+            mockMvc.perform(get("/images/" + KEY)
+                            .header(HttpHeaders.RANGE, "bytes=2-5")
+                            .header(HttpHeaders.IF_RANGE, "\"other\""))
+                    .andExpect(status().isOk())
+                    .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10));
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.blogify.BlogApp.controller;
 
 import com.blogify.BlogApp.dto.LikeDTO;
+import com.blogify.BlogApp.dto.LikeResponseDTO;
+import com.blogify.BlogApp.exception.BadRequestException;
 import com.blogify.BlogApp.service.LikeService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +14,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -255,6 +259,64 @@ class LikeControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Get Like Statuses Tests")
+    class GetLikeStatusesTests {
+
+        @Test
+        @DisplayName("Should return counts and liked flags for a page of posts")
+        void shouldReturnLikeStatusesForPage() throws Exception {
+            // Given
+            List<LikeResponseDTO> statuses = List.of(
+                    new LikeResponseDTO(3L, 12L, true),
+                    new LikeResponseDTO(1L, 0L, false));
+            when(likeService.getLikeStatuses(List.of(3L, 1L), 7L)).thenReturn(statuses);
+
+            // When & Then
+            mockMvc.perform(get("/api/posts/likes")
+                            .param("postIds", "3,1")
+                            .param("userId", "7"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(jsonPath("$[0].postId").value(3L))
+                    .andExpect(jsonPath("$[0].likeCount").value(12L))
+                    .andExpect(jsonPath("$[0].likedByUser").value(true))
+                    .andExpect(jsonPath("$[1].postId").value(1L))
+                    .andExpect(jsonPath("$[1].likedByUser").value(false));
+
+            verify(likeService, times(1)).getLikeStatuses(List.of(3L, 1L), 7L);
+        }
+
+        @Test
+        @DisplayName("Should allow anonymous lookups without userId")
+        void shouldAllowAnonymousLookups() throws Exception {
+            // Given
+            when(likeService.getLikeStatuses(List.of(1L, 2L), null))
+                    .thenReturn(List.of(new LikeResponseDTO(1L, 4L, false), new LikeResponseDTO(2L, 9L, false)));
+
+            // When & Then
+            mockMvc.perform(get("/api/posts/likes")
+                            .param("postIds", "1", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[1].likeCount").value(9L));
+
+            verify(likeService, times(1)).getLikeStatuses(List.of(1L, 2L), null);
+        }
+
+        @Test
+        @DisplayName("Should return bad request when too many ids are requested")
+        void shouldReturnBadRequestForOversizedBatch() throws Exception {
+            // Given
+            when(likeService.getLikeStatuses(anyList(), any()))
+                    .thenThrow(new BadRequestException("At most 100 post ids can be requested at once."));
+
+            // When & Then
+            mockMvc.perform(get("/api/posts/likes")
+                            .param("postIds", "1,2,3"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
     @Nested
     @DisplayName("Controller Integration Tests")
     class ControllerIntegrationTests {
@@ -1,7 +1,13 @@
 package com.blogify.BlogApp.controller;
 
+import com.blogify.BlogApp.dto.CacheStatsDTO;
 import com.blogify.BlogApp.dto.CreatePostRequest;
+import com.blogify.BlogApp.dto.CursorPage;
 import com.blogify.BlogApp.dto.PostDTO;
+import com.blogify.BlogApp.dto.PostSearchHitDTO;
+import com.blogify.BlogApp.dto.TotalCountDTO;
+import com.blogify.BlogApp.exception.BadRequestException;
+import com.blogify.BlogApp.service.CountService;
 import com.blogify.BlogApp.service.PostService;
 import com.blogify.BlogApp.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -17,6 +23,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
@@ -48,6 +55,9 @@ class PostControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private CountService countService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -255,6 +265,208 @@ class PostControllerTest {
 
             verify(postService, times(1)).getAllPosts(any(Pageable.class));
         }
+
+        @Test
+        @DisplayName("Should get posts as slice without total count")
+        void shouldGetPostsAsSliceWithoutTotalCount() throws Exception {
+            // Given
+            List<PostDTO> postList = Arrays.asList(postDTO);
+            when(postService.getAllPostsSlice(any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(postList, PageRequest.of(0, 6, Sort.by("createdAt").descending()), true));
+
+            // When & Then
+            mockMvc.perform(get("/api/posts")
+                            .param("slice", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].id").value(1L))
+                    .andExpect(jsonPath("$.last").value(false))
+                    .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+            verify(postService, times(1)).getAllPostsSlice(any(Pageable.class));
+            verify(postService, never()).getAllPosts(any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Should get cached post count")
+        void shouldGetCachedPostCount() throws Exception {
+            // Given
+            when(countService.countPosts()).thenReturn(new TotalCountDTO(42L, LocalDateTime.now()));
+
+            // When & Then
+            mockMvc.perform(get("/api/posts/count"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.total").value(42))
+                    .andExpect(jsonPath("$.asOf").exists());
+
+            verify(countService, times(1)).countPosts();
+        }
+
+        @Test
+        @DisplayName("Should expose post cache statistics")
+        void shouldExposePostCacheStatistics() throws Exception {
+            // Given
+            when(postService.getCacheStats()).thenReturn(List.of(
+                    new CacheStatsDTO("post-details", 3, 90, 10, 0.9, 0),
+                    new CacheStatsDTO("post-listings", 2, 40, 5, 40 / 45.0, 1)));
+
+            // When & Then
+            mockMvc.perform(get("/api/posts/cache/stats"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].name").value("post-details"))
+                    .andExpect(jsonPath("$[0].hitCount").value(90))
+                    .andExpect(jsonPath("$[0].missCount").value(10))
+                    .andExpect(jsonPath("$[1].evictionCount").value(1));
+
+            verify(postService, times(1)).getCacheStats();
+        }
+    }
+
+    @Nested
+    @DisplayName("Get Feed Tests")
+    class GetFeedTests {
+
+        @Test
+        @DisplayName("Should get first feed page without cursor")
+        void shouldGetFirstFeedPageWithoutCursor() throws Exception {
+            // Given
+            CursorPage<PostDTO> feedPage = new CursorPage<>(Arrays.asList(postDTO), "next-cursor", true);
+            when(postService.getFeed(isNull(), eq(6))).thenReturn(feedPage);
+
+            // When & Then
+            mockMvc.perform(get("/api/posts/feed"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content").isArray())
+                    .andExpect(jsonPath("$.content[0].id").value(1L))
+                    .andExpect(jsonPath("$.nextCursor").value("next-cursor"))
+                    .andExpect(jsonPath("$.hasNext").value(true))
+                    .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+            verify(postService, times(1)).getFeed(isNull(), eq(6));
+        }
+
+        @Test
+        @DisplayName("Should pass cursor and size to service")
+        void shouldPassCursorAndSizeToService() throws Exception {
+            // Given
+            CursorPage<PostDTO> lastPage = new CursorPage<>(Arrays.asList(postDTO), null, false);
+            when(postService.getFeed("abc", 10)).thenReturn(lastPage);
+
+            // When & Then
+            mockMvc.perform(get("/api/posts/feed")
+                            .param("cursor", "abc")
+                            .param("size", "10"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.nextCursor").doesNotExist())
+                    .andExpect(jsonPath("$.hasNext").value(false));
+
+            verify(postService, times(1)).getFeed("abc", 10);
+        }
+
+        @Test
+        @DisplayName("Should return bad request for invalid cursor")
+        void shouldReturnBadRequestForInvalidCursor() throws Exception {
+            // Given
+            when(postService.getFeed("broken", 6)).thenThrow(new BadRequestException("Invalid cursor."));
+
+            // When & Then
+            mockMvc.perform(get("/api/posts/feed")
+                            .param("cursor", "broken"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Invalid cursor."));
+        }
+    }
+
+    @Nested
+    @DisplayName("Get Trending Tests")
+    class GetTrendingTests {
+
+        @Test
+        @DisplayName("Should get first trending page with defaults")
+        void shouldGetFirstTrendingPage() throws Exception {
+            // Given
+            when(postService.getTrending(0, 6)).thenReturn(new SliceImpl<>(Arrays.asList(postDTO), PageRequest.of(0, 6), true));
+
+            // When & Then
+            mockMvc.perform(get("/api/posts/trending"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].id").value(1L))
+                    .andExpect(jsonPath("$.last").value(false))
+                    .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+            verify(postService, times(1)).getTrending(0, 6);
+            verify(postService, never()).getAllPosts(any());
+        }
+
+        @Test
+        @DisplayName("Should return bad request for an oversized page")
+        void shouldReturnBadRequestForOversizedPage() throws Exception {
+            // Given
+            when(postService.getTrending(0, 500)).thenThrow(new BadRequestException("Page size must be between 1 and 50."));
+
+            // When & Then
+            mockMvc.perform(get("/api/posts/trending")
+                            .param("size", "500"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Page size must be between 1 and 50."));
+        }
+    }
+
+    @Nested
+    @DisplayName("Search Posts Tests")
+    class SearchPostsTests {
+
+        @Test
+        @DisplayName("Should return ranked hits with highlights")
+        void shouldReturnRankedHitsWithHighlights() throws Exception {
+            // Given
+            PostSearchHitDTO hit = new PostSearchHitDTO(postDTO, 0.6f, "<mark>Test</mark> Post Title", "<mark>Test</mark> post content");
+            when(postService.searchPosts("test", null, 6)).thenReturn(new CursorPage<>(List.of(hit), "next-cursor", true));
+
+            // When & Then
+            mockMvc.perform(get("/api/posts/search")
+                            .param("q", "test"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].post.id").value(1L))
+                    .andExpect(jsonPath("$.content[0].score").value(0.6))
+                    .andExpect(jsonPath("$.content[0].titleHighlight").value("<mark>Test</mark> Post Title"))
+                    .andExpect(jsonPath("$.content[0].snippet").value("<mark>Test</mark> post content"))
+                    .andExpect(jsonPath("$.nextCursor").value("next-cursor"))
+                    .andExpect(jsonPath("$.hasNext").value(true));
+
+            verify(postService, times(1)).searchPosts("test", null, 6);
+            verify(postService, never()).getPostById(any());
+        }
+
+        @Test
+        @DisplayName("Should pass cursor and size to service")
+        void shouldPassCursorAndSizeToService() throws Exception {
+            // Given
+            when(postService.searchPosts("\"spring boot\"", "abc", 10)).thenReturn(new CursorPage<>(List.of(), null, false));
+
+            // When & Then
+            mockMvc.perform(get("/api/posts/search")
+                            .param("q", "\"spring boot\"")
+                            .param("cursor", "abc")
+                            .param("size", "10"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content").isEmpty())
+                    .andExpect(jsonPath("$.hasNext").value(false));
+
+            verify(postService, times(1)).searchPosts("\"spring boot\"", "abc", 10);
+        }
+
+        @Test
+        @DisplayName("Should return bad request for a blank query")
+        void shouldReturnBadRequestForBlankQuery() throws Exception {
+            // Given
+            when(postService.searchPosts(" ", null, 6)).thenThrow(new BadRequestException("Search query must not be empty."));
+
+            // When & Then
+            mockMvc.perform(get("/api/posts/search")
+                            .param("q", " "))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Search query must not be empty."));
+        }
     }
 
     @Nested
@@ -366,6 +578,26 @@ class PostControllerTest {
 
             verify(postService, never()).getMyBlogs(anyLong(), any(Pageable.class));
         }
+
+        @Test
+        @DisplayName("Should get my blogs as slice")
+        void shouldGetMyBlogsAsSlice() throws Exception {
+            // Given
+            Long userId = 1L;
+            when(postService.getMyBlogsSlice(eq(userId), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(Arrays.asList(postDTO), PageRequest.of(0, 6), false));
+
+            // When & Then
+            mockMvc.perform(get("/api/posts/my-blogs")
+                            .param("userId", userId.toString())
+                            .param("slice", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].userId").value(1L))
+                    .andExpect(jsonPath("$.last").value(true));
+
+            verify(postService, times(1)).getMyBlogsSlice(eq(userId), any(Pageable.class));
+            verify(postService, never()).getMyBlogs(anyLong(), any(Pageable.class));
+        }
     }
 
     @Nested
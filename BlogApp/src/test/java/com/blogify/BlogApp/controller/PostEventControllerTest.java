@@ -0,0 +1,59 @@
+package com.blogify.BlogApp.controller;
+
+import com.blogify.BlogApp.service.PostEventBus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = PostEventController.class, excludeAutoConfiguration = {
+        org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class
+})
+@DisplayName("Post Event Controller Tests")
+class PostEventControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PostEventBus postEventBus;
+
+    @Test
+    @DisplayName("Should open an event stream for the post without holding the request thread")
+    void shouldOpenEventStream() throws Exception {
+        // Given
+        when(postEventBus.subscribe(1L)).thenReturn(Optional.of(new SseEmitter()));
+
+        // When & Then
+        mockMvc.perform(get("/api/posts/{postId}/events", 1L)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM));
+
+        verify(postEventBus, times(1)).subscribe(1L);
+    }
+
+    @Test
+    @DisplayName("Should answer 503 with Retry-After when the bus is full")
+    void shouldRejectWhenFull() throws Exception {
+        // Given
+        when(postEventBus.subscribe(1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/posts/{postId}/events", 1L)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "30"));
+    }
+}
@@ -2,8 +2,10 @@ package com.blogify.BlogApp.controller;
 
 import com.blogify.BlogApp.dto.CreateUpdateProfileRequest;
 import com.blogify.BlogApp.dto.LoginRequest;
+import com.blogify.BlogApp.dto.TotalCountDTO;
 import com.blogify.BlogApp.dto.UserDTO;
 import com.blogify.BlogApp.dto.UserResponseDTO;
+import com.blogify.BlogApp.service.CountService;
 import com.blogify.BlogApp.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,11 +20,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
@@ -46,6 +50,9 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private CountService countService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -371,6 +378,39 @@ class UserControllerTest {
 
             verify(userService, times(1)).getAllUsers(any(Pageable.class));
         }
+
+        @Test
+        @DisplayName("Should get users as slice without total count")
+        void shouldGetUsersAsSliceWithoutTotalCount() throws Exception {
+            // Given
+            when(userService.getAllUsersSlice(any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(Arrays.asList(userDTO), PageRequest.of(0, 10), false));
+
+            // When & Then
+            mockMvc.perform(get("/api/users/all")
+                            .param("slice", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].id").value(1L))
+                    .andExpect(jsonPath("$.last").value(true))
+                    .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+            verify(userService, times(1)).getAllUsersSlice(any(Pageable.class));
+            verify(userService, never()).getAllUsers(any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Should get cached user count")
+        void shouldGetCachedUserCount() throws Exception {
+            // Given
+            when(countService.countUsers()).thenReturn(new TotalCountDTO(3L, LocalDateTime.now()));
+
+            // When & Then
+            mockMvc.perform(get("/api/users/count"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.total").value(3));
+
+            verify(countService, times(1)).countUsers();
+        }
     }
 
     @Nested
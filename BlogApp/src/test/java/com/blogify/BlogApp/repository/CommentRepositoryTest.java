@@ -0,0 +1,228 @@
+package com.blogify.BlogApp.repository;
+
+import com.blogify.BlogApp.dto.CommentDTO;
+import com.blogify.BlogApp.entity.Comment;
+import com.blogify.BlogApp.entity.Post;
+import com.blogify.BlogApp.entity.User;
+import com.blogify.BlogApp.service.CommentTree;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@DisplayName("Comment Repository Stream Tests")
+class CommentRepositoryTest {
+
+    private static final int COMMENTS = 12;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private Statistics statistics;
+    private Long postId;
+    private Long authorId;
+
+    @BeforeEach
+    void setUp() {
+        // Given: one post with comments by two authors with roles; pairs of comments share a createdAt
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<User> authors = new ArrayList<>();
+        for (int a = 0; a < 2; a++) {
+            User author = new User();
+            author.setName("Commenter " + a);
+            author.setEmail("commenter" + a + "@example.com");
+            author.setPassword("password123");
+            author.setRoles(new HashSet<>(Set.of("ROLE_USER")));
+            entityManager.persist(author);
+            authors.add(author);
+        }
+        Post post = new Post();
+        post.setTitle("Discussed post");
+        post.setContent("A long body that the comment stream must never read");
+        post.setUser(authors.get(0));
+        entityManager.persist(post);
+        postId = post.getId();
+        authorId = authors.get(0).getId();
+
+        for (int c = 0; c < COMMENTS; c++) {
+            Comment comment = new Comment();
+            comment.setContent("Comment " + c);
+            comment.setUser(authors.get(c % 2));
+            comment.setPost(post);
+            comment.setCreatedAt(base.plusMinutes(c / 2));
+            entityManager.persist(comment);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should load a stream page in one statement without loading the post")
+    void shouldLoadStreamPageInOneStatement() {
+        // When
+        List<CommentDTO> comments = commentRepository.findCommentStreamFirst(postId, PageRequest.of(0, 5));
+
+        // Then
+        assertEquals(5, comments.size());
+        assertEquals("Comment 11", comments.get(0).getContent());
+        assertEquals("Commenter 1", comments.get(0).getUserName());
+        assertEquals(postId, comments.get(0).getPostId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount(), "no Comment, Post or User entity should be hydrated");
+        assertEquals(0, statistics.getCollectionLoadCount(), "user roles should never be loaded");
+    }
+
+    @Test
+    @DisplayName("Should page through ties on createdAt without repeating or skipping comments")
+    void shouldPageThroughTies() {
+        // When: pages of 3 so that cursors land between comments with the same createdAt
+        List<Long> seen = new ArrayList<>();
+        List<CommentDTO> page = commentRepository.findCommentStreamFirst(postId, PageRequest.of(0, 3));
+        while (!page.isEmpty()) {
+            page.forEach(comment -> seen.add(comment.getId()));
+            CommentDTO last = page.get(page.size() - 1);
+            page = commentRepository.findCommentStreamAfter(postId, last.getCreatedAt(), last.getId(), PageRequest.of(0, 3));
+        }
+
+        // Then
+        assertEquals(COMMENTS, seen.size());
+        assertEquals(COMMENTS, new HashSet<>(seen).size());
+        List<Long> sorted = new ArrayList<>(seen);
+        sorted.sort((a, b) -> Long.compare(b, a));
+        assertEquals(sorted, seen);
+    }
+
+    @Nested
+    @DisplayName("Thread Tests")
+    class ThreadTests {
+
+        private Long threadPostId;
+        private Comment first;
+        private Comment second;
+        private Comment third;
+        private final List<Long> depthFirst = new ArrayList<>();
+
+        // Persists a comment and gives it its path, as addComment does.
+        private Comment reply(Post post, User author, Comment parent) {
+            Comment comment = new Comment();
+            comment.setContent("Threaded comment");
+            comment.setUser(author);
+            comment.setPost(post);
+            comment.setParentId(parent == null ? null : parent.getId());
+            entityManager.persist(comment);
+            comment.setPath(CommentTree.childPath(parent == null ? null : parent.getPath(), comment.getId()));
+            return comment;
+        }
+
+        @BeforeEach
+        void setUpThreads() {
+            // Given: on a second post, first -> (a -> b, c), second -> d, third; the flat comments of the other post have no path yet
+            User author = entityManager.find(User.class, authorId);
+            Post post = new Post();
+            post.setTitle("Threaded post");
+            post.setContent("Replies to replies");
+            post.setUser(author);
+            entityManager.persist(post);
+            threadPostId = post.getId();
+
+            first = reply(post, author, null);
+            Comment a = reply(post, author, first);
+            Comment b = reply(post, author, a);
+            Comment c = reply(post, author, first);
+            second = reply(post, author, null);
+            Comment d = reply(post, author, second);
+            third = reply(post, author, null);
+            depthFirst.addAll(List.of(first.getId(), a.getId(), b.getId(), c.getId()));
+            entityManager.flush();
+            entityManager.clear();
+            statistics.clear();
+        }
+
+        @Test
+        @DisplayName("Should load a whole subtree depth first in one statement")
+        void shouldLoadSubtreeInOneStatement() {
+            // When
+            List<CommentDTO> rows = commentRepository.findSubtree(threadPostId, first.getPath(), CommentTree.subtreeEnd(first.getPath()), PageRequest.of(0, 100));
+
+            // Then
+            assertEquals(depthFirst, rows.stream().map(CommentDTO::getId).toList());
+            assertEquals(first.getId(), rows.get(1).getParentId());
+            assertEquals(1, statistics.getPrepareStatementCount());
+            assertEquals(0, statistics.getEntityLoadCount(), "no Comment, Post or User entity should be hydrated");
+        }
+
+        @Test
+        @DisplayName("Should list roots newest first, skipping replies")
+        void shouldListRootsNewestFirst() {
+            // When
+            List<CommentDTO> roots = commentRepository.findRootsBefore(threadPostId, Long.MAX_VALUE, PageRequest.of(0, 10));
+
+            // Then
+            assertEquals(List.of(third.getId(), second.getId(), first.getId()), roots.stream().map(CommentDTO::getId).toList());
+            roots.forEach(root -> assertNull(root.getParentId()));
+        }
+
+        @Test
+        @DisplayName("Should load the first replies of every root in one statement")
+        void shouldLoadTopRepliesInOneStatement() {
+            // When
+            List<Object[]> rows = commentRepository.findTopReplies(threadPostId, first.getPath(), CommentTree.subtreeEnd(third.getPath()), 2);
+
+            // Then: two replies under first, depth first, one under second and none under third
+            assertEquals(3, rows.size());
+            assertEquals(depthFirst.get(1), ((Number) rows.get(0)[0]).longValue());
+            assertEquals(depthFirst.get(2), ((Number) rows.get(1)[0]).longValue());
+            assertEquals(second.getId(), ((Number) rows.get(2)[6]).longValue());
+            assertEquals(1, statistics.getPrepareStatementCount());
+        }
+
+        @Test
+        @DisplayName("Should only find a comment's path within its own post")
+        void shouldScopePathToPost() {
+            assertEquals(first.getPath(), commentRepository.findPathByIdAndPostId(first.getId(), threadPostId).orElseThrow());
+            assertTrue(commentRepository.findPathByIdAndPostId(first.getId(), postId).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should backfill comments without a path as roots")
+        void shouldBackfillRootPaths() {
+            // When
+            int updated = commentRepository.backfillRootPaths();
+
+            // Then
+            assertEquals(COMMENTS, updated);
+            List<CommentDTO> roots = commentRepository.findRootsBefore(postId, Long.MAX_VALUE, PageRequest.of(0, COMMENTS));
+            Long root = roots.get(0).getId();
+            assertEquals(CommentTree.segment(root), commentRepository.findPathByIdAndPostId(root, postId).orElseThrow());
+            assertEquals(0, commentRepository.backfillRootPaths());
+        }
+    }
+}
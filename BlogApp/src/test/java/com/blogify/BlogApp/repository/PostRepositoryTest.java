@@ -0,0 +1,257 @@
+package com.blogify.BlogApp.repository;
+
+import com.blogify.BlogApp.dto.PostDTO;
+import com.blogify.BlogApp.entity.ImageStatus;
+import com.blogify.BlogApp.entity.Post;
+import com.blogify.BlogApp.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@DisplayName("Post Repository Read Path Tests")
+class PostRepositoryTest {
+
+    private static final int AUTHORS = 5;
+    private static final int POSTS_PER_AUTHOR = 6;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    private Statistics statistics;
+    private Long firstAuthorId;
+    private Long newestPostId;
+
+    @BeforeEach
+    void setUp() {
+        // Given: several authors, each with roles, so any per-row author or roles load would show up as extra statements
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int a = 0; a < AUTHORS; a++) {
+            User author = new User();
+            author.setName("Author " + a);
+            author.setEmail("author" + a + "@example.com");
+            author.setPassword("password123");
+            author.setRoles(new HashSet<>(Set.of("ROLE_USER", "ROLE_WRITER")));
+            entityManager.persist(author);
+            if (firstAuthorId == null) {
+                firstAuthorId = author.getId();
+            }
+
+            for (int p = 0; p < POSTS_PER_AUTHOR; p++) {
+                Post post = new Post();
+                post.setTitle("Post " + a + "-" + p);
+                post.setContent("Test post content");
+                post.setUser(author);
+                post.setCreatedAt(base.plusMinutes(a * POSTS_PER_AUTHOR + p));
+                entityManager.persist(post);
+                newestPostId = post.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    private void assertNoEntitiesLoaded() {
+        assertEquals(0, statistics.getEntityLoadCount(), "no Post/User entity should be hydrated");
+        assertEquals(0, statistics.getCollectionLoadCount(), "user roles should never be loaded");
+    }
+
+    @Nested
+    @DisplayName("Statement Count Tests")
+    class StatementCountTests {
+
+        @ParameterizedTest(name = "page size {0}")
+        @ValueSource(ints = {1, 6, 20})
+        @DisplayName("Should load a feed page in one statement regardless of page size")
+        void shouldLoadFeedPageInOneStatement(int size) {
+            // When
+            List<PostDTO> posts = postRepository.findFeedFirst(PageRequest.of(0, size));
+
+            // Then
+            assertEquals(size, posts.size());
+            assertEquals(1, statistics.getPrepareStatementCount());
+            assertNoEntitiesLoaded();
+        }
+
+        @ParameterizedTest(name = "page size {0}")
+        @ValueSource(ints = {1, 6, 20})
+        @DisplayName("Should load a keyset page in one statement regardless of page size")
+        void shouldLoadKeysetPageInOneStatement(int size) {
+            // Given
+            PostDTO newest = postRepository.findFeedFirst(PageRequest.of(0, 1)).get(0);
+            statistics.clear();
+
+            // When
+            List<PostDTO> posts = postRepository.findFeedAfter(newest.getCreatedAt(), newest.getId(), PageRequest.of(0, size));
+
+            // Then
+            assertEquals(size, posts.size());
+            assertTrue(posts.get(0).getCreatedAt().isBefore(newest.getCreatedAt()));
+            assertEquals(1, statistics.getPrepareStatementCount());
+            assertNoEntitiesLoaded();
+        }
+
+        @ParameterizedTest(name = "page size {0}")
+        @ValueSource(ints = {1, 6, 20})
+        @DisplayName("Should load a slice in one statement regardless of page size")
+        void shouldLoadSliceInOneStatement(int size) {
+            // When
+            Slice<PostDTO> slice = postRepository.findPostSlice(PageRequest.of(0, size, Sort.by("createdAt").descending()));
+
+            // Then
+            assertEquals(size, slice.getNumberOfElements());
+            assertTrue(slice.hasNext());
+            assertEquals(1, statistics.getPrepareStatementCount());
+            assertNoEntitiesLoaded();
+        }
+
+        @ParameterizedTest(name = "page size {0}")
+        @ValueSource(ints = {1, 6, 20})
+        @DisplayName("Should load a page with exactly one select and one count")
+        void shouldLoadPageWithSelectAndCount(int size) {
+            // When
+            Page<PostDTO> page = postRepository.findPostPage(PageRequest.of(0, size, Sort.by("createdAt").descending()));
+
+            // Then
+            assertEquals(size, page.getNumberOfElements());
+            assertEquals(AUTHORS * POSTS_PER_AUTHOR, page.getTotalElements());
+            assertEquals(2, statistics.getPrepareStatementCount());
+            assertNoEntitiesLoaded();
+        }
+
+        @Test
+        @DisplayName("Should load one author's posts in one statement")
+        void shouldLoadAuthorSliceInOneStatement() {
+            // When
+            Slice<PostDTO> slice = postRepository.findPostSliceByUserId(firstAuthorId, PageRequest.of(0, POSTS_PER_AUTHOR));
+
+            // Then
+            assertEquals(POSTS_PER_AUTHOR, slice.getNumberOfElements());
+            assertFalse(slice.hasNext());
+            assertEquals(1, statistics.getPrepareStatementCount());
+            assertNoEntitiesLoaded();
+        }
+
+        @Test
+        @DisplayName("Should load post detail in one statement")
+        void shouldLoadPostDetailInOneStatement() {
+            // When
+            PostDTO post = postRepository.findPostDTOById(newestPostId).orElseThrow();
+
+            // Then
+            assertEquals("Author " + (AUTHORS - 1), post.getName());
+            assertEquals(1, statistics.getPrepareStatementCount());
+            assertNoEntitiesLoaded();
+        }
+    }
+
+    @Nested
+    @DisplayName("Projection Content Tests")
+    class ProjectionContentTests {
+
+        @Test
+        @DisplayName("Should order feed newest first and carry author id and name")
+        void shouldOrderFeedNewestFirstWithAuthor() {
+            // When
+            List<PostDTO> posts = postRepository.findFeedFirst(PageRequest.of(0, POSTS_PER_AUTHOR + 1));
+
+            // Then
+            assertEquals(newestPostId, posts.get(0).getId());
+            for (int i = 1; i < posts.size(); i++) {
+                assertFalse(posts.get(i).getCreatedAt().isAfter(posts.get(i - 1).getCreatedAt()));
+            }
+            assertNotNull(posts.get(0).getUserId());
+            assertEquals("Author " + (AUTHORS - 1), posts.get(0).getName());
+            assertEquals("Author " + (AUTHORS - 2), posts.get(POSTS_PER_AUTHOR).getName());
+        }
+
+        @Test
+        @DisplayName("Should not repeat or skip posts when walking the feed by cursor")
+        void shouldWalkWholeFeedByCursor() {
+            // Given
+            Pageable pageSize = PageRequest.of(0, 4);
+            List<PostDTO> page = postRepository.findFeedFirst(pageSize);
+            Set<Long> seen = new HashSet<>();
+
+            // When
+            while (!page.isEmpty()) {
+                page.forEach(p -> assertTrue(seen.add(p.getId()), "post returned twice: " + p.getId()));
+                PostDTO last = page.get(page.size() - 1);
+                page = postRepository.findFeedAfter(last.getCreatedAt(), last.getId(), pageSize);
+            }
+
+            // Then
+            assertEquals(AUTHORS * POSTS_PER_AUTHOR, seen.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Targeted Update Tests")
+    class TargetedUpdateTests {
+
+        @Test
+        @DisplayName("Should keep an attached image when the text is edited afterwards")
+        void shouldEditTextWithoutTouchingImage() {
+            // Given: an upload attaches an image
+            assertEquals(Optional.of(""), postRepository.lockImgUrlById(newestPostId));
+            postRepository.updateImage(newestPostId, "https://img.example.com/new.jpg",
+                    Map.of("320w", "https://img.example.com/new-320.jpg"), ImageStatus.READY);
+
+            // When: an edit that started before the upload writes its text
+            int updated = postRepository.updateText(newestPostId, "Edited title", "Edited content");
+            entityManager.clear();
+
+            // Then
+            assertEquals(1, updated);
+            PostDTO post = postRepository.findPostDTOById(newestPostId).orElseThrow();
+            assertEquals("Edited title", post.getTitle());
+            assertEquals("https://img.example.com/new.jpg", post.getImgUrl());
+            assertEquals(ImageStatus.READY, post.getImageStatus());
+            assertEquals("https://img.example.com/new-320.jpg", post.getImageVariants().get("320w"));
+            assertEquals(Optional.of("https://img.example.com/new.jpg"), postRepository.lockImgUrlById(newestPostId));
+        }
+
+        @Test
+        @DisplayName("Should change nothing for a post that does not exist")
+        void shouldReportMissingPost() {
+            assertEquals(0, postRepository.updateText(999_999L, "Title", "Content"));
+            assertEquals(0, postRepository.updateImageStatus(999_999L, ImageStatus.FAILED));
+            assertTrue(postRepository.lockImgUrlById(999_999L).isEmpty());
+        }
+    }
+}
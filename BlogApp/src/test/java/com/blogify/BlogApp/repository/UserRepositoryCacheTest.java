@@ -0,0 +1,183 @@
+package com.blogify.BlogApp.repository;
+
+import com.blogify.BlogApp.config.ModelMapperConfig;
+import com.blogify.BlogApp.dto.CreateUpdateProfileRequest;
+import com.blogify.BlogApp.entity.User;
+import com.blogify.BlogApp.service.CredentialCache;
+import com.blogify.BlogApp.service.ImageUploadPipeline;
+import com.blogify.BlogApp.service.PostCache;
+import com.blogify.BlogApp.service.PostSearch;
+import com.blogify.BlogApp.service.TokenDenylist;
+import com.blogify.BlogApp.service.impl.UserServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Runs without the per-test transaction: every repository call gets its own session, as a request does,
+// so only the second-level cache can save a round trip. UserServiceImpl comes from the slice with its
+// collaborators outside the database mocked.
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({UserServiceImpl.class, ModelMapperConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("User Second-Level Cache Tests")
+class UserRepositoryCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockBean
+    private PostCache postCache;
+
+    @MockBean
+    private CredentialCache credentialCache;
+
+    @MockBean
+    private TokenDenylist tokenDenylist;
+
+    @MockBean
+    private ImageUploadPipeline imageUploadPipeline;
+
+    @MockBean
+    private PostSearch postSearch;
+
+    private Statistics statistics;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setName("Cached User");
+        user.setEmail("cached@example.com");
+        user.setPassword("password123");
+        user.setRoles(new HashSet<>(Set.of("ROLE_USER", "ROLE_WRITER")));
+        userId = userRepository.save(user).getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should serve findById and roles from the cache once warm")
+    void shouldServeFindByIdFromCache() {
+        // Given
+        userRepository.findById(userId).orElseThrow();
+        statistics.clear();
+
+        // When
+        User user = userRepository.findById(userId).orElseThrow();
+
+        // Then
+        assertEquals(Set.of("ROLE_USER", "ROLE_WRITER"), user.getRoles());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(User.class.getName()).getHitCount());
+        assertEquals(1, statistics.getCollectionStatistics(User.class.getName() + ".roles").getCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("Should resolve email lookups through the natural-id cache once warm")
+    void shouldServeFindByEmailFromCache() {
+        // Given
+        userRepository.findByEmail("cached@example.com").orElseThrow();
+        statistics.clear();
+
+        // When
+        User user = userRepository.findByEmail("cached@example.com").orElseThrow();
+
+        // Then
+        assertEquals(userId, user.getId());
+        assertEquals(2, user.getRoles().size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getNaturalIdCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("Should not serve the old email or name after updateUser")
+    void shouldRefreshCacheOnUpdateUser() {
+        // Given
+        userRepository.findByEmail("cached@example.com").orElseThrow();
+        userRepository.findById(userId).orElseThrow();
+        CreateUpdateProfileRequest request = new CreateUpdateProfileRequest();
+        request.setName("Renamed User");
+        request.setEmail("renamed@example.com");
+
+        // When
+        userService.updateUser(userId, request, null);
+
+        // Then
+        assertTrue(userRepository.findByEmail("cached@example.com").isEmpty());
+        assertEquals(userId, userRepository.findByEmail("renamed@example.com").orElseThrow().getId());
+        verify(credentialCache).evict("cached@example.com");
+        verify(tokenDenylist).revokeAllBefore(eq(userId), any());
+        assertEquals("Renamed User", userRepository.findById(userId).orElseThrow().getName());
+    }
+
+    @Test
+    @DisplayName("Should keep the user logged in when changing to a taken email fails")
+    void shouldNotRevokeWhenUpdateFails() {
+        // Given
+        User other = new User();
+        other.setName("Other User");
+        other.setEmail("taken@example.com");
+        other.setPassword("password123");
+        other.setRoles(new HashSet<>(Set.of("ROLE_USER")));
+        userRepository.save(other);
+        CreateUpdateProfileRequest request = new CreateUpdateProfileRequest();
+        request.setEmail("taken@example.com");
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> userService.updateUser(userId, request, null));
+        verify(tokenDenylist, never()).revokeAllBefore(anyLong(), any());
+        verify(credentialCache, never()).evict(anyString());
+        assertEquals(userId, userRepository.findByEmail("cached@example.com").orElseThrow().getId());
+    }
+
+    @Test
+    @DisplayName("Should not serve a user after deleteUser")
+    void shouldEvictCacheOnDeleteUser() {
+        // Given
+        userRepository.findByEmail("cached@example.com").orElseThrow();
+        userRepository.findById(userId).orElseThrow();
+
+        // When
+        userService.deleteUser(userId);
+
+        // Then
+        assertTrue(userRepository.findById(userId).isEmpty());
+        assertTrue(userRepository.findByEmail("cached@example.com").isEmpty());
+    }
+}
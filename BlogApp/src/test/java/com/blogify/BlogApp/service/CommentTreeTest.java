@@ -0,0 +1,86 @@
+package com.blogify.BlogApp.service;
+
+import com.blogify.BlogApp.dto.CommentDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Comment Tree Tests")
+class CommentTreeTest {
+
+    private static CommentDTO row(long id, Long parentId) {
+        return new CommentDTO(id, "Comment " + id, LocalDateTime.now(), 1L, 1L, "User", parentId);
+    }
+
+    @Test
+    @DisplayName("Should build paths that sort parents before children and siblings by id")
+    void shouldBuildSortablePaths() {
+        // When
+        String root = CommentTree.childPath(null, 7);
+        String child = CommentTree.childPath(root, 42);
+        String laterRoot = CommentTree.childPath(null, 10);
+
+        // Then
+        assertEquals("000000000007", root);
+        assertEquals("000000000007000000000042", child);
+        assertEquals(2, CommentTree.depth(child));
+        assertTrue(root.compareTo(child) < 0);
+        assertTrue(child.compareTo(laterRoot) < 0);
+    }
+
+    @Test
+    @DisplayName("Should end a subtree right after its last descendant")
+    void shouldBoundSubtree() {
+        // Given
+        String root = CommentTree.childPath(null, 7);
+        String deepest = CommentTree.childPath(CommentTree.childPath(root, 999_999_999_999L), 999_999_999_999L);
+
+        // When
+        String end = CommentTree.subtreeEnd(root);
+
+        // Then
+        assertEquals("000000000008", end);
+        assertTrue(deepest.compareTo(end) < 0);
+        assertTrue(CommentTree.childPath(null, 8).compareTo(end) >= 0);
+    }
+
+    @Test
+    @DisplayName("Should reject ids that do not fit a segment")
+    void shouldRejectOversizedIds() {
+        assertThrows(IllegalArgumentException.class, () -> CommentTree.segment(1_000_000_000_000L));
+        assertThrows(IllegalArgumentException.class, () -> CommentTree.segment(-1));
+    }
+
+    @Test
+    @DisplayName("Should nest rows in path order under their parents")
+    void shouldAssembleTree() {
+        // Given: 1 -> (2 -> 4, 3), 5
+        List<CommentDTO> rows = List.of(row(1, null), row(2, 1L), row(4, 2L), row(3, 1L), row(5, null));
+
+        // When
+        List<CommentDTO> roots = CommentTree.assemble(rows);
+
+        // Then
+        assertEquals(List.of(1L, 5L), roots.stream().map(CommentDTO::getId).toList());
+        CommentDTO first = roots.get(0);
+        assertEquals(List.of(2L, 3L), first.getReplies().stream().map(CommentDTO::getId).toList());
+        assertEquals(4L, first.getReplies().get(0).getReplies().get(0).getId());
+        assertTrue(roots.get(1).getReplies().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should make a row whose parent is missing a root")
+    void shouldTreatOrphanAsRoot() {
+        // When: the subtree of comment 2 is read without its parent
+        List<CommentDTO> roots = CommentTree.assemble(List.of(row(2, 1L), row(4, 2L)));
+
+        // Then
+        assertEquals(1, roots.size());
+        assertEquals(2L, roots.get(0).getId());
+        assertEquals(4L, roots.get(0).getReplies().get(0).getId());
+    }
+}
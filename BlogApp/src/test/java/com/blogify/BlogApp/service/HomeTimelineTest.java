@@ -0,0 +1,142 @@
+package com.blogify.BlogApp.service;
+
+import com.blogify.BlogApp.repository.FollowRepository;
+import com.blogify.BlogApp.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// User 1 follows user 2; timelines keep at most 3 post ids.
+@DisplayName("Home Timeline Tests")
+class HomeTimelineTest {
+
+    private FollowRepository followRepository;
+    private PostRepository postRepository;
+    private HomeTimeline homeTimeline;
+
+    @BeforeEach
+    void setUp() {
+        followRepository = mock(FollowRepository.class);
+        postRepository = mock(PostRepository.class);
+        when(followRepository.findFolloweeIds(1L)).thenReturn(List.of(2L));
+        when(followRepository.findFollowerIds(2L)).thenReturn(List.of(1L));
+        homeTimeline = new HomeTimeline(followRepository, postRepository, 3, 100, 1000);
+    }
+
+    private void recentPosts(List<Long> authors, long beforeId, List<Long> postIds) {
+        when(postRepository.findRecentPostIdsByUserIds(eq(authors), eq(beforeId), any(Pageable.class))).thenReturn(postIds);
+    }
+
+    @Test
+    @DisplayName("Should fan a new post out into a timeline in memory")
+    void shouldFanOutNewPost() {
+        // Given
+        recentPosts(List.of(1L, 2L), Long.MAX_VALUE, List.of(5L, 3L));
+        assertEquals(List.of(5L, 3L), homeTimeline.read(1L, Long.MAX_VALUE, 10));
+
+        // When
+        homeTimeline.postCreated(2L, 7L);
+        homeTimeline.postCreated(1L, 6L);
+
+        // Then
+        assertEquals(List.of(7L, 6L, 5L), homeTimeline.read(1L, Long.MAX_VALUE, 3));
+        verify(postRepository, times(1)).findRecentPostIdsByUserIds(anyCollection(), anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should apply a post pushed while its timeline is being built")
+    void shouldApplyPushDuringBuild() {
+        // Given: the build reads the table before post 7 commits, and 7 is pushed before the build finishes
+        Thread pusher = new Thread(() -> homeTimeline.postCreated(2L, 7L));
+        when(postRepository.findRecentPostIdsByUserIds(eq(List.of(1L, 2L)), eq(Long.MAX_VALUE), any(Pageable.class))).thenAnswer(invocation -> {
+            pusher.start();
+            while (pusher.getState() == Thread.State.NEW || pusher.getState() == Thread.State.RUNNABLE) {
+                Thread.onSpinWait();
+            }
+            return List.of(5L);
+        });
+
+        // When
+        homeTimeline.read(1L, Long.MAX_VALUE, 10);
+
+        // Then
+        assertDoesNotThrow(() -> pusher.join(5_000));
+        assertEquals(List.of(7L, 5L), homeTimeline.read(1L, Long.MAX_VALUE, 10));
+    }
+
+    @Test
+    @DisplayName("Should page by post id and read past the cap from the table")
+    void shouldReadPastCapFromTable() {
+        // Given: the table has more posts than the cap
+        recentPosts(List.of(1L, 2L), Long.MAX_VALUE, List.of(4L, 3L, 2L));
+        recentPosts(List.of(1L, 2L), 4L, List.of(2L, 1L));
+        homeTimeline.read(1L, Long.MAX_VALUE, 1);
+
+        // When
+        homeTimeline.postCreated(2L, 8L);
+        homeTimeline.postCreated(2L, 7L);
+
+        // Then: 8 and 7 pushed out 2 and 3
+        assertEquals(List.of(8L, 7L), homeTimeline.read(1L, Long.MAX_VALUE, 2));
+        assertEquals(List.of(4L, 2L, 1L), homeTimeline.read(1L, 7L, 3));
+    }
+
+    @Test
+    @DisplayName("Should merge celebrity posts on read instead of fanning them out")
+    void shouldMergeCelebrityPostsOnRead() {
+        // Given
+        when(followRepository.findFolloweeIdsWithMoreFollowersThan(1000)).thenReturn(List.of(9L));
+        when(followRepository.findFolloweeIds(1L)).thenReturn(List.of(2L, 9L));
+        homeTimeline.refreshCelebrities();
+        recentPosts(List.of(1L, 2L), Long.MAX_VALUE, List.of(4L));
+        recentPosts(List.of(9L), Long.MAX_VALUE, List.of(6L, 5L, 1L));
+
+        // When
+        homeTimeline.postCreated(9L, 10L);
+        List<Long> ids = homeTimeline.read(1L, Long.MAX_VALUE, 3);
+
+        // Then
+        assertEquals(List.of(6L, 5L, 4L), ids);
+        verify(followRepository, never()).findFollowerIds(9L);
+    }
+
+    @Test
+    @DisplayName("Should rebuild a timeline after its user follows someone")
+    void shouldRebuildAfterFollow() {
+        // Given
+        recentPosts(List.of(1L, 2L), Long.MAX_VALUE, List.of(3L));
+        homeTimeline.read(1L, Long.MAX_VALUE, 10);
+        when(followRepository.findFolloweeIds(1L)).thenReturn(List.of(2L, 4L));
+        recentPosts(List.of(1L, 2L, 4L), Long.MAX_VALUE, List.of(5L, 3L));
+
+        // When
+        homeTimeline.followsChanged(1L);
+
+        // Then
+        assertEquals(List.of(5L, 3L), homeTimeline.read(1L, Long.MAX_VALUE, 10));
+    }
+
+    @Test
+    @DisplayName("Should keep ids ordered when posts commit out of order")
+    void shouldOrderOutOfOrderPosts() {
+        // Given
+        recentPosts(List.of(1L, 2L), Long.MAX_VALUE, List.of());
+        homeTimeline.read(1L, Long.MAX_VALUE, 10);
+
+        // When
+        homeTimeline.postCreated(2L, 9L);
+        homeTimeline.postCreated(2L, 7L);
+        homeTimeline.postCreated(2L, 8L);
+        homeTimeline.postCreated(2L, 8L);
+
+        // Then
+        assertEquals(List.of(9L, 8L, 7L), homeTimeline.read(1L, Long.MAX_VALUE, 10));
+    }
+}
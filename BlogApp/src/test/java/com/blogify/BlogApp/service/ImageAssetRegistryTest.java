@@ -0,0 +1,130 @@
+package com.blogify.BlogApp.service;
+
+import com.blogify.BlogApp.repository.ImageAssetRepository;
+import com.blogify.BlogApp.service.ImageUploadPipeline.StoredImage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs without the per-test transaction so every reference count change is committed, as in production.
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Image Asset Registry Tests")
+class ImageAssetRegistryTest {
+
+    private static final String HASH = "039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81";
+
+    @Autowired
+    private ImageAssetRepository imageAssetRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ImageAssetRegistry registry;
+    private StoredImage image;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ImageAssetRegistry(imageAssetRepository, new TransactionTemplate(transactionManager));
+        image = new StoredImage("https://cdn.example.com/blog_posts/a1.jpg", Map.of("320w", "https://cdn.example.com/blog_posts/a1-320.jpg"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        imageAssetRepository.deleteAll();
+    }
+
+    private int refCount() {
+        return imageAssetRepository.findByFolderAndContentHash("blog_posts", HASH).orElseThrow().getRefCount();
+    }
+
+    @Test
+    @DisplayName("Should reuse a registered image for the same bytes in the same folder")
+    void shouldReuseRegisteredImage() {
+        // Given
+        assertTrue(registry.acquire("blog_posts", HASH).isEmpty());
+        registry.register("blog_posts", HASH, image);
+
+        // When
+        Optional<StoredImage> reused = registry.acquire("blog_posts", HASH);
+
+        // Then
+        assertEquals(Optional.of(image), reused);
+        assertEquals(2, refCount());
+        assertTrue(registry.acquire("blog_users", HASH).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should hand back the first copy when identical bytes are registered twice")
+    void shouldKeepFirstRegisteredCopy() {
+        // Given
+        registry.register("blog_posts", HASH, image);
+
+        // When
+        StoredImage kept = registry.register("blog_posts", HASH, new StoredImage("https://cdn.example.com/blog_posts/b2.jpg", Map.of()));
+
+        // Then
+        assertEquals(image, kept);
+        assertEquals(2, refCount());
+    }
+
+    @Test
+    @DisplayName("Should only delete the files with the last reference")
+    void shouldReleaseOnLastReference() {
+        // Given
+        registry.register("blog_posts", HASH, image);
+        registry.acquire("blog_posts", HASH);
+        List<StoredImage> deleted = new ArrayList<>();
+
+        // When & Then
+        assertFalse(registry.release(image.url(), deleted::add));
+        assertEquals(1, refCount());
+        assertTrue(deleted.isEmpty());
+        assertTrue(registry.release(image.url(), deleted::add));
+        assertEquals(List.of(image), deleted);
+        assertTrue(imageAssetRepository.findByUrl(image.url()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should delete the files while the asset row still exists")
+    void shouldDeleteFilesBeforeRow() {
+        // Given
+        registry.register("blog_posts", HASH, image);
+        List<Boolean> rowPresent = new ArrayList<>();
+
+        // When
+        registry.release(image.url(), released -> rowPresent.add(imageAssetRepository.findByUrl(released.url()).isPresent()));
+
+        // Then
+        assertEquals(List.of(true), rowPresent);
+        assertTrue(imageAssetRepository.findByUrl(image.url()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should treat urls stored before the index as owned by their row")
+    void shouldReleaseUntrackedUrl() {
+        // Given
+        List<StoredImage> deleted = new ArrayList<>();
+
+        // When
+        boolean released = registry.release("https://cdn.example.com/blog_posts/legacy.jpg", deleted::add);
+
+        // Then
+        assertTrue(released);
+        assertEquals(List.of(new StoredImage("https://cdn.example.com/blog_posts/legacy.jpg", Map.of())), deleted);
+    }
+}
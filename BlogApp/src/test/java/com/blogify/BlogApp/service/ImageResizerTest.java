@@ -0,0 +1,92 @@
+package com.blogify.BlogApp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Image Resizer Tests")
+class ImageResizerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ImageResizer resizer;
+
+    @BeforeEach
+    void setUp() {
+        resizer = new ImageResizer(List.of(320, 640, 1280), 0.82f, 50_000_000);
+    }
+
+    private Path image(String name, int width, int height, int type, String format) throws IOException {
+        Path file = tempDir.resolve(name);
+        ImageIO.write(new BufferedImage(width, height, type), format, file.toFile());
+        return file;
+    }
+
+    @Test
+    @DisplayName("Should produce every smaller width with the aspect ratio kept")
+    void shouldProduceVariants() throws IOException {
+        // Given
+        Path source = image("photo.jpg", 3000, 1500, BufferedImage.TYPE_INT_RGB, "jpeg");
+
+        // When
+        Map<Integer, Path> variants = resizer.resize(source, tempDir);
+
+        // Then
+        assertEquals(List.of(1280, 640, 320), List.copyOf(variants.keySet()));
+        for (Map.Entry<Integer, Path> variant : variants.entrySet()) {
+            BufferedImage image = ImageIO.read(variant.getValue().toFile());
+            assertEquals(variant.getKey(), image.getWidth());
+            assertEquals(variant.getKey() / 2, image.getHeight());
+            assertTrue(variant.getValue().toString().endsWith(".jpg"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep transparency by writing PNG")
+    void shouldKeepTransparency() throws IOException {
+        // Given
+        Path source = image("logo.png", 700, 700, BufferedImage.TYPE_INT_ARGB, "png");
+
+        // When
+        Map<Integer, Path> variants = resizer.resize(source, tempDir);
+
+        // Then
+        assertEquals(List.of(640, 320), List.copyOf(variants.keySet()));
+        assertTrue(ImageIO.read(variants.get(320).toFile()).getColorModel().hasAlpha());
+    }
+
+    @Test
+    @DisplayName("Should skip images that are small already or unreadable")
+    void shouldSkipSmallAndUnreadableImages() throws IOException {
+        // Given
+        Path small = image("small.png", 300, 200, BufferedImage.TYPE_INT_ARGB, "png");
+        Path garbage = Files.write(tempDir.resolve("garbage.jpg"), new byte[]{1, 2, 3});
+
+        // When & Then
+        assertTrue(resizer.resize(small, tempDir).isEmpty());
+        assertTrue(resizer.resize(garbage, tempDir).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should refuse images above the pixel limit")
+    void shouldRefuseHugeImages() throws IOException {
+        // Given
+        ImageResizer strict = new ImageResizer(List.of(320), 0.82f, 1_000_000);
+        Path source = image("huge.png", 2000, 1000, BufferedImage.TYPE_INT_RGB, "png");
+
+        // When & Then
+        assertTrue(strict.resize(source, tempDir).isEmpty());
+    }
+}
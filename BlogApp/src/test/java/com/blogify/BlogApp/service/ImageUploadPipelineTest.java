@@ -0,0 +1,388 @@
+package com.blogify.BlogApp.service;
+
+import com.blogify.BlogApp.exception.BadRequestException;
+import com.blogify.BlogApp.service.ImageUploadPipeline.SpooledImage;
+import com.blogify.BlogApp.service.ImageUploadPipeline.StoredImage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// The image store is a local stub; uploads run on a single worker so their order is predictable.
+@DisplayName("Image Upload Pipeline Tests")
+class ImageUploadPipelineTest {
+
+    @TempDir
+    Path spoolDir;
+
+    private ImageStore imageStore;
+    private ImageAssetRegistry imageAssetRegistry;
+    private ImageUploadPipeline pipeline;
+    private List<String> attached;
+    private CountDownLatch done;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        imageStore = mock(ImageStore.class);
+        // Every upload is new and every reference the last one, unless a test says otherwise.
+        imageAssetRegistry = mock(ImageAssetRegistry.class);
+        when(imageAssetRegistry.acquire(anyString(), anyString())).thenReturn(Optional.empty());
+        when(imageAssetRegistry.register(anyString(), anyString(), any())).thenAnswer(invocation -> invocation.getArgument(2));
+        when(imageAssetRegistry.release(anyString(), any())).thenAnswer(invocation -> {
+            invocation.<Consumer<StoredImage>>getArgument(1).accept(new StoredImage(invocation.getArgument(0), Map.of()));
+            return true;
+        });
+        pipeline = new ImageUploadPipeline(imageStore, new ImageResizer(List.of(320, 640, 1280), 0.82f, 50_000_000),
+                imageAssetRegistry, spoolDir.toString(), 1, 10, 3, 1);
+        attached = new CopyOnWriteArrayList<>();
+        done = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pipeline.shutdown();
+    }
+
+    // A JPEG start of image marker is all spool looks at.
+    private static byte[] jpeg(int... body) {
+        byte[] content = new byte[4 + body.length];
+        content[0] = (byte) 0xFF;
+        content[1] = (byte) 0xD8;
+        content[2] = (byte) 0xFF;
+        content[3] = (byte) 0xE0;
+        for (int i = 0; i < body.length; i++) {
+            content[4 + i] = (byte) body[i];
+        }
+        return content;
+    }
+
+    private SpooledImage spool() {
+        return pipeline.spool(new MockMultipartFile("image", "photo.jpg", "image/jpeg", jpeg(1, 2, 3)));
+    }
+
+    private String url(String name) {
+        return "https://res.cloudinary.com/demo/image/upload/v1/blog_posts/" + name + ".jpg";
+    }
+
+    @Test
+    @DisplayName("Should upload the spooled file and hand back its url")
+    void shouldUploadSpooledFile() throws Exception {
+        // Given
+        SpooledImage spooled = spool();
+        assertArrayEquals(jpeg(1, 2, 3), Files.readAllBytes(spooled.file()));
+        when(imageStore.store(any(Path.class), eq("blog_posts"))).thenReturn(url("a1"));
+
+        // When
+        pipeline.submit("post:1", spooled, "blog_posts", image -> {
+            attached.add(image.url());
+            done.countDown();
+            return true;
+        }, done::countDown);
+
+        // Then
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(url("a1")), attached);
+        pipeline.shutdown();
+        assertFalse(Files.exists(spooled.file()));
+    }
+
+    @Test
+    @DisplayName("Should retry a failed upload")
+    void shouldRetryFailedUpload() throws Exception {
+        // Given
+        when(imageStore.store(any(Path.class), eq("blog_posts")))
+                .thenThrow(new IOException("timeout"))
+                .thenThrow(new RuntimeException("503"))
+                .thenReturn(url("a1"));
+
+        // When
+        pipeline.submit("post:1", spool(), "blog_posts", image -> {
+            attached.add(image.url());
+            done.countDown();
+            return true;
+        }, done::countDown);
+
+        // Then
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, attached.size());
+        verify(imageStore, times(3)).store(any(Path.class), eq("blog_posts"));
+    }
+
+    @Test
+    @DisplayName("Should report failure once all attempts are used up")
+    void shouldReportFailureAfterLastAttempt() throws Exception {
+        // Given
+        SpooledImage spooled = spool();
+        when(imageStore.store(any(Path.class), eq("blog_posts"))).thenThrow(new IOException("timeout"));
+
+        // When
+        pipeline.submit("post:1", spooled, "blog_posts", image -> attached.add(image.url()), done::countDown);
+
+        // Then
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(attached.isEmpty());
+        verify(imageStore, times(3)).store(any(Path.class), eq("blog_posts"));
+        pipeline.shutdown();
+        assertFalse(Files.exists(spooled.file()));
+    }
+
+    @Test
+    @DisplayName("Should delete the stored file and report failure when registering throws")
+    void shouldCleanUpWhenRegisterFails() throws Exception {
+        // Given
+        when(imageStore.store(any(Path.class), eq("blog_posts"))).thenReturn(url("a1"));
+        when(imageAssetRegistry.register(anyString(), anyString(), any())).thenThrow(new RuntimeException("connection lost"));
+
+        // When
+        pipeline.submit("post:1", spool(), "blog_posts", image -> attached.add(image.url()), done::countDown);
+
+        // Then
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(attached.isEmpty());
+        pipeline.shutdown();
+        verify(imageStore).delete(url("a1"));
+        verify(imageAssetRegistry, never()).release(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should release the reference and report failure when applying the image throws")
+    void shouldReleaseWhenApplyFails() throws Exception {
+        // Given
+        when(imageStore.store(any(Path.class), eq("blog_posts"))).thenReturn(url("a1"));
+
+        // When
+        pipeline.submit("post:1", spool(), "blog_posts", image -> {
+            throw new RuntimeException("connection lost");
+        }, done::countDown);
+
+        // Then
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        pipeline.shutdown();
+        verify(imageAssetRegistry).release(eq(url("a1")), any());
+        verify(imageStore).delete(url("a1"));
+    }
+
+    @Test
+    @DisplayName("Should fail an upload at once when the queue is full instead of running it on the caller")
+    void shouldFailWhenQueueFull() throws Exception {
+        // Given: a worker stuck on the first upload and a queue of one holding the second
+        ImageUploadPipeline small = new ImageUploadPipeline(imageStore, new ImageResizer(List.of(320), 0.82f, 50_000_000),
+                imageAssetRegistry, spoolDir.toString(), 1, 1, 3, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(imageStore.store(any(Path.class), eq("blog_posts"))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return url("a1");
+        });
+        try {
+            small.submit("post:1", small.spool(new MockMultipartFile("image", "a.jpg", "image/jpeg", jpeg(1))), "blog_posts", image -> true, () -> {});
+            small.submit("post:2", small.spool(new MockMultipartFile("image", "b.jpg", "image/jpeg", jpeg(2))), "blog_posts", image -> true, () -> {});
+            SpooledImage third = small.spool(new MockMultipartFile("image", "c.jpg", "image/jpeg", jpeg(3)));
+            List<String> failedOn = new CopyOnWriteArrayList<>();
+
+            // When
+            small.submit("post:3", third, "blog_posts", image -> true, () -> failedOn.add(Thread.currentThread().getName()));
+
+            // Then
+            assertEquals(List.of(Thread.currentThread().getName()), failedOn);
+            assertFalse(Files.exists(third.file()));
+        } finally {
+            release.countDown();
+            small.shutdown();
+        }
+        verify(imageStore, times(2)).store(any(Path.class), eq("blog_posts"));
+    }
+
+    @Test
+    @DisplayName("Should release references on the release thread, never on the caller")
+    void shouldReleaseOnOwnThread() throws Exception {
+        // Given
+        List<String> releasedOn = new CopyOnWriteArrayList<>();
+        when(imageAssetRegistry.release(eq(url("old")), any())).thenAnswer(invocation -> {
+            releasedOn.add(Thread.currentThread().getName());
+            return false;
+        });
+
+        // When
+        pipeline.release(url("old"));
+        pipeline.shutdown();
+
+        // Then
+        assertEquals(List.of("image-release"), releasedOn);
+    }
+
+    @Test
+    @DisplayName("Should apply only the newest image and delete the superseded one")
+    void shouldDeleteSupersededUpload() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        when(imageStore.store(any(Path.class), eq("blog_posts")))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return url("old");
+                })
+                .thenReturn(url("new"));
+
+        // When
+        pipeline.submit("post:1", spool(), "blog_posts", image -> attached.add(image.url()), () -> {});
+        pipeline.submit("post:1", spool(), "blog_posts", image -> {
+            attached.add(image.url());
+            done.countDown();
+            return true;
+        }, () -> {});
+        release.countDown();
+
+        // Then
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(url("new")), attached);
+        verify(imageStore).delete(url("old"));
+    }
+
+    @Test
+    @DisplayName("Should delete the image when its row is gone")
+    void shouldDeleteImageOfDeletedRow() throws Exception {
+        // Given
+        when(imageStore.store(any(Path.class), eq("blog_posts"))).thenReturn(url("a1"));
+
+        // When
+        pipeline.submit("post:1", spool(), "blog_posts", image -> false, () -> {});
+        pipeline.shutdown();
+
+        // Then
+        verify(imageStore).delete(url("a1"));
+    }
+
+    @Test
+    @DisplayName("Should hash the bytes while spooling and name the file after the detected type")
+    void shouldHashWhileSpooling() {
+        // When
+        SpooledImage spooled = pipeline.spool(new MockMultipartFile("image", "photo.html", "text/html", jpeg(1, 2, 3)));
+
+        // Then
+        assertEquals("474ebe266cd7f9ed28807fa3fdfe0c04cdb3cef9313cdda5c08b15910fcc8184", spooled.sha256());
+        assertTrue(spooled.file().getFileName().toString().endsWith(".jpg"));
+    }
+
+    @Test
+    @DisplayName("Should refuse an upload that is not an accepted image type")
+    void shouldRejectNonImage() throws IOException {
+        // Given
+        MockMultipartFile page = new MockMultipartFile("image", "photo.jpg", "image/jpeg", "<script>alert(1)</script>".getBytes());
+
+        // When & Then
+        assertThrows(BadRequestException.class, () -> pipeline.spool(page));
+        try (var files = Files.list(spoolDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reuse stored bytes without calling the image store")
+    void shouldReuseStoredImage() throws Exception {
+        // Given
+        SpooledImage spooled = spool();
+        StoredImage existing = new StoredImage(url("a1"), Map.of("320w", url("a1-320")));
+        when(imageAssetRegistry.acquire("blog_posts", spooled.sha256())).thenReturn(Optional.of(existing));
+
+        // When
+        Optional<StoredImage> reused = pipeline.reuse("post:1", spooled, "blog_posts");
+
+        // Then
+        assertEquals(Optional.of(existing), reused);
+        assertFalse(Files.exists(spooled.file()));
+        verifyNoInteractions(imageStore);
+    }
+
+    @Test
+    @DisplayName("Should supersede a pending upload when reusing stored bytes")
+    void shouldSupersedePendingUploadOnReuse() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        when(imageStore.store(any(Path.class), eq("blog_posts"))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return url("pending");
+        });
+        pipeline.submit("post:1", spool(), "blog_posts", image -> attached.add(image.url()), () -> {});
+        SpooledImage duplicate = pipeline.spool(new MockMultipartFile("image", "other.jpg", "image/jpeg", jpeg(9)));
+        when(imageAssetRegistry.acquire("blog_posts", duplicate.sha256())).thenReturn(Optional.of(new StoredImage(url("a1"), Map.of())));
+
+        // When
+        pipeline.reuse("post:1", duplicate, "blog_posts");
+        release.countDown();
+        pipeline.shutdown();
+
+        // Then
+        assertTrue(attached.isEmpty());
+        verify(imageAssetRegistry).release(eq(url("pending")), any());
+    }
+
+    @Test
+    @DisplayName("Should only delete files once the last reference is released")
+    void shouldDeleteOnLastRelease() throws Exception {
+        // Given
+        when(imageAssetRegistry.release(eq(url("shared")), any())).thenReturn(false);
+        when(imageAssetRegistry.release(eq(url("last")), any())).thenAnswer(invocation -> {
+            invocation.<Consumer<StoredImage>>getArgument(1).accept(new StoredImage(url("last"), Map.of("320w", url("last-320"))));
+            return true;
+        });
+
+        // When
+        pipeline.release(url("shared"));
+        pipeline.release(url("last"));
+        pipeline.release(null);
+        pipeline.shutdown();
+
+        // Then
+        verify(imageStore, never()).delete(url("shared"));
+        verify(imageStore).delete(url("last"));
+        verify(imageStore).delete(url("last-320"));
+    }
+
+    @Test
+    @DisplayName("Should store smaller variants next to the original")
+    void shouldStoreVariants() throws Exception {
+        // Given
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(800, 400, BufferedImage.TYPE_INT_ARGB), "png", png);
+        SpooledImage spooled = pipeline.spool(new MockMultipartFile("image", "photo.png", "image/png", png.toByteArray()));
+        AtomicInteger stored = new AtomicInteger();
+        when(imageStore.store(any(Path.class), eq("blog_posts"))).thenAnswer(invocation -> url("img" + stored.incrementAndGet()));
+        List<StoredImage> images = new CopyOnWriteArrayList<>();
+
+        // When
+        pipeline.submit("post:1", spooled, "blog_posts", image -> {
+            images.add(image);
+            done.countDown();
+            return true;
+        }, done::countDown);
+
+        // Then
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(url("img1"), images.get(0).url());
+        assertEquals(Map.of("640w", url("img2"), "320w", url("img3")), images.get(0).variants());
+        pipeline.shutdown();
+        try (var files = Files.list(spoolDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.blogify.BlogApp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Like Count Buffer Tests")
+class LikeCountBufferTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private LikeCountBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        buffer = new LikeCountBuffer(jdbcTemplate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Long> flushedDeltas() {
+        ArgumentCaptor<List<Object[]>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batchCaptor.capture());
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Object[] row : batchCaptor.getValue()) {
+            deltas.put((Long) row[1], (Long) row[0]);
+        }
+        return deltas;
+    }
+
+    @Test
+    @DisplayName("Should flush concurrent increments and decrements as one batch")
+    void shouldFlushConcurrentUpdatesAsOneBatch() throws Exception {
+        // Given
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 1000; i++) {
+                    buffer.increment(1L);
+                    if (i % 2 == 0) {
+                        buffer.decrement(2L);
+                    }
+                }
+                return null;
+            });
+        }
+
+        // When
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(8000, buffer.pendingDelta(1L));
+        buffer.flush();
+
+        // Then
+        Map<Long, Long> deltas = flushedDeltas();
+        assertEquals(8000L, deltas.get(1L));
+        assertEquals(-4000L, deltas.get(2L));
+        assertEquals(0, buffer.pendingDelta(1L));
+        assertEquals(0, buffer.pendingDelta(2L));
+    }
+
+    @Test
+    @DisplayName("Should skip the database when nothing changed")
+    void shouldSkipDatabaseWhenNothingChanged() {
+        // Given
+        buffer.increment(1L);
+        buffer.decrement(1L);
+
+        // When
+        buffer.flush();
+
+        // Then
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should keep deltas for the next flush when the batch fails")
+    void shouldKeepDeltasWhenBatchFails() {
+        // Given
+        buffer.increment(1L);
+        buffer.increment(1L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new RuntimeException("connection lost"));
+
+        // When
+        buffer.flush();
+
+        // Then
+        assertEquals(2, buffer.pendingDelta(1L));
+    }
+
+    @Test
+    @DisplayName("Should keep deltas visible until their batch is written")
+    void shouldKeepDeltasVisibleWhileFlushing() {
+        // Given
+        buffer.increment(1L);
+        buffer.increment(1L);
+        List<Long> seenDuringBatch = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            seenDuringBatch.add(buffer.pendingDelta(1L));
+            buffer.increment(1L);
+            return new int[]{1};
+        });
+
+        // When
+        buffer.flush();
+
+        // Then
+        assertEquals(List.of(2L), seenDuringBatch);
+        assertEquals(1, buffer.pendingDelta(1L));
+    }
+}
@@ -0,0 +1,162 @@
+package com.blogify.BlogApp.service;
+
+import com.blogify.BlogApp.dto.CacheStatsDTO;
+import com.blogify.BlogApp.dto.CursorPage;
+import com.blogify.BlogApp.dto.PostDTO;
+import com.blogify.BlogApp.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Post Cache Tests")
+class PostCacheTest {
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 2, Sort.by("createdAt").descending());
+    private static final Pageable SECOND_PAGE = PageRequest.of(1, 2, Sort.by("createdAt").descending());
+
+    private PostCache postCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        postCache = new PostCache(100, 100, 60);
+        loads = new AtomicInteger();
+    }
+
+    private PostDTO post(long id, long userId) {
+        return new PostDTO(id, "Post " + id, "Test post content", null, null, null, userId, LocalDateTime.now().minusMinutes(id), "Author " + userId);
+    }
+
+    private Page<PostDTO> loadPage(Pageable pageable, PostDTO... posts) {
+        loads.incrementAndGet();
+        return new PageImpl<>(List.of(posts), pageable, 4);
+    }
+
+    private CursorPage<PostDTO> loadFeed(PostDTO... posts) {
+        loads.incrementAndGet();
+        return new CursorPage<>(List.of(posts), "next", true);
+    }
+
+    private PostDTO loadPost(Long id) {
+        loads.incrementAndGet();
+        return post(id, 1L);
+    }
+
+    private void warm() {
+        postCache.getPage("page", FIRST_PAGE, () -> loadPage(FIRST_PAGE, post(1, 1), post(2, 1)));
+        postCache.getPage("page", SECOND_PAGE, () -> loadPage(SECOND_PAGE, post(3, 2), post(4, 2)));
+        postCache.getFeed(null, 2, () -> loadFeed(post(1, 1), post(2, 1)));
+        postCache.getFeed("cursor", 2, () -> loadFeed(post(3, 2), post(4, 2)));
+        postCache.getPost(1L, this::loadPost);
+        postCache.getPost(3L, this::loadPost);
+        loads.set(0);
+    }
+
+    private void readAll() {
+        postCache.getPage("page", FIRST_PAGE, () -> loadPage(FIRST_PAGE));
+        postCache.getPage("page", SECOND_PAGE, () -> loadPage(SECOND_PAGE));
+        postCache.getFeed(null, 2, this::loadFeed);
+        postCache.getFeed("cursor", 2, this::loadFeed);
+        postCache.getPost(1L, this::loadPost);
+        postCache.getPost(3L, this::loadPost);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated reads without calling the loader")
+    void shouldServeRepeatedReadsFromCache() {
+        // Given
+        warm();
+
+        // When
+        readAll();
+
+        // Then
+        assertEquals(0, loads.get());
+        CacheStatsDTO details = postCache.stats().get(0);
+        CacheStatsDTO listings = postCache.stats().get(1);
+        assertEquals(PostCache.DETAILS, details.getName());
+        assertEquals(2, details.getHitCount());
+        assertEquals(2, details.getMissCount());
+        assertEquals(4, listings.getHitCount());
+        assertEquals(4, listings.getMissCount());
+    }
+
+    @Test
+    @DisplayName("Should not cache a post that was not found")
+    void shouldNotCacheMissingPost() {
+        // When
+        assertThrows(ResourceNotFoundException.class,
+                () -> postCache.getPost(9L, id -> { throw new ResourceNotFoundException("Post not found"); }));
+        postCache.getPost(9L, this::loadPost);
+
+        // Then
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should keep cursor feed pages and post details on create")
+    void shouldEvictOnlyHeadListingsOnCreate() {
+        // Given
+        warm();
+
+        // When
+        postCache.evictForCreate();
+        readAll();
+
+        // Then: both offset pages and the first feed page reload
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should evict only the detail and listings showing an updated post")
+    void shouldEvictPreciselyOnUpdate() {
+        // Given
+        warm();
+
+        // When
+        postCache.evictForUpdate(3L);
+        readAll();
+
+        // Then: second offset page, cursor feed page and post 3
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should evict offset pages and feed pages showing a deleted post")
+    void shouldEvictOffsetPagesOnDelete() {
+        // Given
+        warm();
+
+        // When
+        postCache.evictForDelete(1L);
+        readAll();
+
+        // Then: both offset pages, the first feed page and post 1
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should evict entries carrying an author's name when the profile changes")
+    void shouldEvictAuthorEntries() {
+        // Given
+        warm();
+
+        // When
+        postCache.evictForAuthor(2L);
+        readAll();
+
+        // Then: the second offset page and the cursor feed page
+        assertEquals(2, loads.get());
+    }
+}
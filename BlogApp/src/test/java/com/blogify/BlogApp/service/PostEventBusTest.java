@@ -0,0 +1,205 @@
+package com.blogify.BlogApp.service;
+
+import com.blogify.BlogApp.dto.CommentDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Post Event Bus Tests")
+class PostEventBusTest {
+
+    private PostEventBus bus;
+
+    // Records the raw SSE text of every event instead of writing to a response; send can be held to play a slow client.
+    private static class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        private final CountDownLatch release;
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            StringBuilder event = new StringBuilder();
+            items.forEach(item -> event.append(item.getData()));
+            sent.add(event.toString());
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        String next() throws InterruptedException {
+            return sent.poll(2, TimeUnit.SECONDS);
+        }
+    }
+
+    private static RecordingEmitter fast() {
+        return new RecordingEmitter(new CountDownLatch(0));
+    }
+
+    private static CommentDTO comment(Long postId, String content) {
+        return new CommentDTO(1L, content, LocalDateTime.of(2024, 1, 1, 12, 0), 2L, postId, "Commenter");
+    }
+
+    @BeforeEach
+    void setUp() {
+        bus = new PostEventBus(Jackson2ObjectMapperBuilder.json().build(), 2, 60_000, 10);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        bus.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should push comments and like deltas only to subscribers of that post")
+    void shouldPushToSubscribersOfPost() throws InterruptedException {
+        // Given
+        RecordingEmitter subscriber = fast();
+        RecordingEmitter other = fast();
+        bus.subscribe(1L, subscriber);
+        bus.subscribe(2L, other);
+
+        // When
+        bus.commentAdded(comment(1L, "First!"));
+        bus.likesChanged(1L, -1);
+
+        // Then
+        String commentEvent = subscriber.next();
+        assertTrue(commentEvent.startsWith("event:comment\n"), commentEvent);
+        assertTrue(commentEvent.contains("\"content\":\"First!\""), commentEvent);
+        String likesEvent = subscriber.next();
+        assertTrue(likesEvent.startsWith("event:likes\n"), likesEvent);
+        assertTrue(likesEvent.contains("\"delta\":-1"), likesEvent);
+        assertNull(other.sent.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Should disconnect a subscriber that falls behind and keep serving the others")
+    void shouldDropSlowSubscriber() throws InterruptedException {
+        // Given: a client stuck in its first send, with a queue of two
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter healthy = fast();
+        bus.subscribe(1L, slow);
+        bus.subscribe(1L, healthy);
+        bus.likesChanged(1L, 1);
+        assertNotNull(slow.next());
+
+        // When: two more events fill its queue and a third overflows it
+        for (int i = 0; i < 3; i++) {
+            bus.likesChanged(1L, 1);
+        }
+
+        // Then
+        assertEquals(1, bus.size());
+        for (int i = 0; i < 4; i++) {
+            assertNotNull(healthy.next(), "healthy subscriber missed event " + i);
+        }
+        release.countDown();
+        assertNull(slow.sent.poll(200, TimeUnit.MILLISECONDS), "queued events of a dropped subscriber are discarded");
+    }
+
+    @Test
+    @DisplayName("Should hold events published in a transaction until it commits")
+    void shouldPublishAfterCommit() throws InterruptedException {
+        // Given
+        RecordingEmitter subscriber = fast();
+        bus.subscribe(1L, subscriber);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            bus.commentAdded(comment(1L, "Pending"));
+
+            // Then
+            assertNull(subscriber.sent.poll(200, TimeUnit.MILLISECONDS));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertTrue(subscriber.next().contains("Pending"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep each subscriber's events in order")
+    void shouldDeliverInOrder() throws InterruptedException {
+        // Given
+        PostEventBus roomy = new PostEventBus(Jackson2ObjectMapperBuilder.json().build(), 64, 60_000, 10);
+        RecordingEmitter subscriber = fast();
+        roomy.subscribe(1L, subscriber);
+        try {
+            // When
+            for (int i = 1; i <= 20; i++) {
+                roomy.likesChanged(1L, i);
+            }
+
+            // Then
+            for (int i = 1; i <= 20; i++) {
+                String event = subscriber.next();
+                assertNotNull(event, "missed event " + i);
+                assertTrue(event.contains("\"delta\":" + i + "}"), event);
+            }
+        } finally {
+            roomy.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep delivering to others while several clients are stuck in a send")
+    void shouldNotLetStalledClientsBlockOthers() throws InterruptedException {
+        // Given: more stalled clients than the old fixed pool had threads
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 6; i++) {
+            RecordingEmitter stalled = new RecordingEmitter(release);
+            bus.subscribe(1L, stalled);
+        }
+        bus.likesChanged(1L, 1);
+        RecordingEmitter healthy = fast();
+        bus.subscribe(2L, healthy);
+
+        try {
+            // When
+            bus.likesChanged(2L, 1);
+
+            // Then
+            assertNotNull(healthy.next());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse subscribers past the limit")
+    void shouldCapSubscribers() throws InterruptedException {
+        // Given
+        PostEventBus small = new PostEventBus(Jackson2ObjectMapperBuilder.json().build(), 2, 60_000, 2);
+        try {
+            assertTrue(small.subscribe(1L, fast()));
+            assertTrue(small.subscribe(2L, fast()));
+
+            // When & Then
+            assertFalse(small.subscribe(3L, fast()));
+            assertTrue(small.subscribe(3L).isEmpty());
+            assertEquals(2, small.size());
+        } finally {
+            small.shutdown();
+        }
+    }
+}
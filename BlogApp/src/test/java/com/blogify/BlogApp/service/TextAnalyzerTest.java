@@ -0,0 +1,51 @@
+package com.blogify.BlogApp.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Text Analyzer Tests")
+class TextAnalyzerTest {
+
+    @Test
+    @DisplayName("Should lower-case words and drop punctuation and stopwords")
+    void shouldTokenize() {
+        // When
+        List<String> terms = TextAnalyzer.tokens("The JVM's G1 collector, in Java 21!").stream()
+                .map(TextAnalyzer.Token::term)
+                .toList();
+
+        // Then
+        assertEquals(List.of("jvm", "s", "g1", "collector", "java", "21"), terms);
+    }
+
+    @Test
+    @DisplayName("Should split required and excluded words")
+    void shouldParseQuery() {
+        // When
+        TextAnalyzer.Query query = TextAnalyzer.parse("\"spring boot\" caching -redis");
+
+        // Then
+        assertEquals(Set.of("spring", "boot", "caching"), query.required());
+        assertEquals(Set.of("redis"), query.excluded());
+    }
+
+    @Test
+    @DisplayName("Should mark matches and cut a snippet around the first one")
+    void shouldMarkAndSnippet() {
+        // Given
+        String content = "one two three four five six seven eight nine caching ten eleven twelve";
+
+        // When
+        String snippet = TextAnalyzer.snippet(content, Set.of("caching"), 6);
+
+        // Then
+        assertEquals("Spring <b>", TextAnalyzer.mark("Spring <b>", Set.of()));
+        assertEquals("\u0001Caching\u0002 tips", TextAnalyzer.mark("Caching tips", Set.of("caching")));
+        assertEquals("... eight nine \u0001caching\u0002 ten eleven twelve", snippet);
+    }
+}
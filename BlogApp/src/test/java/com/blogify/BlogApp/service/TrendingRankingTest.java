@@ -0,0 +1,167 @@
+package com.blogify.BlogApp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Half-life of one hour; events are recorded at explicit times so decay can be checked exactly.
+@DisplayName("Trending Ranking Tests")
+class TrendingRankingTest {
+
+    private static final long HOUR = 3_600_000;
+
+    private JdbcTemplate jdbcTemplate;
+    private TrendingRanking ranking;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        ranking = new TrendingRanking(jdbcTemplate, 1, 1, 3, 0.05, 3);
+        now = System.currentTimeMillis();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Double> checkpointed() {
+        ArgumentCaptor<List<Object[]>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batchCaptor.capture());
+        Map<Long, Double> scores = new HashMap<>();
+        for (Object[] row : batchCaptor.getValue()) {
+            scores.put((Long) row[2], (Double) row[0]);
+        }
+        return scores;
+    }
+
+    @Test
+    @DisplayName("Should halve a score every half-life")
+    void shouldDecayScores() {
+        // Given
+        ranking.add(1, 4, now - 2 * HOUR, true);
+
+        // When & Then
+        assertEquals(1.0, ranking.score(1, now), 1e-9);
+        assertEquals(0.5, ranking.score(1, now + HOUR), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should rank recent activity above older activity of the same size")
+    void shouldRankRecentActivityFirst() {
+        // Given
+        ranking.add(1, 3, now - 3 * HOUR, true);
+        ranking.add(2, 1, now - HOUR, true);
+        ranking.add(2, 1, now - HOUR, true);
+        ranking.add(3, 1.5, now, true);
+
+        // When & Then
+        assertEquals(List.of(3L, 2L, 1L), ranking.top(0, 10));
+        assertEquals(List.of(2L), ranking.top(1, 1));
+        assertEquals(List.of(), ranking.top(3, 10));
+    }
+
+    @Test
+    @DisplayName("Should drop a post whose likes are all taken back")
+    void shouldDropPostOnUnlike() {
+        // Given
+        ranking.liked(1L);
+        ranking.liked(2L);
+
+        // When
+        ranking.unliked(1L);
+
+        // Then
+        assertEquals(List.of(2L), ranking.top(0, 10));
+        assertEquals(1, ranking.size());
+    }
+
+    @Test
+    @DisplayName("Should evict the lowest score when full")
+    void shouldEvictLowestWhenFull() {
+        // Given
+        ranking.add(1, 1, now, true);
+        ranking.add(2, 2, now, true);
+        ranking.add(3, 3, now, true);
+
+        // When
+        ranking.add(4, 4, now, true);
+
+        // Then
+        assertEquals(List.of(4L, 3L, 2L), ranking.top(0, 10));
+    }
+
+    @Test
+    @DisplayName("Should checkpoint changed scores once and zero removed posts")
+    void shouldCheckpointChangedScores() {
+        // Given
+        ranking.commented(1L);
+        ranking.liked(2L);
+        ranking.remove(2L);
+
+        // When
+        ranking.checkpoint();
+        ranking.checkpoint();
+
+        // Then
+        Map<Long, Double> scores = checkpointed();
+        assertEquals(3.0, (double) scores.get(1L), 1e-3);
+        assertEquals(0.0, (double) scores.get(2L));
+    }
+
+    @Test
+    @DisplayName("Should retry a failed checkpoint")
+    void shouldRetryFailedCheckpoint() {
+        // Given
+        ranking.liked(1L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new RuntimeException("db down")).thenReturn(new int[]{1});
+
+        // When
+        ranking.checkpoint();
+        ranking.checkpoint();
+
+        // Then
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should keep every concurrent event")
+    void shouldKeepConcurrentEvents() throws Exception {
+        // Given
+        ranking = new TrendingRanking(jdbcTemplate, 24, 1, 3, 0.05, 1000);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 500; i++) {
+                    ranking.liked((long) (i % 10));
+                    ranking.top(0, 5);
+                }
+                return null;
+            });
+        }
+
+        // When
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then: 400 likes per post, decayed by a few milliseconds at most
+        assertEquals(10, ranking.top(0, 100).size());
+        for (long postId = 0; postId < 10; postId++) {
+            assertEquals(400, ranking.score(postId, System.currentTimeMillis()), 0.01);
+        }
+    }
+}
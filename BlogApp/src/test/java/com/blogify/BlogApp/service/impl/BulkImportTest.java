@@ -0,0 +1,221 @@
+package com.blogify.BlogApp.service.impl;
+
+import com.blogify.BlogApp.dto.CreateCommentRequest;
+import com.blogify.BlogApp.dto.ImportCommentRequest;
+import com.blogify.BlogApp.dto.ImportLikeRequest;
+import com.blogify.BlogApp.entity.Post;
+import com.blogify.BlogApp.entity.User;
+import com.blogify.BlogApp.exception.ResourceNotFoundException;
+import com.blogify.BlogApp.repository.CommentRepository;
+import com.blogify.BlogApp.repository.LikeRepository;
+import com.blogify.BlogApp.repository.PostRepository;
+import com.blogify.BlogApp.repository.UserRepository;
+import com.blogify.BlogApp.service.CommentTree;
+import com.blogify.BlogApp.service.LikeCountBuffer;
+import com.blogify.BlogApp.service.PostEventBus;
+import com.blogify.BlogApp.service.TrendingRanking;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+// Runs without the per-test transaction so every chunk commits on its own, as it does in production.
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:imports;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=500",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.order_updates=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Bulk Import Tests")
+class BulkImportTest {
+
+    private static final int COMMENTS = 1200;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private LikeRepository likeRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private CommentServiceImpl commentService;
+    private LikeServiceImpl likeService;
+    private LikeCountBuffer likeCountBuffer;
+    private Statistics statistics;
+    private List<User> users;
+    private Post post;
+    private Post otherPost;
+
+    @BeforeEach
+    void setUp() {
+        TrendingRanking trendingRanking = mock(TrendingRanking.class);
+        PostEventBus postEventBus = mock(PostEventBus.class);
+        likeCountBuffer = new LikeCountBuffer(new JdbcTemplate(dataSource));
+        commentService = new CommentServiceImpl(commentRepository, userRepository, postRepository, new ModelMapper(),
+                trendingRanking, new TransactionTemplate(transactionManager), postEventBus);
+        likeService = new LikeServiceImpl(likeRepository, userRepository, postRepository, likeCountBuffer,
+                trendingRanking, new JdbcTemplate(dataSource), postEventBus);
+
+        users = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            User user = new User();
+            user.setName("Importer " + i);
+            user.setEmail("importer" + i + "@example.com");
+            user.setPassword("password123");
+            user.setRoles(new HashSet<>(Set.of("ROLE_USER")));
+            users.add(userRepository.save(user));
+        }
+        post = savePost("Imported post");
+        otherPost = savePost("Other post");
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    private Post savePost(String title) {
+        Post saved = new Post();
+        saved.setTitle(title);
+        saved.setContent("Test post content");
+        saved.setUser(users.get(0));
+        return postRepository.save(saved);
+    }
+
+    @AfterEach
+    void tearDown() {
+        commentRepository.deleteAllInBatch();
+        likeRepository.deleteAllInBatch();
+        postRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should import comments in a handful of batched statements")
+    void shouldImportCommentsInBatches() {
+        // Given: an existing comment, and an import in which every tenth row replies to it
+        CreateCommentRequest request = new CreateCommentRequest();
+        request.setContent("Existing comment");
+        Long parentId = commentService.addComment(users.get(0).getId(), post.getId(), request).getId();
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<ImportCommentRequest> rows = new ArrayList<>();
+        for (int i = 0; i < COMMENTS; i++) {
+            rows.add(new ImportCommentRequest(users.get(i % 3).getId(), post.getId(), i % 10 == 0 ? parentId : null,
+                    "Imported comment " + i, base.plusMinutes(i)));
+        }
+        statistics.clear();
+
+        // When
+        int imported = commentService.importComments(rows);
+
+        // Then: one insert batch and one path update batch per chunk, plus a sequence call per 50 ids and the checks
+        assertEquals(COMMENTS, imported);
+        assertEquals(COMMENTS, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() < 50,
+                "expected batched statements, got " + statistics.getPrepareStatementCount());
+        assertEquals(COMMENTS + 1, commentRepository.countByPostId(post.getId()));
+        String parentPath = commentRepository.findPathByIdAndPostId(parentId, post.getId()).orElseThrow();
+        assertEquals(COMMENTS / 10 + 1, commentRepository.findSubtree(post.getId(), parentPath,
+                CommentTree.subtreeEnd(parentPath), PageRequest.of(0, COMMENTS)).size());
+    }
+
+    @Test
+    @DisplayName("Should write nothing when a row refers to an unknown post")
+    void shouldRejectUnknownPostBeforeWriting() {
+        // Given
+        List<ImportCommentRequest> rows = List.of(
+                new ImportCommentRequest(users.get(0).getId(), post.getId(), null, "Fine", null),
+                new ImportCommentRequest(users.get(0).getId(), 999_999L, null, "Orphan", null));
+
+        // When & Then
+        ResourceNotFoundException error = assertThrows(ResourceNotFoundException.class, () -> commentService.importComments(rows));
+        assertEquals("Post not found.", error.getMessage());
+        assertEquals(0, commentRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should reject a reply to a comment on another post")
+    void shouldRejectParentOnAnotherPost() {
+        // Given
+        CreateCommentRequest request = new CreateCommentRequest();
+        request.setContent("Elsewhere");
+        Long parentId = commentService.addComment(users.get(0).getId(), otherPost.getId(), request).getId();
+        List<ImportCommentRequest> rows = List.of(new ImportCommentRequest(users.get(1).getId(), post.getId(), parentId, "Reply", null));
+
+        // When & Then
+        ResourceNotFoundException error = assertThrows(ResourceNotFoundException.class, () -> commentService.importComments(rows));
+        assertEquals("Parent comment not found.", error.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should import likes, skip ones that exist and count each new like once")
+    void shouldImportLikesSkippingDuplicates() {
+        // Given: user 0 already likes the post, and user 1 appears twice in the import
+        likeService.likePost(users.get(0).getId(), post.getId());
+        long before = likeCountBuffer.pendingDelta(post.getId());
+        List<ImportLikeRequest> rows = List.of(
+                new ImportLikeRequest(users.get(0).getId(), post.getId()),
+                new ImportLikeRequest(users.get(1).getId(), post.getId()),
+                new ImportLikeRequest(users.get(1).getId(), post.getId()),
+                new ImportLikeRequest(users.get(2).getId(), post.getId()),
+                new ImportLikeRequest(users.get(2).getId(), otherPost.getId()));
+
+        // When
+        int imported = likeService.importLikes(rows);
+
+        // Then
+        assertEquals(3, imported);
+        assertEquals(before + 2, likeCountBuffer.pendingDelta(post.getId()));
+        assertEquals(1, likeCountBuffer.pendingDelta(otherPost.getId()));
+        assertEquals(4, likeRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should reject likes by an unknown user")
+    void shouldRejectUnknownUser() {
+        // When & Then
+        ResourceNotFoundException error = assertThrows(ResourceNotFoundException.class,
+                () -> likeService.importLikes(List.of(new ImportLikeRequest(999_999L, post.getId()))));
+        assertEquals("User not found.", error.getMessage());
+        assertEquals(0, likeRepository.count());
+    }
+}
@@ -0,0 +1,19 @@
+package com.blogify.BlogApp.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Cloudinary Image Store Tests")
+class CloudinaryImageStoreTest {
+
+    @Test
+    @DisplayName("Should derive the public id from a delivery url")
+    void shouldDerivePublicId() {
+        assertEquals("blog_posts/abc123", CloudinaryImageStore.publicId("https://res.cloudinary.com/demo/image/upload/v1712345678/blog_posts/abc123.jpg"));
+        assertEquals("blog_users/abc123", CloudinaryImageStore.publicId("https://res.cloudinary.com/demo/image/upload/blog_users/abc123.png"));
+        assertNull(CloudinaryImageStore.publicId("/images/blog_posts/03/039058.png"));
+        assertNull(CloudinaryImageStore.publicId(null));
+    }
+}
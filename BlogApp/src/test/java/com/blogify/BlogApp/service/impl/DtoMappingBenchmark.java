@@ -0,0 +1,96 @@
+package com.blogify.BlogApp.service.impl;
+
+import com.blogify.BlogApp.dto.CommentDTO;
+import com.blogify.BlogApp.dto.CursorPage;
+import com.blogify.BlogApp.dto.LikeResponseDTO;
+import com.blogify.BlogApp.dto.PostDTO;
+import com.blogify.BlogApp.entity.Comment;
+import com.blogify.BlogApp.entity.ImageStatus;
+import com.blogify.BlogApp.entity.Post;
+import com.blogify.BlogApp.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Throughput of the service-layer mappers and of the JSON the controllers write, measured on the real
+// static mappers the services use. Run through the benchmark profile, which also attaches the gc profiler so
+// every result carries its allocation rate.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+    @Param({"6", "50"})
+    public int pageSize;
+
+    private ModelMapper modelMapper;
+    private ObjectMapper objectMapper;
+
+    private Post post;
+    private Comment comment;
+    private Page<PostDTO> postPage;
+    private CursorPage<PostDTO> feedPage;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        // Same defaults Spring Boot applies to the MVC converter (java.time module, ISO dates).
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        LocalDateTime now = LocalDateTime.now();
+        User user = new User(1L, "author@example.com", "Test Author", "Short bio", "$2a$10$hash", Set.of("ROLE_USER"));
+        post = new Post(10L, "Test Post Title", "Test post content", "https://example.com/image.jpg");
+        post.setCreatedAt(now);
+        post.setUser(user);
+        comment = new Comment(100L, "This is a test comment", now);
+        comment.setUser(user);
+        comment.setPost(post);
+
+        List<PostDTO> posts = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            posts.add(new PostDTO((long) i, "Test Post Title " + i, "Test post content ".repeat(20), "https://example.com/image.jpg",
+                    ImageStatus.READY, Map.of("320w", "https://example.com/image-320.jpg"), 1L, now.minusMinutes(i), "Test Author"));
+        }
+        postPage = new PageImpl<>(posts, PageRequest.of(0, pageSize, Sort.by("createdAt").descending()), 10_000);
+        feedPage = new CursorPage<>(posts, "MjAyNC0wMS0wMVQxMjowMHwxMjM", true);
+    }
+
+    @Benchmark
+    public PostDTO mapPostToDTO() {
+        return PostServiceImpl.mapPostToDTO(modelMapper, post);
+    }
+
+    @Benchmark
+    public CommentDTO mapCommentToDto() {
+        return CommentServiceImpl.mapCommentToDto(modelMapper, comment);
+    }
+
+    @Benchmark
+    public LikeResponseDTO buildLikeResponse() {
+        return new LikeResponseDTO(post.getId(), 42L, true);
+    }
+
+    @Benchmark
+    public byte[] serializePostPage() throws Exception {
+        return objectMapper.writeValueAsBytes(postPage);
+    }
+
+    @Benchmark
+    public byte[] serializeFeedPage() throws Exception {
+        return objectMapper.writeValueAsBytes(feedPage);
+    }
+}
@@ -0,0 +1,196 @@
+package com.blogify.BlogApp.service.impl;
+
+import com.blogify.BlogApp.dto.SearchCursor;
+import com.blogify.BlogApp.repository.PostRepository;
+import com.blogify.BlogApp.service.PostSearch.Hit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Small buffers and merge factor, so a handful of posts already exercises flushes, segments and merges.
+@DisplayName("Embedded Post Search Tests")
+class EmbeddedPostSearchTest {
+
+    @TempDir
+    Path indexDir;
+
+    private PostRepository postRepository;
+    private EmbeddedPostSearch search;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        postRepository = mock(PostRepository.class);
+        when(postRepository.findSearchDocumentsAfter(anyLong(), any(Pageable.class))).thenReturn(List.of());
+        search = open();
+        search.bootstrap();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        search.close();
+    }
+
+    private EmbeddedPostSearch open() throws IOException {
+        return new EmbeddedPostSearch(postRepository, indexDir.toString(), 3, 2, 1_000_000);
+    }
+
+    private List<Long> ids(List<Hit> hits) {
+        return hits.stream().map(Hit::postId).toList();
+    }
+
+    @Test
+    @DisplayName("Should rank title matches above content matches")
+    void shouldRankTitleMatchesFirst() {
+        // Given
+        search.indexPost(1, "Cooking pasta", "A weeknight recipe with garlic and spring onions.");
+        search.indexPost(2, "Spring boot tips", "Configuration properties and profiles.");
+        search.indexPost(3, "Gardening", "Planting bulbs in the spring.");
+
+        // When
+        List<Hit> hits = search.search("spring", null, 10);
+
+        // Then
+        assertEquals(2L, hits.get(0).postId());
+        assertEquals(3, hits.size());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+        assertNull(hits.get(0).titleHighlight());
+    }
+
+    @Test
+    @DisplayName("Should require every word and honour exclusions")
+    void shouldRequireAllWordsAndExclusions() {
+        // Given
+        search.indexPost(1, "Spring boot", "Caching with Caffeine.");
+        search.indexPost(2, "Spring boot", "Caching with Redis.");
+        search.indexPost(3, "Spring data", "Repositories.");
+
+        // When & Then
+        assertEquals(List.of(2L, 1L), ids(search.search("spring caching", null, 10)));
+        assertEquals(List.of(1L), ids(search.search("spring caching -redis", null, 10)));
+        assertTrue(search.search("the and", null, 10).isEmpty());
+        assertTrue(search.search("kafka", null, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should replace an updated post and drop a deleted one across flushed segments")
+    void shouldApplyUpdatesAndDeletes() {
+        // Given: more posts than the buffer holds, so some are in segments already
+        for (long id = 1; id <= 7; id++) {
+            search.indexPost(id, "Post " + id, "java threads");
+        }
+
+        // When
+        search.indexPost(2, "Post 2", "kotlin coroutines");
+        search.removePost(5);
+
+        // Then
+        assertEquals(List.of(7L, 6L, 4L, 3L, 1L), ids(search.search("java", null, 10)));
+        assertEquals(List.of(2L), ids(search.search("kotlin", null, 10)));
+    }
+
+    @Test
+    @DisplayName("Should page with a cursor without repeating or skipping hits")
+    void shouldPageWithCursor() {
+        // Given
+        for (long id = 1; id <= 12; id++) {
+            search.indexPost(id, id % 3 == 0 ? "Postgres tuning" : "Notes " + id, "postgres vacuum autovacuum " + "index ".repeat((int) id));
+        }
+        search.maintain();
+        List<Long> all = ids(search.search("postgres", null, 100));
+
+        // When
+        List<Long> paged = new ArrayList<>();
+        SearchCursor cursor = null;
+        while (true) {
+            List<Hit> page = search.search("postgres", cursor, 5);
+            page.forEach(hit -> paged.add(hit.postId()));
+            if (page.size() < 5) {
+                break;
+            }
+            Hit last = page.get(page.size() - 1);
+            cursor = new SearchCursor(last.score(), last.postId());
+        }
+
+        // Then
+        assertEquals(12, all.size());
+        assertEquals(all, paged);
+    }
+
+    @Test
+    @DisplayName("Should merge segments and keep every live post")
+    void shouldMergeSegments() throws IOException {
+        // Given: 3 docs per flush and merge factor 2
+        for (long id = 1; id <= 20; id++) {
+            search.indexPost(id, "Post " + id, "merge policy");
+        }
+        search.removePost(4);
+        search.flush();
+        long before = segmentCount();
+
+        // When
+        search.maintain();
+
+        // Then
+        assertEquals(before - 1, segmentCount());
+        assertEquals(19, search.search("merge", null, 100).size());
+        assertFalse(ids(search.search("merge", null, 100)).contains(4L));
+    }
+
+    private long segmentCount() throws IOException {
+        try (var files = Files.list(indexDir)) {
+            return files.filter(file -> file.toString().endsWith(".idx")).count();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reopen from segments and the log without reading the posts table")
+    void shouldReopenWithoutRescan() throws IOException {
+        // Given: the first 3 posts flushed, the rest and the delete only in the log
+        for (long id = 1; id <= 5; id++) {
+            search.indexPost(id, "Post " + id, "memory mapped segments");
+        }
+        search.removePost(1);
+
+        // When: reopened without close(), as after a crash
+        search = open();
+        search.bootstrap();
+
+        // Then
+        assertEquals(List.of(5L, 4L, 3L, 2L), ids(search.search("mapped", null, 10)));
+        verify(postRepository, times(1)).findSearchDocumentsAfter(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should build the index from the posts table on first start")
+    void shouldBootstrapFromTable() throws IOException {
+        // Given
+        Path freshDir = indexDir.resolve("fresh");
+        when(postRepository.findSearchDocumentsAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(new Object[]{10L, "Virtual threads", "Loom"}, new Object[]{11L, "Records", null}));
+        EmbeddedPostSearch fresh = new EmbeddedPostSearch(postRepository, freshDir.toString(), 3, 2, 1_000_000);
+
+        // When
+        fresh.bootstrap();
+
+        // Then
+        try {
+            assertEquals(List.of(10L), ids(fresh.search("threads", null, 10)));
+            assertTrue(Files.exists(freshDir.resolve("segments")));
+        } finally {
+            fresh.close();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.blogify.BlogApp.service.impl;
+
+import com.blogify.BlogApp.dto.LikeResponseDTO;
+import com.blogify.BlogApp.entity.Post;
+import com.blogify.BlogApp.entity.User;
+import com.blogify.BlogApp.exception.ResourceNotFoundException;
+import com.blogify.BlogApp.repository.LikeRepository;
+import com.blogify.BlogApp.repository.PostRepository;
+import com.blogify.BlogApp.repository.UserRepository;
+import com.blogify.BlogApp.service.LikeCountBuffer;
+import com.blogify.BlogApp.service.PostEventBus;
+import com.blogify.BlogApp.service.TrendingRanking;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs without the per-test transaction so every like commits on its own, as it does in production.
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:likes;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Like Service Concurrency Tests")
+class LikeServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private LikeRepository likeRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private LikeServiceImpl likeService;
+    private LikeCountBuffer likeCountBuffer;
+    private Post post;
+    private List<User> users;
+
+    @BeforeEach
+    void setUp() {
+        likeCountBuffer = new LikeCountBuffer(new JdbcTemplate(dataSource));
+        likeService = new LikeServiceImpl(likeRepository, userRepository, postRepository, likeCountBuffer,
+                new TrendingRanking(new JdbcTemplate(dataSource), 24, 1, 3, 0.05, 1000), new JdbcTemplate(dataSource),
+                new PostEventBus(new ObjectMapper(), 64, 60_000, 1000));
+
+        users = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            User user = new User();
+            user.setName("Liker " + i);
+            user.setEmail("liker" + i + "@example.com");
+            user.setPassword("password123");
+            user.setRoles(new HashSet<>(Set.of("ROLE_USER")));
+            users.add(userRepository.save(user));
+        }
+        post = new Post();
+        post.setTitle("Viral post");
+        post.setContent("Test post content");
+        post.setUser(users.get(0));
+        post = postRepository.save(post);
+    }
+
+    @AfterEach
+    void tearDown() {
+        likeRepository.deleteAllInBatch();
+        postRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+    }
+
+    private void runConcurrently(List<Runnable> tasks) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Runnable task : tasks) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                task.run();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should store a single like when the same user double-taps in parallel")
+    void shouldStoreSingleLikeForParallelDuplicates() throws Exception {
+        // Given
+        Long userId = users.get(1).getId();
+        List<Runnable> taps = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            taps.add(() -> likeService.likePost(userId, post.getId()));
+        }
+
+        // When
+        runConcurrently(taps);
+
+        // Then
+        assertEquals(1, likeRepository.countByPostId(post.getId()));
+        assertEquals(1, likeCountBuffer.pendingDelta(post.getId()));
+    }
+
+    @Test
+    @DisplayName("Should store one like per user when different users like in parallel")
+    void shouldStoreOneLikePerUserInParallel() throws Exception {
+        // Given
+        List<Runnable> likes = new ArrayList<>();
+        for (User user : users) {
+            likes.add(() -> likeService.likePost(user.getId(), post.getId()));
+            likes.add(() -> likeService.likePost(user.getId(), post.getId()));
+        }
+
+        // When
+        runConcurrently(likes);
+
+        // Then
+        assertEquals(THREADS, likeRepository.countByPostId(post.getId()));
+        assertEquals(THREADS, likeCountBuffer.pendingDelta(post.getId()));
+    }
+
+    @Test
+    @DisplayName("Should delete once and ignore repeated unlikes")
+    void shouldDeleteOnceAndIgnoreRepeatedUnlikes() throws Exception {
+        // Given
+        Long userId = users.get(2).getId();
+        likeService.likePost(userId, post.getId());
+        List<Runnable> unlikes = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            unlikes.add(() -> likeService.unlikePost(userId, post.getId()));
+        }
+
+        // When
+        runConcurrently(unlikes);
+
+        // Then
+        assertEquals(0, likeRepository.countByPostId(post.getId()));
+        assertEquals(0, likeCountBuffer.pendingDelta(post.getId()));
+    }
+
+    @Test
+    @DisplayName("Should report a missing post instead of storing an orphan like")
+    void shouldRejectLikeOnMissingPost() {
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> likeService.likePost(users.get(0).getId(), Long.MAX_VALUE));
+        assertEquals(0, likeRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should batch like statuses in request order and skip unknown posts")
+    void shouldBatchLikeStatuses() throws Exception {
+        // Given
+        Post quietPost = new Post();
+        quietPost.setTitle("Quiet post");
+        quietPost.setContent("Test post content");
+        quietPost.setUser(users.get(0));
+        quietPost = postRepository.save(quietPost);
+        List<Runnable> likes = new ArrayList<>();
+        for (User user : users.subList(0, 3)) {
+            likes.add(() -> likeService.likePost(user.getId(), post.getId()));
+        }
+        runConcurrently(likes);
+        List<Long> postIds = List.of(quietPost.getId(), Long.MAX_VALUE, post.getId());
+
+        // When
+        List<LikeResponseDTO> forLiker = likeService.getLikeStatuses(postIds, users.get(1).getId());
+        List<LikeResponseDTO> anonymous = likeService.getLikeStatuses(postIds, null);
+
+        // Then
+        assertEquals(2, forLiker.size());
+        assertEquals(quietPost.getId(), forLiker.get(0).getPostId());
+        assertEquals(0L, forLiker.get(0).getLikeCount());
+        assertFalse(forLiker.get(0).isLikedByUser());
+        assertEquals(post.getId(), forLiker.get(1).getPostId());
+        assertEquals(3L, forLiker.get(1).getLikeCount());
+        assertTrue(forLiker.get(1).isLikedByUser());
+        assertEquals(3L, anonymous.get(1).getLikeCount());
+        assertFalse(anonymous.get(1).isLikedByUser());
+    }
+}
@@ -0,0 +1,116 @@
+package com.blogify.BlogApp.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Local Image Store Tests")
+class LocalImageStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LocalImageStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new LocalImageStore(tempDir.resolve("images").toString(), "/images/");
+    }
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    // A PNG signature followed by the given bytes: enough for the store to recognise the type.
+    private static byte[] png(int... body) {
+        byte[] content = new byte[PNG_SIGNATURE.length + body.length];
+        System.arraycopy(PNG_SIGNATURE, 0, content, 0, PNG_SIGNATURE.length);
+        for (int i = 0; i < body.length; i++) {
+            content[PNG_SIGNATURE.length + i] = (byte) body[i];
+        }
+        return content;
+    }
+
+    private Path upload(String name, byte[] content) throws IOException {
+        Path file = tempDir.resolve(name);
+        Files.write(file, content);
+        return file;
+    }
+
+    @Test
+    @DisplayName("Should store identical bytes once under a content-addressed url")
+    void shouldStoreByContentHash() throws IOException {
+        // When
+        String first = store.store(upload("a.png", png(1, 2, 3)), "blog_posts");
+        String second = store.store(upload("b.png", png(1, 2, 3)), "blog_posts");
+        String other = store.store(upload("c.png", png(4, 5, 6)), "blog_posts");
+
+        // Then
+        // sha-256 of the signature and {1, 2, 3}
+        assertEquals("/images/blog_posts/7f/7f47b756761a46e6d4a4d96f0d8a4448f8449235009d1f3ad1493f5c773c19e8.png", first);
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+        Path stored = store.resolve(first.substring("/images/".length())).orElseThrow();
+        assertArrayEquals(png(1, 2, 3), Files.readAllBytes(stored));
+    }
+
+    @Test
+    @DisplayName("Should only resolve keys it generates")
+    void shouldRejectForeignKeys() throws IOException {
+        // Given
+        Files.writeString(tempDir.resolve("secret.txt"), "secret");
+
+        // When & Then
+        assertTrue(store.resolve("../secret.txt").isEmpty());
+        assertTrue(store.resolve("blog_posts/00/../../../secret.txt").isEmpty());
+        assertTrue(store.resolve("blog_posts/03/039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81.png").isEmpty());
+        assertTrue(store.resolve("blog_posts/03/039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81.html").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should take the extension from the bytes and refuse anything but images")
+    void shouldStoreByDetectedType() throws IOException {
+        // When
+        String url = store.store(upload("a.html", png(1, 2, 3)), "blog_posts");
+
+        // Then
+        assertTrue(url.endsWith(".png"), url);
+        assertThrows(IOException.class, () -> store.store(upload("b.png", "<script>alert(1)</script>".getBytes()), "blog_posts"));
+    }
+
+    @Test
+    @DisplayName("Should delete a stored image and ignore foreign urls")
+    void shouldDeleteStoredImage() throws IOException {
+        // Given
+        String url = store.store(upload("a.png", png(1, 2, 3)), "blog_users");
+
+        // When
+        store.delete("https://res.cloudinary.com/demo/image/upload/v1/blog_users/abc.png");
+        assertTrue(store.resolve(url.substring("/images/".length())).isPresent());
+        store.delete(url);
+
+        // Then
+        assertTrue(store.resolve(url.substring("/images/".length())).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should write the file again when identical bytes are stored after a delete")
+    void shouldRestoreDeletedFile() throws IOException {
+        // Given
+        String url = store.store(upload("a.png", png(1, 2, 3)), "blog_posts");
+        store.delete(url);
+
+        // When
+        String again = store.store(upload("b.png", png(1, 2, 3)), "blog_posts");
+
+        // Then
+        assertEquals(url, again);
+        Path stored = store.resolve(again.substring("/images/".length())).orElseThrow();
+        assertArrayEquals(png(1, 2, 3), Files.readAllBytes(stored));
+    }
+}
@@ -0,0 +1,156 @@
+package com.blogify.BlogApp.service.impl;
+
+import com.blogify.BlogApp.config.TokenConfig;
+import com.blogify.BlogApp.dto.TokenResponseDTO;
+import com.blogify.BlogApp.dto.UserResponseDTO;
+import com.blogify.BlogApp.entity.User;
+import com.blogify.BlogApp.exception.BadRequestException;
+import com.blogify.BlogApp.repository.UserRepository;
+import com.blogify.BlogApp.service.TokenDenylist;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import javax.crypto.SecretKey;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Token Service Tests")
+class TokenServiceImplTest {
+
+    private JwtDecoder accessDecoder;
+    private TokenDenylist tokenDenylist;
+    private TokenServiceImpl tokenService;
+    private UserRepository userRepository;
+    private UserResponseDTO user;
+
+    @BeforeEach
+    void setUp() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        TokenConfig tokenConfig = new TokenConfig();
+        SecretKey key = tokenConfig.tokenSigningKey(Base64.getEncoder().encodeToString(secret));
+        tokenDenylist = new TokenDenylist(3600);
+        accessDecoder = tokenConfig.jwtDecoder(key, tokenDenylist);
+
+        userRepository = mock(UserRepository.class);
+        User entity = new User(7L, "user@example.com", "Test User", null, "$2a$10$hash", Set.of("ROLE_USER"));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(entity));
+
+        tokenService = new TokenServiceImpl(tokenConfig.jwtEncoder(key), accessDecoder, key, tokenDenylist, userRepository, 900, 3600);
+        user = new UserResponseDTO(7L, "user@example.com", "Test User", null, null, null, null, Set.of("ROLE_USER"));
+    }
+
+    @Test
+    @DisplayName("Should issue an access token carrying id, email and roles")
+    void shouldIssueAccessTokenWithClaims() {
+        // When
+        TokenResponseDTO tokens = tokenService.issueTokens(user);
+        Jwt jwt = accessDecoder.decode(tokens.getAccessToken());
+
+        // Then
+        assertEquals("Bearer", tokens.getTokenType());
+        assertEquals(900, tokens.getExpiresIn());
+        assertEquals("7", jwt.getSubject());
+        assertEquals("user@example.com", jwt.getClaimAsString("email"));
+        assertEquals(List.of("ROLE_USER"), jwt.getClaimAsStringList("roles"));
+    }
+
+    @Test
+    @DisplayName("Should not accept a refresh token as an access token")
+    void shouldRejectRefreshTokenAsAccessToken() {
+        // Given
+        TokenResponseDTO tokens = tokenService.issueTokens(user);
+
+        // When & Then
+        assertThrows(JwtException.class, () -> accessDecoder.decode(tokens.getRefreshToken()));
+    }
+
+    @Test
+    @DisplayName("Should rotate the refresh token and refuse to reuse the old one")
+    void shouldRotateRefreshToken() {
+        // Given
+        TokenResponseDTO first = tokenService.issueTokens(user);
+
+        // When
+        TokenResponseDTO second = tokenService.refresh(first.getRefreshToken());
+
+        // Then
+        assertNotEquals(first.getRefreshToken(), second.getRefreshToken());
+        assertEquals("7", accessDecoder.decode(second.getAccessToken()).getSubject());
+        assertThrows(BadRequestException.class, () -> tokenService.refresh(first.getRefreshToken()));
+    }
+
+    @Test
+    @DisplayName("Should only rotate once when the same refresh token is used concurrently")
+    void shouldRotateOnceUnderConcurrentRefresh() {
+        // Given
+        TokenResponseDTO first = tokenService.issueTokens(user);
+        User entity = userRepository.findById(7L).orElseThrow();
+        AtomicBoolean raced = new AtomicBoolean();
+        AtomicReference<TokenResponseDTO> other = new AtomicReference<>();
+        // The other request passes the same checks and revokes the token while this one loads the user.
+        when(userRepository.findById(7L)).thenAnswer(invocation -> {
+            if (raced.compareAndSet(false, true)) {
+                other.set(tokenService.refresh(first.getRefreshToken()));
+            }
+            return Optional.of(entity);
+        });
+
+        // When & Then
+        assertThrows(BadRequestException.class, () -> tokenService.refresh(first.getRefreshToken()));
+        assertNotNull(other.get().getRefreshToken());
+    }
+
+    @Test
+    @DisplayName("Should reject a tampered or foreign refresh token")
+    void shouldRejectInvalidRefreshToken() {
+        // Given
+        String access = tokenService.issueTokens(user).getAccessToken();
+
+        // When & Then
+        assertThrows(BadRequestException.class, () -> tokenService.refresh(access));
+        assertThrows(BadRequestException.class, () -> tokenService.refresh(access.substring(0, access.length() - 2) + "xx"));
+    }
+
+    @Test
+    @DisplayName("Should reject a revoked access token and leave others valid")
+    void shouldRejectRevokedAccessToken() {
+        // Given
+        TokenResponseDTO revoked = tokenService.issueTokens(user);
+        TokenResponseDTO kept = tokenService.issueTokens(user);
+
+        // When
+        tokenService.revoke(revoked.getAccessToken());
+
+        // Then
+        assertThrows(JwtException.class, () -> accessDecoder.decode(revoked.getAccessToken()));
+        assertNotNull(accessDecoder.decode(kept.getAccessToken()));
+    }
+
+    @Test
+    @DisplayName("Should reject every earlier token once the user is revoked")
+    void shouldRejectAllTokensOfRevokedUser() {
+        // Given
+        TokenResponseDTO tokens = tokenService.issueTokens(user);
+
+        // When
+        tokenDenylist.revokeAllBefore(7L, Instant.now());
+
+        // Then
+        assertThrows(JwtException.class, () -> accessDecoder.decode(tokens.getAccessToken()));
+        assertThrows(BadRequestException.class, () -> tokenService.refresh(tokens.getRefreshToken()));
+    }
+}